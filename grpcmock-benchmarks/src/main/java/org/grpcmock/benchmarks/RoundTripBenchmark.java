@@ -0,0 +1,97 @@
+package org.grpcmock.benchmarks;
+
+import static org.grpcmock.GrpcMock.serverStreamingMethod;
+import static org.grpcmock.GrpcMock.unaryMethod;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.testing.protobuf.SimpleRequest;
+import io.grpc.testing.protobuf.SimpleResponse;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceBlockingStub;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import org.grpcmock.GrpcMock;
+import org.grpcmock.interceptors.CapturePolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks end-to-end unary and server streaming calls to a gRPC Mock server over in-process and Netty transports.
+ *
+ * @author Fadelis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoundTripBenchmark {
+
+  private static final int STREAM_RESPONSES_COUNT = 10;
+  // bounded, so that captured requests do not keep growing during the whole trial
+  private static final CapturePolicy CAPTURE_POLICY = CapturePolicy.ringBuffer(10_000);
+
+  @Param({"inProcess", "netty"})
+  public String transport;
+
+  private final SimpleRequest request = SimpleRequest.newBuilder().setRequestMessage("request").build();
+  private GrpcMock grpcMock;
+  private ManagedChannel channel;
+  private SimpleServiceBlockingStub serviceStub;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    if ("netty".equals(transport)) {
+      grpcMock = GrpcMock.grpcMock().capturePolicy(CAPTURE_POLICY).build().start();
+      channel = ManagedChannelBuilder.forAddress("localhost", grpcMock.getPort())
+          .usePlaintext()
+          .build();
+    } else {
+      grpcMock = GrpcMock.inProcessGrpcMock().capturePolicy(CAPTURE_POLICY).build().start();
+      channel = InProcessChannelBuilder.forName(grpcMock.getInProcessName())
+          .usePlaintext()
+          .build();
+    }
+    SimpleResponse response = SimpleResponse.newBuilder().setResponseMessage("response").build();
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .willReturn(response));
+    grpcMock.register(serverStreamingMethod(SimpleServiceGrpc.getServerStreamingRpcMethod())
+        .willReturn(Collections.nCopies(STREAM_RESPONSES_COUNT, response)));
+    serviceStub = SimpleServiceGrpc.newBlockingStub(channel);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    channel.shutdownNow();
+    grpcMock.stop();
+  }
+
+  @Benchmark
+  public SimpleResponse unaryCall() {
+    return serviceStub.unaryRpc(request);
+  }
+
+  @Benchmark
+  public void serverStreamingCall(Blackhole blackhole) {
+    Iterator<SimpleResponse> responses = serviceStub.serverStreamingRpc(request);
+    while (responses.hasNext()) {
+      blackhole.consume(responses.next());
+    }
+  }
+}
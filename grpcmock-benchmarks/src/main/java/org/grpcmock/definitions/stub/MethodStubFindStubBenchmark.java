@@ -0,0 +1,103 @@
+package org.grpcmock.definitions.stub;
+
+import static org.grpcmock.GrpcMock.unaryMethod;
+
+import io.grpc.Metadata;
+import io.grpc.testing.protobuf.SimpleRequest;
+import io.grpc.testing.protobuf.SimpleResponse;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.grpcmock.interceptors.CapturedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks stub scenario lookup for an incoming request with a varying number of registered scenarios.
+ *
+ * @author Fadelis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodStubFindStubBenchmark {
+
+  @Param({"1", "100", "10000"})
+  public int scenarioCount;
+
+  /**
+   * <code>exact</code> registers scenarios with exact request values, <code>predicate</code> with custom predicates.
+   */
+  @Param({"exact", "predicate"})
+  public String matching;
+
+  private MethodStub<SimpleRequest, SimpleResponse> methodStub;
+  private CapturedRequest<SimpleRequest> firstRegisteredRequest;
+  private CapturedRequest<SimpleRequest> lastRegisteredRequest;
+  private CapturedRequest<SimpleRequest> unmatchedRequest;
+
+  @Setup
+  public void setup() {
+    methodStub = stubForRequest(0);
+    for (int i = 1; i < scenarioCount; i++) {
+      methodStub = methodStub.withScenarios(stubForRequest(i));
+    }
+    firstRegisteredRequest = capturedRequest(0);
+    lastRegisteredRequest = capturedRequest(scenarioCount - 1);
+    unmatchedRequest = capturedRequest(scenarioCount);
+  }
+
+  @Benchmark
+  public Optional<StubScenario<SimpleRequest, SimpleResponse>> findFirstRegistered() {
+    return methodStub.findStub(firstRegisteredRequest);
+  }
+
+  @Benchmark
+  public Optional<StubScenario<SimpleRequest, SimpleResponse>> findLastRegistered() {
+    return methodStub.findStub(lastRegisteredRequest);
+  }
+
+  @Benchmark
+  public Optional<StubScenario<SimpleRequest, SimpleResponse>> findUnmatched() {
+    return methodStub.findStub(unmatchedRequest);
+  }
+
+  private MethodStub<SimpleRequest, SimpleResponse> stubForRequest(int index) {
+    SimpleRequest request = request(index);
+    SimpleResponse response = SimpleResponse.newBuilder().setResponseMessage("response-" + index).build();
+    if ("exact".equals(matching)) {
+      return unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+          .withRequest(request)
+          .willReturn(response)
+          .build();
+    }
+    return unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withRequest(actual -> request.getRequestMessage().equals(actual.getRequestMessage()))
+        .willReturn(response)
+        .build();
+  }
+
+  private static CapturedRequest<SimpleRequest> capturedRequest(int index) {
+    return new CapturedRequest<>(
+        SimpleServiceGrpc.getUnaryRpcMethod(),
+        new Metadata(),
+        Collections.singletonList(request(index)));
+  }
+
+  private static SimpleRequest request(int index) {
+    return SimpleRequest.newBuilder().setRequestMessage("request-" + index).build();
+  }
+}
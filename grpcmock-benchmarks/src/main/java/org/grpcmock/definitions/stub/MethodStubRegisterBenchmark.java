@@ -0,0 +1,60 @@
+package org.grpcmock.definitions.stub;
+
+import static org.grpcmock.GrpcMock.unaryMethod;
+
+import io.grpc.testing.protobuf.SimpleRequest;
+import io.grpc.testing.protobuf.SimpleResponse;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks registering a varying number of exact request stubs for a single method one by one.
+ *
+ * @author Fadelis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodStubRegisterBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  public int scenarioCount;
+
+  private List<MethodStub<SimpleRequest, SimpleResponse>> methodStubs;
+
+  @Setup
+  public void setup() {
+    methodStubs = new ArrayList<>(scenarioCount);
+    for (int i = 0; i < scenarioCount; i++) {
+      methodStubs.add(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+          .withRequest(SimpleRequest.newBuilder().setRequestMessage("request-" + i).build())
+          .willReturn(SimpleResponse.newBuilder().setResponseMessage("response-" + i).build())
+          .build());
+    }
+  }
+
+  @Benchmark
+  public MethodStub<SimpleRequest, SimpleResponse> registerOneByOne() {
+    MethodStub<SimpleRequest, SimpleResponse> methodStub = methodStubs.get(0);
+    for (int i = 1; i < scenarioCount; i++) {
+      methodStub = methodStub.withScenarios(methodStubs.get(i));
+    }
+    return methodStub;
+  }
+}
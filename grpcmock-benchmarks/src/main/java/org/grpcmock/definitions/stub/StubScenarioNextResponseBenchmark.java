@@ -0,0 +1,64 @@
+package org.grpcmock.definitions.stub;
+
+import static org.grpcmock.GrpcMock.calledMethod;
+import static org.grpcmock.GrpcMock.response;
+
+import io.grpc.testing.protobuf.SimpleRequest;
+import io.grpc.testing.protobuf.SimpleResponse;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.grpcmock.definitions.response.Response;
+import org.grpcmock.definitions.response.ResponseImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks handing out sequential responses of a single stub scenario from multiple threads.
+ *
+ * @author Fadelis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class StubScenarioNextResponseBenchmark {
+
+  /**
+   * Number of sequential responses defined for the scenario. With a single response only the exhausted path is measured.
+   */
+  @Param({"1", "100000"})
+  public int responseCount;
+
+  private StubScenario<SimpleRequest, SimpleResponse> stubScenario;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    SimpleResponse response = SimpleResponse.newBuilder().setResponseMessage("response").build();
+    List<Response<SimpleRequest, SimpleResponse>> responses = IntStream.range(0, responseCount)
+        .mapToObj(i -> new ResponseImpl<SimpleRequest, SimpleResponse>(response(response).build()))
+        .collect(Collectors.toList());
+    stubScenario = new StubScenario<>(calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build(), responses);
+  }
+
+  @Benchmark
+  public Response<SimpleRequest, SimpleResponse> nextResponse() {
+    return stubScenario.nextResponse();
+  }
+}
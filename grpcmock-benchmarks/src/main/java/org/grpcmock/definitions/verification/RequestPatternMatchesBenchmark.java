@@ -0,0 +1,69 @@
+package org.grpcmock.definitions.verification;
+
+import static org.grpcmock.GrpcMock.calledMethod;
+
+import io.grpc.Metadata;
+import io.grpc.testing.protobuf.SimpleRequest;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.grpcmock.interceptors.CapturedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmarks {@link RequestPattern#matches} for parsed requests and for raw <code>byte[]</code> requests, which are
+ * captured for methods without a registered stub and have to be parsed when verifying.
+ *
+ * @author Fadelis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestPatternMatchesBenchmark {
+
+  private RequestPattern<SimpleRequest> requestPattern;
+  private CapturedRequest<SimpleRequest> parsedRequest;
+  private CapturedRequest<SimpleRequest> rawRequest;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    SimpleRequest request = SimpleRequest.newBuilder().setRequestMessage("request").build();
+    requestPattern = calledMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withHeader("header-1", "value-1")
+        .withRequest(request)
+        .build();
+    Metadata headers = new Metadata();
+    headers.put(Metadata.Key.of("header-1", Metadata.ASCII_STRING_MARSHALLER), "value-1");
+    parsedRequest = new CapturedRequest<>(
+        SimpleServiceGrpc.getUnaryRpcMethod(),
+        headers,
+        Collections.singletonList(request));
+    // requests to methods without stubs are captured as raw bytes
+    List<SimpleRequest> rawRequests = (List<SimpleRequest>) (List<?>) Collections.singletonList(request.toByteArray());
+    rawRequest = new CapturedRequest<>(SimpleServiceGrpc.getUnaryRpcMethod(), headers, rawRequests);
+  }
+
+  @Benchmark
+  public boolean matchesParsedRequest() {
+    return requestPattern.matches(parsedRequest);
+  }
+
+  @Benchmark
+  public boolean matchesRawRequest() {
+    return requestPattern.matches(rawRequest);
+  }
+}
@@ -0,0 +1,104 @@
+package org.grpcmock.interceptors;
+
+import io.grpc.Attributes;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCall.Listener;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import io.grpc.testing.protobuf.SimpleRequest;
+import io.grpc.testing.protobuf.SimpleResponse;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the overhead {@link RequestCaptureInterceptor} adds to a unary call, without any transport involved.
+ *
+ * @author Fadelis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestCaptureInterceptorBenchmark {
+
+  /**
+   * <code>unbounded</code> retains all requests, <code>ringBuffer</code> keeps only the latest 1000 of them.
+   */
+  @Param({"unbounded", "ringBuffer"})
+  public String capturePolicy;
+
+  private final SimpleRequest request = SimpleRequest.newBuilder().setRequestMessage("request").build();
+  private final ServerCall<SimpleRequest, SimpleResponse> serverCall = new NoopServerCall();
+  private final ServerCallHandler<SimpleRequest, SimpleResponse> next = (call, metadata) -> new Listener<SimpleRequest>() {
+  };
+  private Metadata headers;
+  private RequestCaptureInterceptor interceptor;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    headers = new Metadata();
+    headers.put(Metadata.Key.of("header-1", Metadata.ASCII_STRING_MARSHALLER), "value-1");
+    interceptor = new RequestCaptureInterceptor();
+    interceptor.setCapturePolicy("ringBuffer".equals(capturePolicy)
+        ? CapturePolicy.ringBuffer(1000)
+        : CapturePolicy.unbounded());
+  }
+
+  @Benchmark
+  public Listener<SimpleRequest> interceptUnaryCall() {
+    Listener<SimpleRequest> listener = interceptor.interceptCall(serverCall, headers, next);
+    listener.onMessage(request);
+    listener.onHalfClose();
+    return listener;
+  }
+
+  private static final class NoopServerCall extends ServerCall<SimpleRequest, SimpleResponse> {
+
+    @Override
+    public void request(int numMessages) {
+    }
+
+    @Override
+    public void sendHeaders(Metadata headers) {
+    }
+
+    @Override
+    public void sendMessage(SimpleResponse message) {
+    }
+
+    @Override
+    public void close(Status status, Metadata trailers) {
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return false;
+    }
+
+    @Override
+    public Attributes getAttributes() {
+      return Attributes.EMPTY;
+    }
+
+    @Override
+    public MethodDescriptor<SimpleRequest, SimpleResponse> getMethodDescriptor() {
+      return SimpleServiceGrpc.getUnaryRpcMethod();
+    }
+  }
+}
@@ -8,7 +8,10 @@ import io.grpc.ServerMethodDefinition;
 import io.grpc.Status;
 import io.grpc.protobuf.services.BinaryLogProvider;
 import io.grpc.stub.ServerCalls;
-import io.grpc.util.MutableHandlerRegistry;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.grpcmock.util.FunctionalResponseObserver;
 
@@ -17,15 +20,35 @@ import org.grpcmock.util.FunctionalResponseObserver;
  */
 public final class DelegateHandlerRegistry extends HandlerRegistry {
 
-  private final MutableHandlerRegistry delegate = new MutableHandlerRegistry();
+  private final Map<String, HandlerRegistry> namespaceDelegates = new ConcurrentHashMap<>();
+  private volatile HandlerRegistry delegate;
 
-  public MutableHandlerRegistry getDelegate() {
-    return this.delegate;
+  /**
+   * Sets the handler registry for calls without a namespace.
+   */
+  public void setDelegate(@Nonnull HandlerRegistry delegate) {
+    this.delegate = Objects.requireNonNull(delegate);
+  }
+
+  /**
+   * Sets the handler registry for calls of the given namespace.
+   */
+  public void setNamespaceDelegate(@Nonnull String namespace, @Nonnull HandlerRegistry delegate) {
+    Objects.requireNonNull(namespace);
+    Objects.requireNonNull(delegate);
+    namespaceDelegates.put(namespace, delegate);
+  }
+
+  public void removeNamespaceDelegate(@Nonnull String namespace) {
+    Objects.requireNonNull(namespace);
+    namespaceDelegates.remove(namespace);
   }
 
   @Override
   public ServerMethodDefinition<?, ?> lookupMethod(String methodName, @Nullable String authority) {
-    ServerMethodDefinition<?, ?> delegateDefinition = delegate.lookupMethod(methodName, authority);
+    String namespace = GrpcMockNamespace.CONTEXT_KEY.get();
+    HandlerRegistry registry = namespace == null ? delegate : namespaceDelegates.get(namespace);
+    ServerMethodDefinition<?, ?> delegateDefinition = registry == null ? null : registry.lookupMethod(methodName, authority);
     return delegateDefinition != null ? delegateDefinition : notFoundServerMethod(methodName);
   }
 
@@ -0,0 +1,144 @@
+package org.grpcmock;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.grpcmock.exception.GrpcMockValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Holder of the global static gRPC Mock instance for the configured {@link GlobalInstanceScope}.
+ * <p>Instances configured for a thread take precedence over the process-wide one. The default process-wide instance is
+ * built and started only once, when first needed, instead of building a new server for every thread. It is stopped when
+ * replaced by a configured process-wide instance or via {@link #stopProcessInstance()}.
+ *
+ * @author Fadelis
+ */
+final class GlobalInstance {
+
+  private static final Logger log = LoggerFactory.getLogger(GrpcMock.class);
+
+  private final ThreadLocal<GrpcMock> threadInstance = new ThreadLocal<>();
+  private final InheritableThreadLocal<GrpcMock> inheritableThreadInstance = new InheritableThreadLocal<>();
+  private final Object processInstanceLock = new Object();
+  private volatile GrpcMock processInstance;
+  // process-wide instance started by this holder, instances configured by the caller are not stopped here
+  private GrpcMock startedProcessInstance;
+  private volatile GlobalInstanceScope scope;
+
+  GlobalInstance(@Nonnull GlobalInstanceScope scope) {
+    this.scope = Objects.requireNonNull(scope);
+  }
+
+  static GlobalInstance fromSystemProperty() {
+    String value = System.getProperty(GlobalInstanceScope.SYSTEM_PROPERTY);
+    if (value == null || value.trim().isEmpty()) {
+      return new GlobalInstance(GlobalInstanceScope.THREAD);
+    }
+    try {
+      return new GlobalInstance(GlobalInstanceScope.valueOf(value.trim().toUpperCase(Locale.ROOT)));
+    } catch (IllegalArgumentException e) {
+      throw new GrpcMockValidationException("Unknown gRPC Mock global instance scope: " + value, e);
+    }
+  }
+
+  GlobalInstanceScope scope() {
+    return scope;
+  }
+
+  /**
+   * Changes the scope used for subsequently configured instances. Instances configured for threads are cleared only on
+   * the calling thread.
+   */
+  void setScope(@Nonnull GlobalInstanceScope scope) {
+    Objects.requireNonNull(scope);
+    threadInstance.remove();
+    inheritableThreadInstance.remove();
+    this.scope = scope;
+  }
+
+  void set(@Nonnull GrpcMock instance) {
+    Objects.requireNonNull(instance);
+    switch (scope) {
+      case THREAD:
+        threadInstance.set(instance);
+        break;
+      case INHERITABLE_THREAD:
+        inheritableThreadInstance.set(instance);
+        break;
+      default:
+        synchronized (processInstanceLock) {
+          if (startedProcessInstance != instance) {
+            stopStartedProcessInstance();
+          }
+          processInstance = instance;
+        }
+    }
+  }
+
+  /**
+   * Clears the process-wide instance, stopping it if it was started by this holder. A new one is started when next needed.
+   */
+  void stopProcessInstance() {
+    synchronized (processInstanceLock) {
+      stopStartedProcessInstance();
+      processInstance = null;
+    }
+  }
+
+  private void stopStartedProcessInstance() {
+    if (startedProcessInstance != null) {
+      startedProcessInstance.stop();
+      log.info("Stopped process-wide gRPC Mock server");
+      startedProcessInstance = null;
+    }
+  }
+
+  /**
+   * Returns the instance for the current thread, building and starting the process-wide one if none is configured.
+   */
+  @Nonnull
+  GrpcMock get() {
+    return current().orElseGet(this::getOrStartProcessInstance);
+  }
+
+  /**
+   * Returns the instance for the current thread without building a new one.
+   */
+  Optional<GrpcMock> current() {
+    GrpcMock instance = scopedInstance();
+    return Optional.ofNullable(instance != null ? instance : processInstance);
+  }
+
+  @Nullable
+  private GrpcMock scopedInstance() {
+    switch (scope) {
+      case THREAD:
+        return threadInstance.get();
+      case INHERITABLE_THREAD:
+        return inheritableThreadInstance.get();
+      default:
+        return null;
+    }
+  }
+
+  private GrpcMock getOrStartProcessInstance() {
+    GrpcMock instance = processInstance;
+    if (instance != null) {
+      return instance;
+    }
+    synchronized (processInstanceLock) {
+      instance = processInstance;
+      if (instance == null) {
+        instance = GrpcMock.grpcMock().build().start();
+        log.info("Started process-wide gRPC Mock server at port: {}", instance.getPort());
+        startedProcessInstance = instance;
+        processInstance = instance;
+      }
+      return instance;
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package org.grpcmock;
+
+/**
+ * <p>Scope of the global static gRPC Mock instance used by the static {@link GrpcMock} methods, e.g.
+ * {@link GrpcMock#stubFor} or {@link GrpcMock#verifyThat}.
+ * <p>Threads without a configured instance share a single process-wide instance, which is lazily built and started on
+ * first use.
+ *
+ * @author Fadelis
+ */
+public enum GlobalInstanceScope {
+
+  /**
+   * Instance configured via {@link GrpcMock#configureFor} is visible only on the configuring thread. This is the default
+   * scope.
+   */
+  THREAD,
+  /**
+   * Instance configured via {@link GrpcMock#configureFor} is visible on the configuring thread and on threads created by it
+   * afterwards, e.g. on a per test class executor.
+   */
+  INHERITABLE_THREAD,
+  /**
+   * Instance configured via {@link GrpcMock#configureFor} is shared by all threads, e.g. for parallel test execution
+   * against a single gRPC Mock server.
+   */
+  PROCESS;
+
+  /**
+   * System property for selecting the initial scope, e.g. <code>-Dgrpcmock.global-instance-scope=PROCESS</code>.
+   */
+  public static final String SYSTEM_PROPERTY = "grpcmock.global-instance-scope";
+}
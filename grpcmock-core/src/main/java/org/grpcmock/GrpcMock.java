@@ -1,7 +1,5 @@
 package org.grpcmock;
 
-import static java.util.Optional.ofNullable;
-
 import io.grpc.MethodDescriptor;
 import io.grpc.MethodDescriptor.MethodType;
 import io.grpc.Server;
@@ -12,32 +10,44 @@ import io.grpc.StatusRuntimeException;
 import io.grpc.inprocess.InProcessServerBuilder;
 import io.grpc.inprocess.InProcessSocketAddress;
 import io.grpc.stub.StreamObserver;
-import io.grpc.util.MutableHandlerRegistry;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.grpcmock.definitions.response.Delay;
+import org.grpcmock.definitions.response.DynamicResponseBuilderImpl;
 import org.grpcmock.definitions.response.ExceptionResponseActionBuilderImpl;
+import org.grpcmock.definitions.response.LazyResponseAction;
 import org.grpcmock.definitions.response.ObjectResponseActionBuilderImpl;
 import org.grpcmock.definitions.response.ResponseAction;
 import org.grpcmock.definitions.response.StreamResponseBuilderImpl;
+import org.grpcmock.definitions.response.steps.DynamicResponseBuilder;
 import org.grpcmock.definitions.response.steps.ExceptionResponseActionBuilder;
 import org.grpcmock.definitions.response.steps.ExceptionStreamResponseBuildersStep;
 import org.grpcmock.definitions.response.steps.ObjectResponseActionBuilder;
 import org.grpcmock.definitions.response.steps.ObjectStreamResponseBuilderStep;
 import org.grpcmock.definitions.stub.BidiStreamingMethodStubBuilderImpl;
 import org.grpcmock.definitions.stub.ClientStreamingMethodStubBuilderImpl;
-import org.grpcmock.definitions.stub.MethodStub;
+import org.grpcmock.definitions.stub.FaultProfileBuilderImpl;
+import org.grpcmock.definitions.stub.ScenarioStates;
 import org.grpcmock.definitions.stub.ServerStreamingMethodStubBuilderImpl;
-import org.grpcmock.definitions.stub.ServiceStub;
+import org.grpcmock.definitions.stub.StubMappings;
 import org.grpcmock.definitions.stub.UnaryMethodStubBuilderImpl;
 import org.grpcmock.definitions.stub.steps.BidiStreamingMethodStubBuilderStep;
 import org.grpcmock.definitions.stub.steps.ClientStreamingMethodStubBuilderStep;
+import org.grpcmock.definitions.stub.steps.FaultInjectionBuilderStep;
+import org.grpcmock.definitions.stub.steps.FaultProfileBuilder;
 import org.grpcmock.definitions.stub.steps.MethodStubBuilder;
 import org.grpcmock.definitions.stub.steps.ServerStreamingMethodStubBuilderStep;
 import org.grpcmock.definitions.stub.steps.UnaryMethodStubBuilderStep;
@@ -46,9 +56,12 @@ import org.grpcmock.definitions.verification.RequestPattern;
 import org.grpcmock.definitions.verification.RequestPatternBuilderImpl;
 import org.grpcmock.definitions.verification.steps.RequestPatternBuilderStep;
 import org.grpcmock.exception.GrpcMockException;
+import org.grpcmock.exception.GrpcMockValidationException;
 import org.grpcmock.exception.GrpcMockVerificationError;
+import org.grpcmock.interceptors.CapturePolicy;
 import org.grpcmock.interceptors.CapturedRequest;
 import org.grpcmock.interceptors.RequestCaptureInterceptor;
+import org.grpcmock.metrics.GrpcMockMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,25 +73,34 @@ import org.slf4j.LoggerFactory;
 public final class GrpcMock {
 
   private static final Logger log = LoggerFactory.getLogger(GrpcMock.class);
-  private static final ThreadLocal<GrpcMock> INSTANCE = ThreadLocal
-      .withInitial(() -> grpcMock().build());
+  private static final GlobalInstance INSTANCE = GlobalInstance.fromSystemProperty();
 
   private final Server server;
-  private final MutableHandlerRegistry handlerRegistry;
+  private final ExecutorService ownedExecutor;
+  private final DelegateHandlerRegistry handlerRegistry;
   private final RequestCaptureInterceptor requestCaptureInterceptor;
-  private final Map<String, ServiceStub> serviceStubs = new ConcurrentHashMap<>();
+  private final GrpcMockMetrics metrics;
+  private final GrpcMockNamespace defaultNamespace;
+  private final Map<String, GrpcMockNamespace> namespaces = new ConcurrentHashMap<>();
 
   GrpcMock(
       @Nonnull Server server,
-      @Nonnull MutableHandlerRegistry handlerRegistry,
-      @Nonnull RequestCaptureInterceptor requestCaptureInterceptor
+      @Nullable ExecutorService ownedExecutor,
+      @Nonnull DelegateHandlerRegistry handlerRegistry,
+      @Nonnull RequestCaptureInterceptor requestCaptureInterceptor,
+      @Nonnull GrpcMockMetrics metrics
   ) {
     Objects.requireNonNull(server);
     Objects.requireNonNull(handlerRegistry);
     Objects.requireNonNull(requestCaptureInterceptor);
+    Objects.requireNonNull(metrics);
     this.server = server;
+    this.ownedExecutor = ownedExecutor;
     this.handlerRegistry = handlerRegistry;
     this.requestCaptureInterceptor = requestCaptureInterceptor;
+    this.metrics = metrics;
+    this.defaultNamespace = new GrpcMockNamespace(null, requestCaptureInterceptor);
+    handlerRegistry.setDelegate(defaultNamespace.handlerRegistry());
   }
 
   /**
@@ -104,6 +126,14 @@ public final class GrpcMock {
         .orElseThrow(() -> new GrpcMockException("This gRPC Mock instance does not use in-process server"));
   }
 
+  /**
+   * <p>Returns metrics of calls handled by the server.
+   * <p>Metrics are not reset together with the stubs, see {@link GrpcMockMetrics#reset()}.
+   */
+  public GrpcMockMetrics getMetrics() {
+    return metrics;
+  }
+
   /**
    * Starts the gRPC mock server. Does not throw any exception if the server is already running.
    *
@@ -121,30 +151,80 @@ public final class GrpcMock {
   }
 
   /**
-   * Stops the gRPC mock server via {@link Server#shutdownNow}.
+   * Stops the gRPC mock server via {@link Server#shutdownNow}. Executor created by the builder, e.g. via
+   * {@link GrpcMockBuilder#useVirtualThreads()}, is shut down as well.
    */
   public GrpcMock stop() {
     server.shutdownNow();
+    if (ownedExecutor != null) {
+      ownedExecutor.shutdown();
+    }
     return this;
   }
 
+  /**
+   * <p>Returns the namespace with the given name, creating it if needed.
+   * <p>Calls with the {@link GrpcMockNamespace#HEADER} request header are handled only by the stubs of the namespace
+   * named by the header value and are captured only for verifications of that namespace.
+   */
+  public GrpcMockNamespace namespace(@Nonnull String name) {
+    Objects.requireNonNull(name);
+    return namespaces.computeIfAbsent(name, key -> {
+      requestCaptureInterceptor.addNamespace(key);
+      GrpcMockNamespace namespace = new GrpcMockNamespace(key, requestCaptureInterceptor);
+      handlerRegistry.setNamespaceDelegate(key, namespace.handlerRegistry());
+      return namespace;
+    });
+  }
+
+  /**
+   * Removes the namespace with the given name together with its stubs and captured requests.
+   */
+  public void removeNamespace(@Nonnull String name) {
+    Objects.requireNonNull(name);
+    namespaces.computeIfPresent(name, (key, namespace) -> {
+      handlerRegistry.removeNamespaceDelegate(key);
+      requestCaptureInterceptor.removeNamespace(key);
+      return null;
+    });
+  }
+
   /**
    * <p>Register a gRPC method stub to the server.
    * <p>If given method is already registered, then configured scenarios will be appended to
    * that method's stub.
    */
   public <ReqT, RespT> void register(@Nonnull MethodStubBuilder<ReqT, RespT> methodStubBuilder) {
-    Objects.requireNonNull(methodStubBuilder);
+    defaultNamespace.register(methodStubBuilder);
+  }
+
+  /**
+   * <p>Register multiple gRPC method stubs to the server in a single pass.
+   * <p>If a given method is already registered, then configured scenarios will be appended to
+   * that method's stub. All the given stubs become visible to incoming calls at once.
+   */
+  public void registerAll(@Nonnull Collection<? extends MethodStubBuilder<?, ?>> methodStubBuilders) {
+    defaultNamespace.registerAll(methodStubBuilders);
+  }
+
+  /**
+   * <p>Returns the currently registered stub mappings, which can be restored later via {@link #restore(StubMappings)},
+   * e.g. to return to stubs shared by all tests of a test class after each test.
+   * <p>Taking a snapshot does not copy any stubs, as registered stub mappings are immutable.
+   */
+  public StubMappings snapshot() {
+    return defaultNamespace.snapshot();
+  }
 
-    MethodStub<ReqT, RespT> methodStub = methodStubBuilder.build();
-    // register method stub to existing service stub or create a new one with the single method stub
-    ServiceStub serviceStub = serviceStubs.compute(
-        methodStub.serviceName(),
-        (key, registeredStub) -> ofNullable(registeredStub)
-            .map(previous -> previous.registerMethod(methodStub))
-            .orElseGet(() -> new ServiceStub(methodStub)));
-    // create or overwrite the service definition for this service stub in the grpc server
-    handlerRegistry.addService(serviceStub.serverServiceDefinition());
+  /**
+   * <p>Replaces all registered stubs with the given snapshot, without rebuilding any stubs.
+   * <p>Same as {@link #resetAll()} followed by registering the stubs of the snapshot, captured requests are cleared and
+   * stub scenarios are reset.
+   *
+   * @throws GrpcMockValidationException if the snapshot was taken from a different gRPC Mock instance or namespace.
+   */
+  public void restore(@Nonnull StubMappings snapshot) {
+    defaultNamespace.restore(snapshot);
   }
 
   /**
@@ -156,32 +236,37 @@ public final class GrpcMock {
       @Nonnull RequestPattern<ReqT> requestPattern,
       @Nonnull CountMatcher countMatcher
   ) {
-    Objects.requireNonNull(requestPattern);
-    Objects.requireNonNull(countMatcher);
-
-    int callCount = requestCaptureInterceptor.callCountFor(requestPattern);
-    if (!countMatcher.test(callCount)) {
-      throw new GrpcMockVerificationError(String.format(
-          "Expected %s method to be called %s, but actual call count was %d",
-          requestPattern.fullMethodName(), countMatcher, callCount));
-    }
+    defaultNamespace.verifyThat(requestPattern, countMatcher);
   }
 
   /**
-   * Return all {@link CapturedRequest} that match the provided request pattern.
+   * <p>Return all {@link CapturedRequest} that match the provided request pattern.
+   * <p>Requests, which were not retained because of the configured {@link CapturePolicy}, are not included.
    */
   public <ReqT> List<CapturedRequest<ReqT>> capturedRequestsFor(@Nonnull RequestPattern<ReqT> requestPattern) {
-    Objects.requireNonNull(requestPattern);
-    return requestCaptureInterceptor.requestsFor(requestPattern);
+    return defaultNamespace.capturedRequestsFor(requestPattern);
+  }
+
+  /**
+   * Returns the current state of the given stub scenario.
+   */
+  public String scenarioState(@Nonnull String scenarioName) {
+    return defaultNamespace.scenarioState(scenarioName);
   }
 
   /**
-   * Removes all stubs defined from the mock server.
+   * Resets all stub scenarios to {@link ScenarioStates#STARTED} state.
+   */
+  public void resetScenarios() {
+    defaultNamespace.resetScenarios();
+  }
+
+  /**
+   * Removes all stubs defined from the mock server and resets stub scenarios. Namespaces are left intact, as they might
+   * be used by concurrently running tests, see {@link #removeNamespace(String)}.
    */
   public void resetAll() {
-    serviceStubs.clear();
-    requestCaptureInterceptor.clear();
-    handlerRegistry.getServices().forEach(handlerRegistry::removeService);
+    defaultNamespace.resetAll();
   }
 
   /**
@@ -220,6 +305,32 @@ public final class GrpcMock {
     return new GrpcMockBuilder(serverBuilder);
   }
 
+  /**
+   * <p>Sets the scope of the global static gRPC Mock instance, which by default is {@link GlobalInstanceScope#THREAD} or
+   * the one defined by the {@value GlobalInstanceScope#SYSTEM_PROPERTY} system property.
+   * <p>Should be called before configuring the global instance via {@link #configureFor}. Instance configured for the
+   * calling thread is cleared.
+   */
+  public static void useGlobalInstanceScope(@Nonnull GlobalInstanceScope scope) {
+    INSTANCE.setScope(scope);
+  }
+
+  /**
+   * <p>Clears the process-wide global static gRPC Mock instance, so that a new one is started when next needed.
+   * <p>The instance started lazily by gRPC Mock is stopped, while an instance configured via {@link #configureFor} is
+   * left running, as its lifecycle is managed by the caller.
+   */
+  public static void stopGlobalProcessInstance() {
+    INSTANCE.stopProcessInstance();
+  }
+
+  /**
+   * Returns the scope of the global static gRPC Mock instance.
+   */
+  public static GlobalInstanceScope getGlobalInstanceScope() {
+    return INSTANCE.scope();
+  }
+
   /**
    * Configure the global static gRPC Mock instance to use a new one with the provided port.
    */
@@ -228,7 +339,9 @@ public final class GrpcMock {
   }
 
   /**
-   * Configure the global static gRPC Mock instance to use the provided one.
+   * Configure the global static gRPC Mock instance to use the provided one. The instance is visible to other threads
+   * according to the {@link GlobalInstanceScope} in use. In {@link GlobalInstanceScope#PROCESS} scope the lazily started
+   * process-wide instance is stopped when replaced.
    */
   public static void configureFor(@Nonnull GrpcMock client) {
     Objects.requireNonNull(client);
@@ -254,10 +367,17 @@ public final class GrpcMock {
   }
 
   /**
-   * Removes all stubs defined from the global mock server.
+   * Returns metrics of calls handled by the global static gRPC Mock instance.
+   */
+  public static GrpcMockMetrics getGlobalMetrics() {
+    return INSTANCE.get().getMetrics();
+  }
+
+  /**
+   * Removes all stubs defined from the global mock server. Does nothing if no global instance is in use yet.
    */
   public static void resetMappings() {
-    INSTANCE.get().resetAll();
+    INSTANCE.current().ifPresent(GrpcMock::resetAll);
   }
 
   /**
@@ -274,6 +394,18 @@ public final class GrpcMock {
     INSTANCE.get().register(methodStubBuilder);
   }
 
+  /**
+   * <p>Register multiple gRPC method stubs to the global gRPC mock server in a single pass.
+   * <p>Stubs are registered in the provided collection order, so when multiple stubs satisfying
+   * the same request condition matching are registered, the last one will be triggered.
+   *
+   * @param methodStubBuilders method stub builders created through one of {@link #unaryMethod}, {@link #serverStreamingMethod},
+   * {@link #clientStreamingMethod} or {@link #bidiStreamingMethod}.
+   */
+  public static void stubFor(@Nonnull Collection<? extends MethodStubBuilder<?, ?>> methodStubBuilders) {
+    INSTANCE.get().registerAll(methodStubBuilders);
+  }
+
   /**
    * Returns a stub builder for {@link MethodType#UNARY} method or {@link MethodType#SERVER_STREAMING} method with a single
    * response.
@@ -373,6 +505,69 @@ public final class GrpcMock {
     return stream(Arrays.asList(responses));
   }
 
+  /**
+   * <p>Returns a stream response, which lazily responds with messages of iterators from the given supplier.
+   * <p>A new iterator is requested for every call and its messages are produced only when they are about to be sent, so
+   * streams of any length can be responded with constant memory.
+   *
+   * @param responses supplier of response iterators, which is called once per call.
+   */
+  public static <RespT> ObjectStreamResponseBuilderStep<RespT> stream(
+      @Nonnull Supplier<Iterator<RespT>> responses
+  ) {
+    return new StreamResponseBuilderImpl<>(new LazyResponseAction<>(responses));
+  }
+
+  /**
+   * <p>Returns a stream response, which lazily responds with messages of the given iterator.
+   * <p>The iterator can be consumed only once, so such response should be used for a single call.
+   * For responses to multiple calls see {@link GrpcMock#stream(Supplier)}.
+   */
+  public static <RespT> ObjectStreamResponseBuilderStep<RespT> stream(@Nonnull Iterator<RespT> responses) {
+    return new StreamResponseBuilderImpl<>(LazyResponseAction.once(responses));
+  }
+
+  /**
+   * <p>Returns a stream response, which lazily responds with elements of the given {@link Stream}.
+   * <p>The stream can be consumed only once, so such response should be used for a single call.
+   * For responses to multiple calls see {@link GrpcMock#stream(Supplier)}.
+   */
+  public static <RespT> ObjectStreamResponseBuilderStep<RespT> stream(@Nonnull Stream<RespT> responses) {
+    Objects.requireNonNull(responses);
+    return stream(responses.iterator());
+  }
+
+  /**
+   * <p>Returns a response with a single message, which is built based on the received request.
+   * <p>The response supports delays and memoization of responses for distinct requests, see
+   * {@link DynamicResponseBuilder#memoized()}.
+   */
+  public static <ReqT, RespT> DynamicResponseBuilder<ReqT, RespT> dynamicResponse(
+      @Nonnull Function<ReqT, RespT> responseFunction
+  ) {
+    return DynamicResponseBuilderImpl.singleResponse(responseFunction);
+  }
+
+  /**
+   * <p>Returns a stream response, messages of which are built based on the received request. Messages of the stream are
+   * consumed lazily, only when they are about to be sent.
+   * <p>The response supports delays and memoization of responses for distinct requests, see
+   * {@link DynamicResponseBuilder#memoized()}.
+   */
+  public static <ReqT, RespT> DynamicResponseBuilder<ReqT, RespT> dynamicStream(
+      @Nonnull Function<ReqT, Stream<RespT>> responseFunction
+  ) {
+    return DynamicResponseBuilderImpl.streamResponse(responseFunction);
+  }
+
+  /**
+   * <p>Returns a builder of faults injected into calls of a stub, see
+   * {@link FaultInjectionBuilderStep#withFaults(FaultProfileBuilder)}.
+   */
+  public static FaultProfileBuilder faults() {
+    return new FaultProfileBuilderImpl();
+  }
+
   /**
    * <p>Returns a terminating stream response, which will respond with {@link ResponseAction} and
    * terminate the call, since it will be {@link StreamObserver#onError} response.
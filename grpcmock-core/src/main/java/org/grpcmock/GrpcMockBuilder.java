@@ -4,28 +4,46 @@ import io.grpc.ServerBuilder;
 import io.grpc.ServerInterceptor;
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.net.ServerSocket;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.grpcmock.exception.GrpcMockException;
+import org.grpcmock.interceptors.CallExecutorInterceptor;
+import org.grpcmock.interceptors.CapturePolicy;
+import org.grpcmock.interceptors.HeaderCaptureFilter;
 import org.grpcmock.interceptors.RequestCaptureInterceptor;
+import org.grpcmock.interceptors.RequestLoggingMode;
+import org.grpcmock.metrics.GrpcMockMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author Fadelis
  */
 public class GrpcMockBuilder {
 
+  private static final Logger log = LoggerFactory.getLogger(GrpcMock.class);
+
   private final DelegateHandlerRegistry delegateHandlerRegistry = new DelegateHandlerRegistry();
   private final RequestCaptureInterceptor requestCaptureInterceptor = new RequestCaptureInterceptor();
+  private final CallExecutorInterceptor callExecutorInterceptor = new CallExecutorInterceptor();
+  private final GrpcMockMetrics metrics = new GrpcMockMetrics();
   private final ServerBuilder serverBuilder;
+  private ExecutorService virtualThreadExecutor;
 
   GrpcMockBuilder(@Nonnull ServerBuilder serverBuilder) {
     Objects.requireNonNull(serverBuilder);
     this.serverBuilder = serverBuilder
         .intercept(requestCaptureInterceptor)
+        .intercept(callExecutorInterceptor)
         .fallbackHandlerRegistry(delegateHandlerRegistry);
+    addStreamTracers();
   }
 
   GrpcMockBuilder(int port) {
@@ -39,7 +57,63 @@ public class GrpcMockBuilder {
   }
 
   public GrpcMockBuilder executor(@Nullable Executor executor) {
+    shutdownVirtualThreadExecutor();
     serverBuilder.executor(executor);
+    callExecutorInterceptor.setExecutor(executor);
+    return this;
+  }
+
+  /**
+   * <p>Configures the server to execute each call on a new virtual thread, so that blocking proxies and delays do not
+   * hold platform threads.
+   * <p>Virtual threads are available from Java 21. On older JVMs a warning is logged and the default executor is used.
+   * <p>The created executor is shut down when the server is stopped.
+   */
+  public GrpcMockBuilder useVirtualThreads() {
+    virtualThreadPerTaskExecutor().ifPresent(executor -> {
+      shutdownVirtualThreadExecutor();
+      virtualThreadExecutor = executor;
+      serverBuilder.executor(executor);
+      callExecutorInterceptor.setExecutor(executor);
+    });
+    return this;
+  }
+
+  private void shutdownVirtualThreadExecutor() {
+    if (virtualThreadExecutor != null) {
+      virtualThreadExecutor.shutdown();
+      virtualThreadExecutor = null;
+    }
+  }
+
+  /**
+   * Configures which incoming requests are retained for verification. By default all requests are retained until the mappings
+   * are reset.
+   */
+  public GrpcMockBuilder capturePolicy(@Nonnull CapturePolicy capturePolicy) {
+    Objects.requireNonNull(capturePolicy);
+    requestCaptureInterceptor.setCapturePolicy(capturePolicy);
+    return this;
+  }
+
+  /**
+   * Configures which incoming request headers are retained for verification. By default all headers are retained. Stubs
+   * are always matched against all incoming headers, while headers, which are not retained, are not visible to
+   * verifications and captured requests.
+   */
+  public GrpcMockBuilder headerCaptureFilter(@Nonnull HeaderCaptureFilter headerCaptureFilter) {
+    Objects.requireNonNull(headerCaptureFilter);
+    requestCaptureInterceptor.setHeaderCaptureFilter(headerCaptureFilter);
+    return this;
+  }
+
+  /**
+   * Configures how incoming request messages are logged. By default each message is logged in full at <code>INFO</code>
+   * level.
+   */
+  public GrpcMockBuilder requestLogging(@Nonnull RequestLoggingMode requestLoggingMode) {
+    Objects.requireNonNull(requestLoggingMode);
+    requestCaptureInterceptor.setRequestLoggingMode(requestLoggingMode);
     return this;
   }
 
@@ -50,6 +124,26 @@ public class GrpcMockBuilder {
     return this;
   }
 
+  private void addStreamTracers() {
+    try {
+      serverBuilder.addStreamTracerFactory(GrpcMockNamespace.STREAM_TRACER_FACTORY);
+      serverBuilder.addStreamTracerFactory(metrics.streamTracerFactory());
+    } catch (UnsupportedOperationException e) {
+      log.warn("Server builder does not support stream tracers, call metrics will not be recorded "
+          + "and namespaces will not be routed");
+    }
+  }
+
+  private static Optional<ExecutorService> virtualThreadPerTaskExecutor() {
+    try {
+      Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return Optional.of((ExecutorService) factoryMethod.invoke(null));
+    } catch (ReflectiveOperationException e) {
+      log.warn("Virtual threads are not supported by the current JVM, default executor will be used");
+      return Optional.empty();
+    }
+  }
+
   private static int findFreePort() {
     try (ServerSocket socket = new ServerSocket(0)) {
       return socket.getLocalPort();
@@ -59,6 +153,7 @@ public class GrpcMockBuilder {
   }
 
   public GrpcMock build() {
-    return new GrpcMock(serverBuilder.build(), delegateHandlerRegistry.getDelegate(), requestCaptureInterceptor);
+    return new GrpcMock(
+        serverBuilder.build(), virtualThreadExecutor, delegateHandlerRegistry, requestCaptureInterceptor, metrics);
   }
 }
@@ -0,0 +1,225 @@
+package org.grpcmock;
+
+import static java.util.Optional.ofNullable;
+
+import io.grpc.ClientInterceptor;
+import io.grpc.Context;
+import io.grpc.HandlerRegistry;
+import io.grpc.Metadata;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerStreamTracer;
+import io.grpc.stub.MetadataUtils;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.grpcmock.definitions.stub.MethodStub;
+import org.grpcmock.definitions.stub.ScenarioStates;
+import org.grpcmock.definitions.stub.StubMappings;
+import org.grpcmock.definitions.stub.steps.MethodStubBuilder;
+import org.grpcmock.definitions.verification.CountMatcher;
+import org.grpcmock.definitions.verification.RequestPattern;
+import org.grpcmock.exception.GrpcMockException;
+import org.grpcmock.exception.GrpcMockValidationException;
+import org.grpcmock.exception.GrpcMockVerificationError;
+import org.grpcmock.interceptors.CapturePolicy;
+import org.grpcmock.interceptors.CapturedRequest;
+import org.grpcmock.interceptors.RequestCaptureInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Isolated set of stubs, scenario states and captured requests of a {@link GrpcMock} server.
+ * <p>Calls are routed to a namespace by the value of the {@link #HEADER} request header, so that concurrently running
+ * tests can share a single started server, each with its own stubs and verifications. Calls without the header are
+ * handled by the stubs registered directly to the {@link GrpcMock} instance, while calls of an unknown namespace are
+ * rejected with <code>UNIMPLEMENTED</code> status.
+ *
+ * @author Fadelis
+ */
+public final class GrpcMockNamespace {
+
+  /**
+   * Request header, which selects the namespace handling the call.
+   */
+  public static final Metadata.Key<String> HEADER = Metadata.Key.of("grpcmock-namespace", Metadata.ASCII_STRING_MARSHALLER);
+
+  static final Context.Key<String> CONTEXT_KEY = Context.key("grpcmock_namespace");
+
+  /**
+   * Stream tracer factory, which makes the call namespace available in the call context already for the method lookup.
+   */
+  static final ServerStreamTracer.Factory STREAM_TRACER_FACTORY = new ServerStreamTracer.Factory() {
+    @Override
+    public ServerStreamTracer newServerStreamTracer(String fullMethodName, Metadata headers) {
+      String namespace = headers.get(HEADER);
+      return new ServerStreamTracer() {
+        @Override
+        public Context filterContext(Context context) {
+          return namespace == null ? context : context.withValue(CONTEXT_KEY, namespace);
+        }
+      };
+    }
+  };
+
+  private static final Logger log = LoggerFactory.getLogger(GrpcMock.class);
+
+  private final String name;
+  private final RequestCaptureInterceptor requestCaptureInterceptor;
+  private final ScenarioStates scenarioStates = new ScenarioStates();
+  private final StubMappings emptyStubMappings = new StubMappings(scenarioStates);
+  private final AtomicReference<StubMappings> stubMappings = new AtomicReference<>(emptyStubMappings);
+  private final HandlerRegistry handlerRegistry = new HandlerRegistry() {
+    @Override
+    public ServerMethodDefinition<?, ?> lookupMethod(String methodName, @Nullable String authority) {
+      return stubMappings.get().lookupMethod(methodName);
+    }
+  };
+
+  GrpcMockNamespace(@Nullable String name, @Nonnull RequestCaptureInterceptor requestCaptureInterceptor) {
+    Objects.requireNonNull(requestCaptureInterceptor);
+    this.name = name;
+    this.requestCaptureInterceptor = requestCaptureInterceptor;
+  }
+
+  /**
+   * Handler registry resolving the method handlers from the current stub mappings of this namespace.
+   */
+  HandlerRegistry handlerRegistry() {
+    return handlerRegistry;
+  }
+
+  /**
+   * Returns the name of this namespace, used as the {@link #HEADER} value.
+   */
+  public String name() {
+    return ofNullable(name).orElseThrow(() -> new GrpcMockException("Default namespace does not have a name"));
+  }
+
+  /**
+   * Returns a client interceptor, which routes calls of the intercepted channel or stub to this namespace.
+   */
+  public ClientInterceptor clientInterceptor() {
+    Metadata headers = new Metadata();
+    headers.put(HEADER, name());
+    return MetadataUtils.newAttachHeadersInterceptor(headers);
+  }
+
+  /**
+   * <p>Register a gRPC method stub to this namespace.
+   * <p>If given method is already registered, then configured scenarios will be appended to
+   * that method's stub.
+   */
+  public <ReqT, RespT> void register(@Nonnull MethodStubBuilder<ReqT, RespT> methodStubBuilder) {
+    Objects.requireNonNull(methodStubBuilder);
+    registerAll(Collections.singletonList(methodStubBuilder));
+  }
+
+  /**
+   * <p>Register multiple gRPC method stubs to this namespace in a single pass.
+   * <p>If a given method is already registered, then configured scenarios will be appended to
+   * that method's stub. All the given stubs become visible to incoming calls at once.
+   */
+  public void registerAll(@Nonnull Collection<? extends MethodStubBuilder<?, ?>> methodStubBuilders) {
+    Objects.requireNonNull(methodStubBuilders);
+    List<MethodStub<?, ?>> methodStubs = methodStubBuilders.stream()
+        .map(Objects::requireNonNull)
+        .<MethodStub<?, ?>>map(MethodStubBuilder::build)
+        .collect(Collectors.toList());
+    stubMappings.updateAndGet(mappings -> mappings.withMethodStubs(methodStubs));
+  }
+
+  /**
+   * Returns the currently registered stub mappings, which can be restored later via {@link #restore(StubMappings)}.
+   * Taking a snapshot does not copy any stubs.
+   */
+  public StubMappings snapshot() {
+    return stubMappings.get();
+  }
+
+  /**
+   * <p>Replaces all registered stubs with the given snapshot, without rebuilding any stubs.
+   * <p>Same as {@link #resetAll()} followed by registering the stubs of the snapshot, captured requests are cleared, stub
+   * scenarios are reset and stub responses and injected faults start over from their first call.
+   *
+   * @throws GrpcMockValidationException if the snapshot was taken from a different namespace.
+   */
+  public void restore(@Nonnull StubMappings snapshot) {
+    Objects.requireNonNull(snapshot);
+    if (!snapshot.usesScenarioStates(scenarioStates)) {
+      throw new GrpcMockValidationException("Stub mappings snapshot can only be restored to the namespace it was taken from");
+    }
+    snapshot.reset();
+    stubMappings.set(snapshot);
+    scenarioStates.reset();
+    requestCaptureInterceptor.clear(name);
+  }
+
+  /**
+   * Verify that given {@link RequestPattern} is called in this namespace a number of times satisfying the provided
+   * {@link CountMatcher}.
+   *
+   * @throws GrpcMockVerificationError if the verify step fails.
+   */
+  public <ReqT> void verifyThat(
+      @Nonnull RequestPattern<ReqT> requestPattern,
+      @Nonnull CountMatcher countMatcher
+  ) {
+    Objects.requireNonNull(requestPattern);
+    Objects.requireNonNull(countMatcher);
+
+    int callCount = requestCaptureInterceptor.callCountFor(name, requestPattern);
+    long discardedCount = requestCaptureInterceptor.discardedRequestsCount(name, requestPattern);
+    if (!countMatcher.test(callCount)) {
+      throw new GrpcMockVerificationError(String.format(
+          "Expected %s method to be called %s, but actual call count was %d%s",
+          requestPattern.fullMethodName(), countMatcher, callCount, incompleteCaptureNote(discardedCount)));
+    }
+    if (discardedCount > 0) {
+      log.warn("Verification of {} method was done on incomplete captured requests, "
+          + "{} requests were discarded because of the configured capture policy", requestPattern.fullMethodName(), discardedCount);
+    }
+  }
+
+  private static String incompleteCaptureNote(long discardedCount) {
+    if (discardedCount <= 0) {
+      return "";
+    }
+    return String.format(
+        "%nResult might be incomplete: %d requests were discarded because of the configured capture policy", discardedCount);
+  }
+
+  /**
+   * <p>Return all {@link CapturedRequest} of this namespace that match the provided request pattern.
+   * <p>Requests, which were not retained because of the configured {@link CapturePolicy}, are not included.
+   */
+  public <ReqT> List<CapturedRequest<ReqT>> capturedRequestsFor(@Nonnull RequestPattern<ReqT> requestPattern) {
+    Objects.requireNonNull(requestPattern);
+    return requestCaptureInterceptor.requestsFor(name, requestPattern);
+  }
+
+  /**
+   * Returns the current state of the given stub scenario in this namespace.
+   */
+  public String scenarioState(@Nonnull String scenarioName) {
+    return scenarioStates.state(scenarioName);
+  }
+
+  /**
+   * Resets all stub scenarios of this namespace to {@link ScenarioStates#STARTED} state.
+   */
+  public void resetScenarios() {
+    scenarioStates.reset();
+  }
+
+  /**
+   * Removes all stubs and captured requests of this namespace and resets its stub scenarios.
+   */
+  public void resetAll() {
+    restore(emptyStubMappings);
+  }
+}
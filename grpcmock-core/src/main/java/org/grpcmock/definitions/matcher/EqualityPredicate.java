@@ -0,0 +1,31 @@
+package org.grpcmock.definitions.matcher;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>{@link Predicate} checking whether the tested value is equal to the expected one.
+ * <p>Matcher builders recognise this predicate as an exact value matcher, which allows stub
+ * scenarios to be indexed by the expected value instead of being evaluated one by one.
+ *
+ * @author Fadelis
+ */
+public final class EqualityPredicate<T> implements Predicate<T> {
+
+  private final T expected;
+
+  public EqualityPredicate(@Nonnull T expected) {
+    Objects.requireNonNull(expected);
+    this.expected = expected;
+  }
+
+  public T expected() {
+    return expected;
+  }
+
+  @Override
+  public boolean test(T actual) {
+    return expected.equals(actual);
+  }
+}
@@ -3,7 +3,10 @@ package org.grpcmock.definitions.matcher;
 import io.grpc.Metadata;
 import io.grpc.Metadata.Key;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
@@ -15,6 +18,7 @@ import org.grpcmock.definitions.matcher.steps.HeadersMatcherBuilderStep;
 public class HeadersMatcherBuilderImpl implements HeadersMatcherBuilderStep<HeadersMatcherBuilderImpl> {
 
   private final List<Predicate<Metadata>> headerPredicates = new ArrayList<>();
+  private final Map<Key<?>, Object> exactHeaderValues = new LinkedHashMap<>();
 
   HeadersMatcherBuilderImpl() {
   }
@@ -27,9 +31,26 @@ public class HeadersMatcherBuilderImpl implements HeadersMatcherBuilderStep<Head
     Objects.requireNonNull(headerKey);
     Objects.requireNonNull(predicate);
     this.headerPredicates.add(metadata -> predicate.test(metadata.get(headerKey)));
+    if (predicate instanceof EqualityPredicate) {
+      this.exactHeaderValues.put(headerKey, ((EqualityPredicate<T>) predicate).expected());
+    }
     return this;
   }
 
+  /**
+   * Returns header values, which are required to be exactly equal for the headers to match.
+   */
+  public Map<Key<?>, Object> exactHeaderValues() {
+    return Collections.unmodifiableMap(new LinkedHashMap<>(exactHeaderValues));
+  }
+
+  /**
+   * Returns <code>true</code> if any header conditions were defined.
+   */
+  public boolean hasPredicates() {
+    return !headerPredicates.isEmpty();
+  }
+
   public HeadersMatcher build() {
     return headers -> headerPredicates.stream().allMatch(predicate -> predicate.test(headers));
   }
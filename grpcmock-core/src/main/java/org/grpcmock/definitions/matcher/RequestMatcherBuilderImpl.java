@@ -3,6 +3,7 @@ package org.grpcmock.definitions.matcher;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import org.grpcmock.definitions.matcher.steps.RequestMatcherBuilderStep;
@@ -16,6 +17,7 @@ public class RequestMatcherBuilderImpl<ReqT> implements
     StreamRequestMatcherBuilderStep<RequestMatcherBuilderImpl<ReqT>, ReqT> {
 
   private final List<Predicate<List<ReqT>>> requestsPredicates = new ArrayList<>();
+  private ReqT exactFirstRequest;
 
   RequestMatcherBuilderImpl() {
   }
@@ -25,6 +27,14 @@ public class RequestMatcherBuilderImpl<ReqT> implements
     Objects.requireNonNull(requestPredicate);
     clearRequestsPredicates();
     this.requestsPredicates.add(list -> list.size() == 1 && requestPredicate.test(list.get(0)));
+    registerExactFirstRequest(requestPredicate);
+    return this;
+  }
+
+  @Override
+  public RequestMatcherBuilderImpl<ReqT> withFirstRequest(@Nonnull Predicate<ReqT> requestPredicate) {
+    StreamRequestMatcherBuilderStep.super.withFirstRequest(requestPredicate);
+    registerExactFirstRequest(requestPredicate);
     return this;
   }
 
@@ -37,6 +47,27 @@ public class RequestMatcherBuilderImpl<ReqT> implements
 
   public void clearRequestsPredicates() {
     this.requestsPredicates.clear();
+    this.exactFirstRequest = null;
+  }
+
+  /**
+   * Returns the request, which the first received request is required to be equal to for the requests to match.
+   */
+  public Optional<ReqT> exactFirstRequest() {
+    return Optional.ofNullable(exactFirstRequest);
+  }
+
+  private void registerExactFirstRequest(Predicate<ReqT> requestPredicate) {
+    if (requestPredicate instanceof EqualityPredicate) {
+      this.exactFirstRequest = ((EqualityPredicate<ReqT>) requestPredicate).expected();
+    }
+  }
+
+  /**
+   * Returns <code>true</code> if any request conditions were defined.
+   */
+  public boolean hasPredicates() {
+    return !requestsPredicates.isEmpty();
   }
 
   public RequestMatcher<ReqT> build() {
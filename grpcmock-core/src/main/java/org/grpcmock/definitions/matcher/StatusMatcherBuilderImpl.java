@@ -25,6 +25,13 @@ public class StatusMatcherBuilderImpl implements StatusMatcherBuilderStep<Status
     return null;
   }
 
+  /**
+   * Returns <code>true</code> if any status conditions were defined.
+   */
+  public boolean hasPredicates() {
+    return !statusPredicates.isEmpty();
+  }
+
   public StatusMatcher build() {
     return status -> statusPredicates.stream().allMatch(predicate -> predicate.test(status));
   }
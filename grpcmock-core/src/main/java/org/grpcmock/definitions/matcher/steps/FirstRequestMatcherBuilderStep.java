@@ -1,9 +1,9 @@
 package org.grpcmock.definitions.matcher.steps;
 
-import java.util.Objects;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import org.grpcmock.definitions.BuilderStep;
+import org.grpcmock.definitions.matcher.EqualityPredicate;
 
 /**
  * @author Fadelis
@@ -28,7 +28,6 @@ public interface FirstRequestMatcherBuilderStep<BUILDER extends FirstRequestMatc
    * <p>Subsequent request matchers will replace the old one.
    */
   default BUILDER withFirstRequest(@Nonnull ReqT request) {
-    Objects.requireNonNull(request);
-    return withFirstRequest(request::equals);
+    return withFirstRequest(new EqualityPredicate<>(request));
   }
 }
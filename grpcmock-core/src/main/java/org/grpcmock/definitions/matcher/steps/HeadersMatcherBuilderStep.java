@@ -8,6 +8,7 @@ import java.util.Objects;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import org.grpcmock.definitions.BuilderStep;
+import org.grpcmock.definitions.matcher.EqualityPredicate;
 
 /**
  * @author Fadelis
@@ -40,8 +41,7 @@ public interface HeadersMatcherBuilderStep<BUILDER extends HeadersMatcherBuilder
    * <p>Subsequent headers matchers for the same header will replace the old one.
    */
   default BUILDER withHeader(@Nonnull Metadata.Key<String> header, @Nonnull String value) {
-    Objects.requireNonNull(value);
-    return withHeader(header, value::equals);
+    return withHeader(header, new EqualityPredicate<>(value));
   }
 
   /**
@@ -63,8 +63,7 @@ public interface HeadersMatcherBuilderStep<BUILDER extends HeadersMatcherBuilder
    * <p>Subsequent headers matchers for the same header will replace the old one.
    */
   default BUILDER withHeader(@Nonnull String header, @Nonnull String value) {
-    Objects.requireNonNull(value);
-    return withHeader(header, value::equals);
+    return withHeader(header, new EqualityPredicate<>(value));
   }
 
   /**
@@ -1,9 +1,9 @@
 package org.grpcmock.definitions.matcher.steps;
 
-import java.util.Objects;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import org.grpcmock.definitions.BuilderStep;
+import org.grpcmock.definitions.matcher.EqualityPredicate;
 
 /**
  * @author Fadelis
@@ -26,7 +26,6 @@ public interface RequestMatcherBuilderStep<BUILDER extends RequestMatcherBuilder
    * <p>Subsequent request matchers will replace the old one.
    */
   default BUILDER withRequest(@Nonnull ReqT request) {
-    Objects.requireNonNull(request);
-    return withRequest(request::equals);
+    return withRequest(new EqualityPredicate<>(request));
   }
 }
@@ -6,6 +6,7 @@ import java.util.Objects;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import org.grpcmock.definitions.BuilderStep;
+import org.grpcmock.definitions.matcher.EqualityPredicate;
 
 /**
  * @author Fadelis
@@ -104,7 +105,6 @@ public interface StreamRequestMatcherBuilderStep<BUILDER extends StreamRequestMa
    * <p>Subsequent requests matchers will be added as additional conditions.
    */
   default BUILDER withFirstRequest(@Nonnull ReqT request) {
-    Objects.requireNonNull(request);
-    return withFirstRequest(request::equals);
+    return withFirstRequest(new EqualityPredicate<>(request));
   }
 }
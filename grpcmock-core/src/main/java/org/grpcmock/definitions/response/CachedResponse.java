@@ -0,0 +1,94 @@
+package org.grpcmock.definitions.response;
+
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor.Marshaller;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nonnull;
+import org.grpcmock.exception.GrpcMockException;
+
+/**
+ * <p>Response object, which is serialized only once and then sent as the same serialized bytes for every call.
+ * <p>Instances are passed to the response observer instead of the response object itself and are serialized by the
+ * response marshaller of gRPC Mock stubs. Server interceptors inspecting sent messages will receive this wrapper instead
+ * of the response object.
+ *
+ * @author Fadelis
+ */
+public final class CachedResponse<RespT> {
+
+  private final RespT response;
+  private final AtomicReference<byte[]> serializedResponse = new AtomicReference<>();
+
+  CachedResponse(@Nonnull RespT response) {
+    Objects.requireNonNull(response);
+    this.response = response;
+  }
+
+  public RespT response() {
+    return response;
+  }
+
+  /**
+   * Returns a stream over the serialized response. The same read-only bytes are shared by all the returned streams.
+   * Response is serialized when the stub is registered, or with the given marshaller on the first call if it was not.
+   */
+  public InputStream stream(@Nonnull Marshaller<RespT> marshaller) {
+    return new SerializedResponseStream(serializedResponse(marshaller));
+  }
+
+  /**
+   * Serializes the response with the given marshaller ahead of the first call, unless it is already serialized.
+   */
+  void preSerialize(@Nonnull Marshaller<RespT> marshaller) {
+    serializedResponse(marshaller);
+  }
+
+  private byte[] serializedResponse(Marshaller<RespT> marshaller) {
+    Objects.requireNonNull(marshaller);
+    byte[] bytes = serializedResponse.get();
+    if (bytes == null) {
+      serializedResponse.compareAndSet(null, serialize(marshaller.stream(response)));
+      bytes = serializedResponse.get();
+    }
+    return bytes;
+  }
+
+  private static byte[] serialize(InputStream stream) {
+    try (InputStream input = stream) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(32, input.available()));
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = input.read(buffer)) != -1) {
+        output.write(buffer, 0, read);
+      }
+      return output.toByteArray();
+    } catch (IOException e) {
+      throw new GrpcMockException("Failed to serialize cached response", e);
+    }
+  }
+
+  /**
+   * Stream over shared serialized response bytes, which gRPC drains directly into its output buffers.
+   */
+  private static final class SerializedResponseStream extends ByteArrayInputStream implements KnownLength, Drainable {
+
+    private SerializedResponseStream(byte[] bytes) {
+      super(bytes);
+    }
+
+    @Override
+    public synchronized int drainTo(OutputStream target) throws IOException {
+      int length = count - pos;
+      target.write(buf, pos, length);
+      pos = count;
+      return length;
+    }
+  }
+}
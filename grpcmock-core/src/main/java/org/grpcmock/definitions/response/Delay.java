@@ -1,5 +1,7 @@
 package org.grpcmock.definitions.response;
 
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
@@ -30,7 +32,46 @@ public interface Delay {
   }
 
   /**
-   * Trigger configured delay for the response action.
+   * Random delay sampled from the given {@link LatencyDistribution} using {@link ThreadLocalRandom}.
+   */
+  static Delay fromDistribution(LatencyDistribution distribution) {
+    Objects.requireNonNull(distribution);
+    return () -> Math.max(0, distribution.sampleMillis(ThreadLocalRandom.current()));
+  }
+
+  /**
+   * Random long-tailed delay following a log-normal distribution with the given p50 and p99 in milliseconds.
+   */
+  static Delay logNormalDelay(long p50Milliseconds, long p99Milliseconds) {
+    return fromDistribution(LatencyDistribution.percentiles(p50Milliseconds, p99Milliseconds));
+  }
+
+  /**
+   * Random delay following an exponential distribution with the given mean in milliseconds.
+   */
+  static Delay exponentialDelay(long meanMilliseconds) {
+    return fromDistribution(LatencyDistribution.exponential(meanMilliseconds));
+  }
+
+  /**
+   * Random heavy-tailed delay following a Pareto distribution with the given minimum in milliseconds and shape.
+   */
+  static Delay paretoDelay(long minMilliseconds, double shape) {
+    return fromDistribution(LatencyDistribution.pareto(minMilliseconds, shape));
+  }
+
+  /**
+   * Random delay following an empirical distribution defined by latency in milliseconds keyed by percentile, see
+   * {@link LatencyDistribution#percentileTable(Map)}.
+   */
+  static Delay empiricalDelay(Map<Double, Long> percentiles) {
+    return fromDistribution(LatencyDistribution.percentileTable(percentiles));
+  }
+
+  /**
+   * <p>Trigger configured delay for the response action by blocking the current thread.
+   * <p>Response actions built by gRPC Mock expose their delay via {@link ResponseAction#delayInMilliseconds()} instead,
+   * so that they are scheduled without blocking.
    */
   default void delayAction() {
     try {
@@ -0,0 +1,121 @@
+package org.grpcmock.definitions.response;
+
+import io.grpc.MethodDescriptor.Marshaller;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import org.grpcmock.definitions.response.steps.DynamicResponseBuilder;
+import org.grpcmock.exception.GrpcMockException;
+
+/**
+ * @author Fadelis
+ */
+public class DynamicResponseBuilderImpl<ReqT, RespT> implements DynamicResponseBuilder<ReqT, RespT> {
+
+  private final Function<ReqT, Iterator<RespT>> responseFunction;
+  private Delay delay;
+  private boolean memoized;
+
+  private DynamicResponseBuilderImpl(@Nonnull Function<ReqT, Iterator<RespT>> responseFunction) {
+    this.responseFunction = Objects.requireNonNull(responseFunction);
+  }
+
+  /**
+   * Creates a builder of a response with a single message built from the request.
+   */
+  public static <ReqT, RespT> DynamicResponseBuilderImpl<ReqT, RespT> singleResponse(
+      @Nonnull Function<ReqT, RespT> responseFunction
+  ) {
+    Objects.requireNonNull(responseFunction);
+    return new DynamicResponseBuilderImpl<>(request -> Collections.singletonList(
+        Objects.requireNonNull(responseFunction.apply(request), "Response cannot be null")).iterator());
+  }
+
+  /**
+   * Creates a builder of a stream response with messages built from the request.
+   */
+  public static <ReqT, RespT> DynamicResponseBuilderImpl<ReqT, RespT> streamResponse(
+      @Nonnull Function<ReqT, Stream<RespT>> responseFunction
+  ) {
+    Objects.requireNonNull(responseFunction);
+    return new DynamicResponseBuilderImpl<>(request -> Objects.requireNonNull(
+        responseFunction.apply(request), "Response stream cannot be null").iterator());
+  }
+
+  @Override
+  public DynamicResponseBuilderImpl<ReqT, RespT> withDelay(@Nonnull Delay delay) {
+    this.delay = delay;
+    return this;
+  }
+
+  @Override
+  public DynamicResponseBuilderImpl<ReqT, RespT> memoized() {
+    this.memoized = true;
+    return this;
+  }
+
+  @Override
+  public Response<ReqT, RespT> build(@Nonnull Marshaller<ReqT> requestMarshaller) {
+    Objects.requireNonNull(requestMarshaller);
+    MemoizedResponses<ReqT, RespT> memoizedResponses = memoized
+        ? new MemoizedResponses<>(responseFunction, requestMarshaller)
+        : null;
+    Function<ReqT, Iterator<RespT>> messages = memoizedResponses != null ? memoizedResponses : responseFunction;
+    Delay responseDelay = delay;
+    return ResponseImpl.requestDependent(
+        request -> Collections.singletonList(new LazyResponseAction<>(() -> messages.apply(request), responseDelay)),
+        memoizedResponses == null ? null : memoizedResponses::clear);
+  }
+
+  /**
+   * Responses memoized by the serialized request bytes.
+   */
+  private static final class MemoizedResponses<ReqT, RespT> implements Function<ReqT, Iterator<RespT>> {
+
+    private final Map<ByteBuffer, List<RespT>> responses = new ConcurrentHashMap<>();
+    private final Function<ReqT, Iterator<RespT>> responseFunction;
+    private final Marshaller<ReqT> requestMarshaller;
+
+    private MemoizedResponses(Function<ReqT, Iterator<RespT>> responseFunction, Marshaller<ReqT> requestMarshaller) {
+      this.responseFunction = responseFunction;
+      this.requestMarshaller = requestMarshaller;
+    }
+
+    @Override
+    public Iterator<RespT> apply(ReqT request) {
+      return responses.computeIfAbsent(requestKey(request), key -> {
+        List<RespT> messages = new ArrayList<>();
+        responseFunction.apply(request).forEachRemaining(messages::add);
+        return Collections.unmodifiableList(messages);
+      }).iterator();
+    }
+
+    private void clear() {
+      responses.clear();
+    }
+
+    private ByteBuffer requestKey(ReqT request) {
+      try (InputStream stream = requestMarshaller.stream(request)) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(32, stream.available()));
+        byte[] buffer = new byte[4096];
+        for (int read = stream.read(buffer); read != -1; read = stream.read(buffer)) {
+          output.write(buffer, 0, read);
+        }
+        return ByteBuffer.wrap(output.toByteArray());
+      } catch (IOException e) {
+        throw new GrpcMockException("Failed to serialize request for response memoization", e);
+      }
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package org.grpcmock.definitions.response;
 
 import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
 import java.util.Objects;
 import java.util.Optional;
 import javax.annotation.Nonnull;
@@ -36,9 +37,17 @@ public class ExceptionResponseActionBuilderImpl implements ExceptionResponseActi
 
   @Override
   public <RespT> TerminatingResponseAction<RespT> build() {
-    return responseObserver -> {
-      Optional.ofNullable(delay).ifPresent(Delay::delayAction);
-      responseObserver.onError(exception);
+    Delay actionDelay = delay;
+    return new TerminatingResponseAction<RespT>() {
+      @Override
+      public void execute(@Nonnull StreamObserver<RespT> responseObserver) {
+        responseObserver.onError(exception);
+      }
+
+      @Override
+      public long delayInMilliseconds() {
+        return Optional.ofNullable(actionDelay).map(Delay::inMilliseconds).orElse(0L);
+      }
     };
   }
 }
@@ -0,0 +1,139 @@
+package org.grpcmock.definitions.response;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import org.grpcmock.exception.GrpcMockValidationException;
+
+/**
+ * <p>Probability distribution of latency in milliseconds.
+ * <p>Values are sampled from the given source of randomness, so that sampling can be made deterministic with a seeded
+ * {@link Random}.
+ *
+ * @author Fadelis
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+  /**
+   * Returns a latency value in milliseconds sampled using the given source of randomness.
+   */
+  long sampleMillis(@Nonnull Random random);
+
+  /**
+   * <p>Log-normal latency distribution with the given median (p50) and p99 latency targets.
+   * <p>Log-normal distribution is a common approximation of long-tailed service latency.
+   */
+  static LatencyDistribution percentiles(long p50Milliseconds, long p99Milliseconds) {
+    if (p50Milliseconds <= 0 || p99Milliseconds < p50Milliseconds) {
+      throw new GrpcMockValidationException("Latency percentiles should be positive and p99 should not be lower than p50");
+    }
+    // z-score of the 99th percentile of the standard normal distribution
+    double sigma = (Math.log(p99Milliseconds) - Math.log(p50Milliseconds)) / 2.326_347_874;
+    return logNormal(p50Milliseconds, sigma);
+  }
+
+  /**
+   * Log-normal latency distribution with the given median in milliseconds and standard deviation of the latency
+   * logarithm.
+   */
+  static LatencyDistribution logNormal(double medianMilliseconds, double sigma) {
+    if (medianMilliseconds <= 0 || sigma < 0) {
+      throw new GrpcMockValidationException("Log-normal latency should have a positive median and non-negative sigma");
+    }
+    double mu = Math.log(medianMilliseconds);
+    return random -> Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+  }
+
+  /**
+   * Exponential latency distribution with the given mean in milliseconds, e.g. for time between independent events.
+   */
+  static LatencyDistribution exponential(double meanMilliseconds) {
+    if (meanMilliseconds <= 0) {
+      throw new GrpcMockValidationException("Exponential latency should have a positive mean");
+    }
+    return random -> Math.round(-meanMilliseconds * Math.log(1 - random.nextDouble()));
+  }
+
+  /**
+   * <p>Pareto latency distribution with the given minimum latency in milliseconds and shape.
+   * <p>The lower the shape, the heavier the tail - with shape below 2 the variance is infinite, while with shape below 1
+   * even the mean is infinite.
+   */
+  static LatencyDistribution pareto(double minMilliseconds, double shape) {
+    if (minMilliseconds <= 0 || shape <= 0) {
+      throw new GrpcMockValidationException("Pareto latency should have a positive minimum and shape");
+    }
+    return random -> Math.round(minMilliseconds / Math.pow(1 - random.nextDouble(), 1 / shape));
+  }
+
+  /**
+   * <p>Empirical latency distribution defined by a table of percentiles, e.g. <code>{50.0=20, 90.0=80, 99.9=400}</code>.
+   * <p>Latency is interpolated linearly between the defined percentiles. The 0th percentile is assumed to be 0
+   * milliseconds unless defined, while percentiles above the highest defined one take its latency.
+   *
+   * @param percentiles latency in milliseconds keyed by percentile in range [0, 100].
+   */
+  static LatencyDistribution percentileTable(@Nonnull Map<Double, Long> percentiles) {
+    Objects.requireNonNull(percentiles);
+    if (percentiles.isEmpty()) {
+      throw new GrpcMockValidationException("Latency percentile table should contain at least one percentile");
+    }
+    TreeMap<Double, Long> table = new TreeMap<>();
+    table.put(0.0, 0L);
+    long previousLatency = 0;
+    for (Entry<Double, Long> percentile : new TreeMap<>(percentiles).entrySet()) {
+      double key = Objects.requireNonNull(percentile.getKey());
+      long latency = Objects.requireNonNull(percentile.getValue());
+      if (key < 0 || key > 100 || latency < previousLatency) {
+        throw new GrpcMockValidationException(
+            "Latency percentiles should be in range [0, 100] with non-decreasing non-negative latency");
+      }
+      table.put(key, latency);
+      previousLatency = latency;
+    }
+    return random -> {
+      double percentile = random.nextDouble() * 100;
+      Entry<Double, Long> lower = table.floorEntry(percentile);
+      Entry<Double, Long> upper = table.higherEntry(percentile);
+      if (upper == null) {
+        return lower.getValue();
+      }
+      double fraction = (percentile - lower.getKey()) / (upper.getKey() - lower.getKey());
+      return Math.round(lower.getValue() + fraction * (upper.getValue() - lower.getValue()));
+    };
+  }
+
+  /**
+   * <p>Empirical latency distribution parsed from the percentile distribution output of an HdrHistogram, produced by
+   * <code>outputPercentileDistribution</code> either in plain text or in CSV format.
+   * <p>Rows consist of value, percentile as a fraction in range [0, 1], total count and inverted percentile, while other
+   * lines, like the header and summary lines, are ignored. See {@link #percentileTable(Map)} for interpolation details.
+   *
+   * @param percentileDistribution HdrHistogram percentile distribution output.
+   * @param valueUnitsPerMillisecond number of output value units in one millisecond, e.g. 1000 for microsecond values.
+   */
+  static LatencyDistribution hdrHistogram(@Nonnull String percentileDistribution, double valueUnitsPerMillisecond) {
+    Objects.requireNonNull(percentileDistribution);
+    if (valueUnitsPerMillisecond <= 0) {
+      throw new GrpcMockValidationException("Number of value units per millisecond should be positive");
+    }
+    Map<Double, Long> percentiles = new TreeMap<>();
+    for (String line : percentileDistribution.split("\\R")) {
+      String[] columns = line.trim().split("[\\s,]+");
+      if (columns.length != 4 || !Character.isDigit(columns[0].charAt(0))) {
+        continue;
+      }
+      try {
+        double percentile = Double.parseDouble(columns[1]) * 100;
+        percentiles.put(percentile, Math.round(Double.parseDouble(columns[0]) / valueUnitsPerMillisecond));
+      } catch (NumberFormatException e) {
+        throw new GrpcMockValidationException("Invalid HdrHistogram percentile distribution line: " + line, e);
+      }
+    }
+    return percentileTable(percentiles);
+  }
+}
@@ -0,0 +1,73 @@
+package org.grpcmock.definitions.response;
+
+import io.grpc.stub.StreamObserver;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.grpcmock.exception.GrpcMockException;
+
+/**
+ * <p>Stream {@link ResponseAction}, which produces its response messages lazily from an {@link Iterator}.
+ * <p>Messages are requested from the iterator only when they are about to be sent, so streams of any length can be
+ * responded with constant memory. A new iterator is requested from the supplier for every call.
+ *
+ * @author Fadelis
+ */
+public class LazyResponseAction<RespT> implements ResponseAction<RespT> {
+
+  private final Supplier<Iterator<RespT>> messages;
+  private final Delay delay;
+
+  public LazyResponseAction(@Nonnull Supplier<Iterator<RespT>> messages) {
+    this(messages, null);
+  }
+
+  /**
+   * Creates a lazy response action, where the given delay applies before the first message of the stream.
+   */
+  LazyResponseAction(@Nonnull Supplier<Iterator<RespT>> messages, @Nullable Delay delay) {
+    this.messages = Objects.requireNonNull(messages);
+    this.delay = delay;
+  }
+
+  /**
+   * Returns a lazy response action, which responds with the messages of the given iterator. The iterator can be consumed
+   * only once, so such action cannot be used for more than one call.
+   */
+  public static <RespT> LazyResponseAction<RespT> once(@Nonnull Iterator<RespT> messages) {
+    Objects.requireNonNull(messages);
+    AtomicBoolean consumed = new AtomicBoolean();
+    return new LazyResponseAction<>(() -> {
+      if (consumed.getAndSet(true)) {
+        throw new GrpcMockException("Stream response iterator was already consumed by a previous call, "
+            + "a supplier of iterators should be used for responses to multiple calls");
+      }
+      return messages;
+    });
+  }
+
+  /**
+   * Returns a new iterator over the response messages for a single call.
+   */
+  public Iterator<RespT> messages() {
+    return Objects.requireNonNull(messages.get(), "Stream response iterator cannot be null");
+  }
+
+  @Override
+  public long delayInMilliseconds() {
+    return Optional.ofNullable(delay).map(Delay::inMilliseconds).orElse(0L);
+  }
+
+  /**
+   * Sends all messages of the stream at once. {@link ResponseImpl} sends the messages one by one instead, respecting flow
+   * control and pacing of the stream.
+   */
+  @Override
+  public void execute(@Nonnull StreamObserver<RespT> responseObserver) {
+    messages().forEachRemaining(responseObserver::onNext);
+  }
+}
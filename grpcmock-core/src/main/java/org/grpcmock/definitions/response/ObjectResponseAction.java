@@ -0,0 +1,45 @@
+package org.grpcmock.definitions.response;
+
+import io.grpc.MethodDescriptor.Marshaller;
+import io.grpc.stub.StreamObserver;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Action sending a response object either as is, or as a {@link CachedResponse}, which is understood by the response
+ * marshaller of gRPC Mock stubs.
+ *
+ * @author Fadelis
+ */
+final class ObjectResponseAction<RespT> implements ResponseAction<RespT> {
+
+  private final Object responseMessage;
+  private final Delay delay;
+
+  ObjectResponseAction(@Nonnull Object responseMessage, @Nullable Delay delay) {
+    this.responseMessage = responseMessage;
+    this.delay = delay;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void execute(@Nonnull StreamObserver<RespT> responseObserver) {
+    ((StreamObserver<Object>) responseObserver).onNext(responseMessage);
+  }
+
+  @Override
+  public long delayInMilliseconds() {
+    return Optional.ofNullable(delay).map(Delay::inMilliseconds).orElse(0L);
+  }
+
+  /**
+   * Serializes the cached response, if any, with the given marshaller, so that it is not serialized by the first call.
+   */
+  @SuppressWarnings("unchecked")
+  void preSerialize(@Nonnull Marshaller<RespT> marshaller) {
+    if (responseMessage instanceof CachedResponse) {
+      ((CachedResponse<RespT>) responseMessage).preSerialize(marshaller);
+    }
+  }
+}
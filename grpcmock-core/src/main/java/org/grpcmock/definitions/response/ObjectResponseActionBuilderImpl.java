@@ -1,7 +1,6 @@
 package org.grpcmock.definitions.response;
 
 import java.util.Objects;
-import java.util.Optional;
 import javax.annotation.Nonnull;
 import org.grpcmock.definitions.response.steps.ObjectResponseActionBuilder;
 
@@ -13,6 +12,7 @@ public class ObjectResponseActionBuilderImpl<RespT> implements
 
   private final RespT responseObject;
   private Delay delay;
+  private boolean cached;
 
   public ObjectResponseActionBuilderImpl(@Nonnull RespT responseObject) {
     Objects.requireNonNull(responseObject);
@@ -25,11 +25,14 @@ public class ObjectResponseActionBuilderImpl<RespT> implements
     return this;
   }
 
+  @Override
+  public ObjectResponseActionBuilderImpl<RespT> cached() {
+    this.cached = true;
+    return this;
+  }
+
   @Override
   public ResponseAction<RespT> build() {
-    return responseObserver -> {
-      Optional.ofNullable(delay).ifPresent(Delay::delayAction);
-      responseObserver.onNext(responseObject);
-    };
+    return new ObjectResponseAction<>(cached ? new CachedResponse<>(responseObject) : responseObject, delay);
   }
 }
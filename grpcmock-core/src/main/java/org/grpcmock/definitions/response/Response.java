@@ -1,6 +1,8 @@
 package org.grpcmock.definitions.response;
 
+import io.grpc.MethodDescriptor.Marshaller;
 import io.grpc.stub.StreamObserver;
+import javax.annotation.Nonnull;
 
 /**
  * @author Fadelis
@@ -10,4 +12,18 @@ public interface Response<ReqT, RespT> extends Traceable {
   void execute(ReqT request, StreamObserver<RespT> streamObserver);
 
   StreamObserver<ReqT> execute(StreamObserver<RespT> streamObserver);
+
+  /**
+   * Resets the invocation state of this response, e.g. when the stubs are restored from a snapshot, so that it responds
+   * the same way as a newly built one.
+   */
+  default void reset() {
+  }
+
+  /**
+   * Serializes cached response messages of this response with the given marshaller when the stub is registered, so that
+   * they are not serialized by the first call.
+   */
+  default void preSerialize(@Nonnull Marshaller<RespT> marshaller) {
+  }
 }
@@ -24,4 +24,12 @@ public interface ResponseAction<RespT> {
   default boolean isTerminating() {
     return false;
   }
+
+  /**
+   * <p>Determines the delay in milliseconds before this action is executed. By default there is no delay.
+   * <p>Delayed actions are scheduled without blocking the gRPC executor thread while waiting.
+   */
+  default long delayInMilliseconds() {
+    return 0;
+  }
 }
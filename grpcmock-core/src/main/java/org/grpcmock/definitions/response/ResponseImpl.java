@@ -1,24 +1,81 @@
 package org.grpcmock.definitions.response;
 
+import io.grpc.Context;
+import io.grpc.MethodDescriptor.Marshaller;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.grpcmock.GrpcMock;
+import org.grpcmock.exception.GrpcMockException;
 import org.grpcmock.exception.GrpcMockValidationException;
+import org.grpcmock.util.FlowControlledResponseObserver;
 import org.grpcmock.util.FunctionalResponseObserver;
+import org.grpcmock.util.ResponseScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author Fadelis
  */
 public class ResponseImpl<ReqT, RespT> implements Response<ReqT, RespT> {
 
+  private static final Logger log = LoggerFactory.getLogger(GrpcMock.class);
+
   private final AtomicInteger counter = new AtomicInteger();
   private final List<ResponseAction<RespT>> responseActions;
+  private final Function<ReqT, List<ResponseAction<RespT>>> requestResponseActions;
+  private final StreamPacing<RespT> pacing;
+  private final Runnable resetAction;
 
   public ResponseImpl(@Nonnull List<ResponseAction<RespT>> responseActions) {
+    this(responseActions, null);
+  }
+
+  ResponseImpl(@Nonnull List<ResponseAction<RespT>> responseActions, @Nullable StreamPacing<RespT> pacing) {
+    this(validated(responseActions), null, pacing, null);
+  }
+
+  public ResponseImpl(@Nonnull ResponseAction<RespT> responseAction) {
+    this(Collections.singletonList(responseAction));
+  }
+
+  private ResponseImpl(
+      @Nullable List<ResponseAction<RespT>> responseActions,
+      @Nullable Function<ReqT, List<ResponseAction<RespT>>> requestResponseActions,
+      @Nullable StreamPacing<RespT> pacing,
+      @Nullable Runnable resetAction
+  ) {
+    this.responseActions = responseActions;
+    this.requestResponseActions = requestResponseActions;
+    this.pacing = pacing;
+    this.resetAction = resetAction;
+  }
+
+  /**
+   * Creates a response, actions of which are built for every call based on the received request. Such responses are
+   * supported only for methods receiving a single request. The given reset action, if any, clears the state kept by the
+   * actions function when this response is reset.
+   */
+  static <ReqT, RespT> ResponseImpl<ReqT, RespT> requestDependent(
+      @Nonnull Function<ReqT, List<ResponseAction<RespT>>> requestResponseActions,
+      @Nullable Runnable resetAction
+  ) {
+    return new ResponseImpl<>(null, Objects.requireNonNull(requestResponseActions), null, resetAction);
+  }
+
+  private static <RespT> List<ResponseAction<RespT>> validated(@Nonnull List<ResponseAction<RespT>> responseActions) {
     Objects.requireNonNull(responseActions);
     if (responseActions.isEmpty()) {
       throw new GrpcMockValidationException("Should contain at least one action");
@@ -34,11 +91,7 @@ public class ResponseImpl<ReqT, RespT> implements Response<ReqT, RespT> {
         .anyMatch(ResponseAction::isTerminating)) {
       throw new GrpcMockValidationException("Terminating action should be the last one");
     }
-    this.responseActions = new ArrayList<>(responseActions);
-  }
-
-  public ResponseImpl(@Nonnull ResponseAction<RespT> responseAction) {
-    this(Collections.singletonList(responseAction));
+    return new ArrayList<>(responseActions);
   }
 
   @Override
@@ -46,24 +99,265 @@ public class ResponseImpl<ReqT, RespT> implements Response<ReqT, RespT> {
     return counter.get();
   }
 
+  @Override
+  public void reset() {
+    counter.set(0);
+    if (Objects.nonNull(resetAction)) {
+      resetAction.run();
+    }
+  }
+
+  @Override
+  public void preSerialize(@Nonnull Marshaller<RespT> marshaller) {
+    Objects.requireNonNull(marshaller);
+    if (Objects.nonNull(responseActions)) {
+      responseActions.stream()
+          .filter(ObjectResponseAction.class::isInstance)
+          .forEach(action -> ((ObjectResponseAction<RespT>) action).preSerialize(marshaller));
+    }
+  }
+
   @Override
   public void execute(ReqT request, StreamObserver<RespT> responseObserver) {
     counter.incrementAndGet();
-    executeActions(responseObserver);
+    executeActions(Objects.isNull(requestResponseActions)
+        ? responseActions
+        : requestResponseActions.apply(request), responseObserver);
   }
 
   @Override
   public StreamObserver<ReqT> execute(StreamObserver<RespT> responseObserver) {
+    if (Objects.nonNull(requestResponseActions)) {
+      throw new UnsupportedOperationException("Unsupported stream request call");
+    }
     counter.incrementAndGet();
     return FunctionalResponseObserver.<ReqT>builder()
-        .onCompleted(() -> executeActions(responseObserver))
+        .onCompleted(() -> executeActions(responseActions, responseObserver))
         .build();
   }
 
-  private void executeActions(StreamObserver<RespT> responseObserver) {
-    responseActions.forEach(action -> action.execute(responseObserver));
-    if (!responseActions.get(responseActions.size() - 1).isTerminating()) {
-      responseObserver.onCompleted();
+  private void executeActions(List<ResponseAction<RespT>> actions, StreamObserver<RespT> responseObserver) {
+    new ResponseExecution(actions, responseObserver).drain();
+  }
+
+  private static boolean isCancelled(StreamObserver<?> responseObserver) {
+    return responseObserver instanceof ServerCallStreamObserver
+        && ((ServerCallStreamObserver<?>) responseObserver).isCancelled();
+  }
+
+  private static long serializedSize(StreamObserver<?> responseObserver, Object message) {
+    if (responseObserver instanceof FlowControlledResponseObserver) {
+      return ((FlowControlledResponseObserver<?>) responseObserver).serializedSize(message);
+    }
+    throw new GrpcMockException("Cannot determine the size of response message, "
+        + "a message size function should be provided for bandwidth pacing");
+  }
+
+  /**
+   * <p>Execution of the response actions for a single call.
+   * <p>Delayed and paced actions are scheduled on the {@link ResponseScheduler} instead of blocking the current thread.
+   * The remaining actions are resumed on the executor of the call once the delay elapses.
+   * <p>Stream responses respect gRPC flow control - messages are sent only while the call is ready, otherwise the
+   * execution is suspended and resumed from the on ready handler. This way a slow client does not cause unbounded growth
+   * of the transport's outbound buffer.
+   * <p>The execution can be resumed from the scheduler and from the on ready handler concurrently, so actions are executed
+   * only by a single thread at a time, which entered {@link #drain()} first.
+   */
+  private final class ResponseExecution {
+
+    private final AtomicInteger wip = new AtomicInteger();
+    private final StreamObserver<RespT> responseObserver;
+    private final StreamObserver<RespT> actionObserver;
+    private final ServerCallStreamObserver<RespT> flowControl;
+    private final StreamPacing<RespT>.Pacer pacer;
+    private final Context context = Context.current();
+    private volatile boolean delayElapsed;
+    private volatile boolean finished;
+    // fields below are accessed only by the thread executing the actions
+    private final Iterator<ResponseAction<RespT>> actions;
+    private ResponseAction<RespT> nextAction;
+    private boolean terminated;
+    private boolean waitingForDelay;
+    private boolean readyToExecute;
+
+    private ResponseExecution(List<ResponseAction<RespT>> actions, StreamObserver<RespT> responseObserver) {
+      this.actions = new ResponseActionIterator<>(actions);
+      this.responseObserver = responseObserver;
+      this.pacer = Optional.ofNullable(pacing)
+          .map(streamPacing -> streamPacing.newPacer(message -> serializedSize(responseObserver, message)))
+          .orElse(null);
+      // only server and bidi streaming response observers are flow controlled
+      this.flowControl = responseObserver instanceof FlowControlledResponseObserver
+          ? (ServerCallStreamObserver<RespT>) responseObserver
+          : null;
+      this.actionObserver = pacer != null ? new PacedResponseObserver(responseObserver) : responseObserver;
+      if (flowControl != null) {
+        flowControl.setOnReadyHandler(this::drain);
+      }
+    }
+
+    private void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      do {
+        if (!finished) {
+          try {
+            executeAvailableActions();
+          } catch (RuntimeException e) {
+            finished = true;
+            log.warn("Failed to execute response action", e);
+            responseObserver.onError(Status.UNKNOWN.withCause(e).asRuntimeException());
+          }
+        }
+      } while (wip.decrementAndGet() != 0);
+    }
+
+    private void executeAvailableActions() {
+      while (true) {
+        if (isCancelled(responseObserver)) {
+          finished = true;
+          return;
+        }
+        if (nextAction == null) {
+          if (terminated || !actions.hasNext()) {
+            finished = true;
+            if (!terminated) {
+              responseObserver.onCompleted();
+            }
+            return;
+          }
+          nextAction = actions.next();
+        }
+        if (waitingForDelay) {
+          if (!delayElapsed) {
+            return;
+          }
+          waitingForDelay = false;
+          delayElapsed = false;
+          readyToExecute = true;
+        }
+        ResponseAction<RespT> action = nextAction;
+        if (!readyToExecute) {
+          long delayNanos = TimeUnit.MILLISECONDS.toNanos(action.delayInMilliseconds())
+              + (pacer != null && !action.isTerminating() ? pacer.nanosUntilNextMessage() : 0);
+          if (delayNanos > 0) {
+            waitingForDelay = true;
+            ResponseScheduler.schedule(context.wrap(this::onDelayElapsed), delayNanos, TimeUnit.NANOSECONDS);
+            return;
+          }
+          readyToExecute = true;
+        }
+        if (flowControl != null && !action.isTerminating() && !flowControl.isReady()) {
+          // will be resumed by the on ready handler
+          return;
+        }
+        readyToExecute = false;
+        nextAction = null;
+        terminated = action.isTerminating();
+        action.execute(actionObserver);
+      }
+    }
+
+    private void onDelayElapsed() {
+      delayElapsed = true;
+      drain();
+    }
+
+    /**
+     * Registers sent messages with the pacer.
+     */
+    private final class PacedResponseObserver implements StreamObserver<RespT> {
+
+      private final StreamObserver<RespT> delegate;
+
+      private PacedResponseObserver(StreamObserver<RespT> delegate) {
+        this.delegate = delegate;
+      }
+
+      @Override
+      public void onNext(RespT value) {
+        pacer.onMessage(value);
+        delegate.onNext(value);
+      }
+
+      @Override
+      public void onError(Throwable error) {
+        delegate.onError(error);
+      }
+
+      @Override
+      public void onCompleted() {
+        delegate.onCompleted();
+      }
+    }
+  }
+
+  /**
+   * Iterates over the response actions, expanding messages of {@link LazyResponseAction} into separate actions only
+   * when they are reached.
+   */
+  private static final class ResponseActionIterator<RespT> implements Iterator<ResponseAction<RespT>> {
+
+    private final List<ResponseAction<RespT>> responseActions;
+    private int nextIndex;
+    private Iterator<RespT> lazyMessages = Collections.emptyIterator();
+    private long lazyMessagesDelay;
+
+    private ResponseActionIterator(List<ResponseAction<RespT>> responseActions) {
+      this.responseActions = responseActions;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!lazyMessages.hasNext()) {
+        if (nextIndex == responseActions.size()) {
+          return false;
+        }
+        ResponseAction<RespT> action = responseActions.get(nextIndex);
+        if (!(action instanceof LazyResponseAction)) {
+          return true;
+        }
+        nextIndex++;
+        lazyMessages = ((LazyResponseAction<RespT>) action).messages();
+        lazyMessagesDelay = action.delayInMilliseconds();
+      }
+      return true;
+    }
+
+    @Override
+    public ResponseAction<RespT> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      if (lazyMessages.hasNext()) {
+        // delay of the lazy action applies before its first message
+        long delay = lazyMessagesDelay;
+        lazyMessagesDelay = 0;
+        return new MessageResponseAction<>(lazyMessages.next(), delay);
+      }
+      return responseActions.get(nextIndex++);
+    }
+  }
+
+  private static final class MessageResponseAction<RespT> implements ResponseAction<RespT> {
+
+    private final RespT message;
+    private final long delayInMilliseconds;
+
+    private MessageResponseAction(RespT message, long delayInMilliseconds) {
+      this.message = message;
+      this.delayInMilliseconds = delayInMilliseconds;
+    }
+
+    @Override
+    public void execute(@Nonnull StreamObserver<RespT> responseObserver) {
+      responseObserver.onNext(message);
+    }
+
+    @Override
+    public long delayInMilliseconds() {
+      return delayInMilliseconds;
     }
   }
 }
@@ -50,4 +50,9 @@ public class ResponseProxyImpl<ReqT, RespT> implements Response<ReqT, RespT> {
   public int timesCalled() {
     return counter.get();
   }
+
+  @Override
+  public void reset() {
+    counter.set(0);
+  }
 }
@@ -0,0 +1,86 @@
+package org.grpcmock.definitions.response;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>Defines the pace at which stream response messages are sent, either as a message rate or as a bandwidth in bytes per
+ * second. When both are defined, the slower of them applies.
+ * <p>Pacing does not allow bursts - time spent waiting for the client to become ready does not accumulate into sending
+ * several messages at once.
+ *
+ * @author Fadelis
+ */
+final class StreamPacing<RespT> {
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final long messageIntervalNanos;
+  private final long bytesPerSecond;
+  private final ToLongFunction<RespT> messageSize;
+
+  /**
+   * @param messageSize function determining the size of a message, or <code>null</code> if the serialized size should be
+   * used.
+   */
+  StreamPacing(long messageIntervalNanos, long bytesPerSecond, @Nullable ToLongFunction<RespT> messageSize) {
+    this.messageIntervalNanos = messageIntervalNanos;
+    this.bytesPerSecond = bytesPerSecond;
+    this.messageSize = messageSize;
+  }
+
+  /**
+   * Creates pacing state for a single call, where the given function determines the serialized size of sent messages.
+   */
+  Pacer newPacer(@Nonnull ToLongFunction<Object> serializedSize) {
+    return new Pacer(Objects.requireNonNull(serializedSize));
+  }
+
+  /**
+   * Pacing state of a single call.
+   */
+  final class Pacer {
+
+    private final ToLongFunction<Object> serializedSize;
+    private long nextMessageNanos;
+    private boolean started;
+
+    private Pacer(ToLongFunction<Object> serializedSize) {
+      this.serializedSize = serializedSize;
+    }
+
+    /**
+     * Returns the delay in nanoseconds until the next message can be sent.
+     */
+    long nanosUntilNextMessage() {
+      return started ? Math.max(0, nextMessageNanos - System.nanoTime()) : 0;
+    }
+
+    /**
+     * Registers a sent message.
+     */
+    void onMessage(@Nonnull Object message) {
+      long now = System.nanoTime();
+      long sentAt = started ? Math.max(now, nextMessageNanos) : now;
+      nextMessageNanos = sentAt + messageCostNanos(message);
+      started = true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private long messageCostNanos(Object message) {
+      if (bytesPerSecond <= 0) {
+        return messageIntervalNanos;
+      }
+      long bytes = Objects.isNull(messageSize)
+          ? serializedSize.applyAsLong(message)
+          : messageSize.applyAsLong(message instanceof CachedResponse
+              ? ((CachedResponse<RespT>) message).response()
+              : (RespT) message);
+      long bandwidthNanos = (long) ((double) bytes * NANOS_PER_SECOND / bytesPerSecond);
+      return Math.max(messageIntervalNanos, bandwidthNanos);
+    }
+  }
+}
@@ -3,11 +3,14 @@ package org.grpcmock.definitions.response;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
 import javax.annotation.Nonnull;
 import org.grpcmock.definitions.response.steps.ExceptionResponseActionBuilder;
 import org.grpcmock.definitions.response.steps.ExceptionStreamResponseBuildersStep;
 import org.grpcmock.definitions.response.steps.ObjectResponseActionBuilder;
 import org.grpcmock.definitions.response.steps.ObjectStreamResponseBuilderStep;
+import org.grpcmock.exception.GrpcMockValidationException;
 
 /**
  * @author Fadelis
@@ -17,6 +20,9 @@ public class StreamResponseBuilderImpl<RespT> implements
     ExceptionStreamResponseBuildersStep<RespT> {
 
   private final List<ResponseAction<RespT>> responseActions = new ArrayList<>();
+  private long messageIntervalNanos;
+  private long bytesPerSecond;
+  private ToLongFunction<RespT> messageSize;
 
   public StreamResponseBuilderImpl(@Nonnull List<ResponseAction<RespT>> responseAction) {
     Objects.requireNonNull(responseAction);
@@ -44,8 +50,45 @@ public class StreamResponseBuilderImpl<RespT> implements
     return this;
   }
 
+  @Override
+  public ObjectStreamResponseBuilderStep<RespT> atRate(long messages, @Nonnull TimeUnit per) {
+    Objects.requireNonNull(per);
+    if (messages <= 0) {
+      throw new GrpcMockValidationException("Message rate should be a positive number");
+    }
+    this.messageIntervalNanos = per.toNanos(1) / messages;
+    return this;
+  }
+
+  @Override
+  public ObjectStreamResponseBuilderStep<RespT> withBandwidth(long bytesPerSecond) {
+    if (bytesPerSecond <= 0) {
+      throw new GrpcMockValidationException("Bandwidth should be a positive number");
+    }
+    this.bytesPerSecond = bytesPerSecond;
+    this.messageSize = null;
+    return this;
+  }
+
+  @Override
+  public ObjectStreamResponseBuilderStep<RespT> withBandwidth(
+      long bytesPerSecond,
+      @Nonnull ToLongFunction<RespT> messageSize
+  ) {
+    Objects.requireNonNull(messageSize);
+    withBandwidth(bytesPerSecond);
+    this.messageSize = messageSize;
+    return this;
+  }
+
   @Override
   public <ReqT> Response<ReqT, RespT> build() {
-    return new ResponseImpl<>(responseActions);
+    return new ResponseImpl<>(responseActions, isPaced()
+        ? new StreamPacing<>(messageIntervalNanos, bytesPerSecond, messageSize)
+        : null);
+  }
+
+  private boolean isPaced() {
+    return messageIntervalNanos > 0 || bytesPerSecond > 0;
   }
 }
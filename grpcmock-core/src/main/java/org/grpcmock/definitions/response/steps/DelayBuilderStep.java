@@ -1,9 +1,11 @@
 package org.grpcmock.definitions.response.steps;
 
 import java.time.Duration;
+import java.util.Map;
 import javax.annotation.Nonnull;
 import org.grpcmock.definitions.BuilderStep;
 import org.grpcmock.definitions.response.Delay;
+import org.grpcmock.definitions.response.LatencyDistribution;
 import org.grpcmock.definitions.response.ResponseAction;
 
 /**
@@ -73,4 +75,53 @@ public interface DelayBuilderStep<BUILDER extends BuilderStep> extends BuilderSt
   default BUILDER withRandomDelay(Duration maxDuration) {
     return withRandomDelay(Duration.ZERO, maxDuration);
   }
+
+  /**
+   * Configures a random {@link Delay} sampled from the given {@link LatencyDistribution} for the response action.
+   * <p>Delay for {@link ResponseAction} is additive, meaning that it will trigger after previous
+   * {@link ResponseAction} has finished.
+   */
+  default BUILDER withDelay(@Nonnull LatencyDistribution distribution) {
+    return withDelay(Delay.fromDistribution(distribution));
+  }
+
+  /**
+   * Configures a random long-tailed {@link Delay} following a log-normal distribution with the given p50 and p99 in
+   * milliseconds for the response action.
+   * <p>Delay for {@link ResponseAction} is additive, meaning that it will trigger after previous
+   * {@link ResponseAction} has finished.
+   */
+  default BUILDER withLogNormalDelay(long p50Milliseconds, long p99Milliseconds) {
+    return withDelay(Delay.logNormalDelay(p50Milliseconds, p99Milliseconds));
+  }
+
+  /**
+   * Configures a random {@link Delay} following an exponential distribution with the given mean in milliseconds for the
+   * response action.
+   * <p>Delay for {@link ResponseAction} is additive, meaning that it will trigger after previous
+   * {@link ResponseAction} has finished.
+   */
+  default BUILDER withExponentialDelay(long meanMilliseconds) {
+    return withDelay(Delay.exponentialDelay(meanMilliseconds));
+  }
+
+  /**
+   * Configures a random heavy-tailed {@link Delay} following a Pareto distribution with the given minimum in milliseconds
+   * and shape for the response action.
+   * <p>Delay for {@link ResponseAction} is additive, meaning that it will trigger after previous
+   * {@link ResponseAction} has finished.
+   */
+  default BUILDER withParetoDelay(long minMilliseconds, double shape) {
+    return withDelay(Delay.paretoDelay(minMilliseconds, shape));
+  }
+
+  /**
+   * Configures a random {@link Delay} following an empirical distribution defined by latency in milliseconds keyed by
+   * percentile for the response action, see {@link LatencyDistribution#percentileTable(Map)}.
+   * <p>Delay for {@link ResponseAction} is additive, meaning that it will trigger after previous
+   * {@link ResponseAction} has finished.
+   */
+  default BUILDER withEmpiricalDelay(@Nonnull Map<Double, Long> percentiles) {
+    return withDelay(Delay.empiricalDelay(percentiles));
+  }
 }
@@ -0,0 +1,29 @@
+package org.grpcmock.definitions.response.steps;
+
+import io.grpc.MethodDescriptor.Marshaller;
+import javax.annotation.Nonnull;
+import org.grpcmock.definitions.BuilderStep;
+import org.grpcmock.definitions.response.Response;
+
+/**
+ * Builder for a {@link Response}, which is built based on the received request.
+ *
+ * @author Fadelis
+ */
+public interface DynamicResponseBuilder<ReqT, RespT> extends
+    BuilderStep,
+    DelayBuilderStep<DynamicResponseBuilder<ReqT, RespT>> {
+
+  /**
+   * <p>Memoizes the responses built for each distinct request, so the response function is called only once per
+   * distinct request. Requests are compared by their serialized bytes.
+   * <p>Memoized responses are retained for the lifetime of the stub, so this should be used only when the number of
+   * distinct requests is bounded. Memoized stream responses are fully retained in memory.
+   */
+  DynamicResponseBuilder<ReqT, RespT> memoized();
+
+  /**
+   * Builds the response, where the given marshaller is used to serialize requests for memoization.
+   */
+  Response<ReqT, RespT> build(@Nonnull Marshaller<ReqT> requestMarshaller);
+}
@@ -10,5 +10,12 @@ public interface ObjectResponseActionBuilder<RespT> extends
     BuilderStep,
     DelayBuilderStep<ObjectResponseActionBuilder<RespT>> {
 
+  /**
+   * <p>Configures the response object to be serialized only once and the same serialized bytes to be sent for every call.
+   * <p>Useful for large fixed responses, as serialization can dominate the mock server's CPU usage. The response object must
+   * not be modified after the stub is registered.
+   */
+  ObjectResponseActionBuilder<RespT> cached();
+
   ResponseAction<RespT> build();
 }
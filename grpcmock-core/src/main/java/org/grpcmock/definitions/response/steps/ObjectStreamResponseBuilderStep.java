@@ -1,6 +1,8 @@
 package org.grpcmock.definitions.response.steps;
 
 import io.grpc.Status;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
 import javax.annotation.Nonnull;
 import org.grpcmock.GrpcMock;
 import org.grpcmock.definitions.BuilderStep;
@@ -26,6 +28,25 @@ public interface ObjectStreamResponseBuilderStep<RespT> extends
   ExceptionStreamResponseBuildersStep<RespT> and(
       @Nonnull ExceptionResponseActionBuilder responseAction);
 
+  /**
+   * <p>Paces the stream response to send at most the given number of messages per given time unit, e.g.
+   * <code>atRate(100, TimeUnit.SECONDS)</code>.
+   * <p>Paced messages are scheduled without blocking gRPC executor threads and are sent only when the call is ready
+   * according to gRPC flow control.
+   */
+  ObjectStreamResponseBuilderStep<RespT> atRate(long messages, @Nonnull TimeUnit per);
+
+  /**
+   * Paces the stream response to send at most the given number of serialized message bytes per second.
+   */
+  ObjectStreamResponseBuilderStep<RespT> withBandwidth(long bytesPerSecond);
+
+  /**
+   * Paces the stream response to send at most the given number of message bytes per second, where the size of each
+   * message is determined by the given function.
+   */
+  ObjectStreamResponseBuilderStep<RespT> withBandwidth(long bytesPerSecond, @Nonnull ToLongFunction<RespT> messageSize);
+
   /**
    * Defines the next {@link ResponseAction} in the stream response.
    */
@@ -13,6 +13,7 @@ import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import org.grpcmock.definitions.response.Response;
 import org.grpcmock.definitions.response.ResponseProxyImpl;
+import org.grpcmock.definitions.stub.steps.FaultProfileBuilder;
 import org.grpcmock.definitions.stub.steps.BidiStreamingMethodStubBuilderStep;
 import org.grpcmock.definitions.stub.steps.NextBidiStreamingMethodStubBuilderStep;
 import org.grpcmock.definitions.verification.RequestPatternBuilderImpl;
@@ -28,6 +29,10 @@ public final class BidiStreamingMethodStubBuilderImpl<ReqT, RespT> implements
   private final MethodDescriptor<ReqT, RespT> method;
   private final List<Response<ReqT, RespT>> responses;
   private final RequestPatternBuilderImpl<ReqT> requestPatternBuilder;
+  private String scenarioName;
+  private String requiredScenarioState;
+  private String newScenarioState;
+  private FaultProfile faultProfile;
 
   public BidiStreamingMethodStubBuilderImpl(@Nonnull MethodDescriptor<ReqT, RespT> method) {
     Objects.requireNonNull(method);
@@ -39,6 +44,31 @@ public final class BidiStreamingMethodStubBuilderImpl<ReqT, RespT> implements
     this.requestPatternBuilder = new RequestPatternBuilderImpl<>(method);
   }
 
+  @Override
+  public BidiStreamingMethodStubBuilderStep<ReqT, RespT> inScenario(@Nonnull String scenarioName) {
+    this.scenarioName = Objects.requireNonNull(scenarioName);
+    return this;
+  }
+
+  @Override
+  public BidiStreamingMethodStubBuilderStep<ReqT, RespT> whenScenarioStateIs(@Nonnull String state) {
+    this.requiredScenarioState = Objects.requireNonNull(state);
+    return this;
+  }
+
+  @Override
+  public BidiStreamingMethodStubBuilderStep<ReqT, RespT> willSetStateTo(@Nonnull String state) {
+    this.newScenarioState = Objects.requireNonNull(state);
+    return this;
+  }
+
+  @Override
+  public BidiStreamingMethodStubBuilderStep<ReqT, RespT> withFaults(@Nonnull FaultProfileBuilder faults) {
+    Objects.requireNonNull(faults);
+    this.faultProfile = faults.build();
+    return this;
+  }
+
   @Override
   public <T> BidiStreamingMethodStubBuilderStep<ReqT, RespT> withHeader(
       @Nonnull Metadata.Key<T> headerKey,
@@ -75,7 +105,11 @@ public final class BidiStreamingMethodStubBuilderImpl<ReqT, RespT> implements
   public MethodStub<ReqT, RespT> build() {
     return new MethodStub<>(
         method,
-        Collections.singletonList(new StubScenario<>(requestPatternBuilder.build(), responses))
+        Collections.singletonList(new StubScenario<>(
+            requestPatternBuilder.build(),
+            responses,
+            ScenarioTransition.of(scenarioName, requiredScenarioState, newScenarioState),
+            faultProfile))
     );
   }
 }
@@ -0,0 +1,164 @@
+package org.grpcmock.definitions.stub;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>Immutable hash trie of scenario buckets keyed by an exact request or header value.
+ * <p>Adding a bucket copies only the trie nodes on the path to its key, while all other nodes and buckets are shared with
+ * the previous trie. This way registering thousands of scenarios one by one does not copy the buckets of all the other
+ * keys on every registration.
+ *
+ * @author Fadelis
+ */
+final class BucketTrie<V> {
+
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+  private static final BucketTrie<?> EMPTY = new BucketTrie<>(new Object[WIDTH], 0);
+
+  // each slot of a node is either empty, a nested node or a leaf
+  private final Object[] root;
+  private final int size;
+
+  private BucketTrie(Object[] root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  @SuppressWarnings("unchecked")
+  static <V> BucketTrie<V> empty() {
+    return (BucketTrie<V>) EMPTY;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  V get(@Nonnull Object key) {
+    int hash = key.hashCode();
+    Object[] node = root;
+    for (int shift = 0; ; shift += BITS) {
+      Object slot = node[(hash >>> shift) & MASK];
+      if (slot == null) {
+        return null;
+      }
+      if (slot instanceof Leaf) {
+        return ((Leaf<V>) slot).get(hash, key);
+      }
+      node = (Object[]) slot;
+    }
+  }
+
+  /**
+   * Returns a trie with the given bucket put under the given key.
+   */
+  BucketTrie<V> with(@Nonnull Object key, @Nonnull V bucket) {
+    Objects.requireNonNull(bucket);
+    int newSize = get(key) == null ? size + 1 : size;
+    return new BucketTrie<>(with(root, 0, new Leaf<>(key.hashCode(), new Object[]{key}, new Object[]{bucket})), newSize);
+  }
+
+  private static Object[] with(Object[] node, int shift, Leaf<?> leaf) {
+    Object[] result = node.clone();
+    int index = (leaf.hash >>> shift) & MASK;
+    Object slot = node[index];
+    if (slot == null) {
+      result[index] = leaf;
+    } else if (slot instanceof Leaf) {
+      Leaf<?> existing = (Leaf<?>) slot;
+      result[index] = existing.hash == leaf.hash ? existing.with(leaf) : split(existing, leaf, shift + BITS);
+    } else {
+      result[index] = with((Object[]) slot, shift + BITS, leaf);
+    }
+    return result;
+  }
+
+  /**
+   * Creates a node with leaves of different hashes, which are equal up to the given shift. Hashes differ at latest in the
+   * last 2 bits, so nodes are never nested deeper than the hash length.
+   */
+  private static Object[] split(Leaf<?> first, Leaf<?> second, int shift) {
+    Object[] node = new Object[WIDTH];
+    int firstIndex = (first.hash >>> shift) & MASK;
+    int secondIndex = (second.hash >>> shift) & MASK;
+    if (firstIndex == secondIndex) {
+      node[firstIndex] = split(first, second, shift + BITS);
+    } else {
+      node[firstIndex] = first;
+      node[secondIndex] = second;
+    }
+    return node;
+  }
+
+  void forEach(@Nonnull Consumer<V> action) {
+    forEach(root, action);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> void forEach(Object[] node, Consumer<V> action) {
+    for (Object slot : node) {
+      if (slot instanceof Leaf) {
+        for (Object bucket : ((Leaf<?>) slot).buckets) {
+          action.accept((V) bucket);
+        }
+      } else if (slot != null) {
+        forEach((Object[]) slot, action);
+      }
+    }
+  }
+
+  /**
+   * Buckets of keys with the same hash.
+   */
+  private static final class Leaf<V> {
+
+    private final int hash;
+    private final Object[] keys;
+    private final Object[] buckets;
+
+    private Leaf(int hash, Object[] keys, Object[] buckets) {
+      this.hash = hash;
+      this.keys = keys;
+      this.buckets = buckets;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private V get(int hash, Object key) {
+      if (this.hash == hash) {
+        for (int i = 0; i < keys.length; i++) {
+          if (keys[i].equals(key)) {
+            return (V) buckets[i];
+          }
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Returns a leaf with the single bucket of the given leaf, which replaces the bucket of the same key if present.
+     */
+    private Leaf<V> with(Leaf<?> leaf) {
+      Object key = leaf.keys[0];
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i].equals(key)) {
+          Object[] newBuckets = buckets.clone();
+          newBuckets[i] = leaf.buckets[0];
+          return new Leaf<>(hash, keys, newBuckets);
+        }
+      }
+      Object[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+      Object[] newBuckets = Arrays.copyOf(buckets, buckets.length + 1);
+      newKeys[keys.length] = key;
+      newBuckets[buckets.length] = leaf.buckets[0];
+      return new Leaf<>(hash, newKeys, newBuckets);
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package org.grpcmock.definitions.stub;
+
+import io.grpc.MethodDescriptor.Marshaller;
+import java.io.InputStream;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import org.grpcmock.definitions.response.CachedResponse;
+
+/**
+ * Response marshaller, which sends pre-serialized bytes of {@link CachedResponse} and delegates all other responses to the
+ * method's response marshaller.
+ *
+ * @author Fadelis
+ */
+final class CachedResponseMarshaller<RespT> implements Marshaller<Object> {
+
+  private final Marshaller<RespT> delegate;
+
+  CachedResponseMarshaller(@Nonnull Marshaller<RespT> delegate) {
+    this.delegate = Objects.requireNonNull(delegate);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public InputStream stream(Object value) {
+    if (value instanceof CachedResponse) {
+      return ((CachedResponse<RespT>) value).stream(delegate);
+    }
+    return delegate.stream((RespT) value);
+  }
+
+  @Override
+  public Object parse(InputStream stream) {
+    return delegate.parse(stream);
+  }
+}
@@ -15,6 +15,7 @@ import org.grpcmock.definitions.response.ResponseImpl;
 import org.grpcmock.definitions.response.ResponseProxyImpl;
 import org.grpcmock.definitions.response.steps.ExceptionResponseActionBuilder;
 import org.grpcmock.definitions.response.steps.ObjectResponseActionBuilder;
+import org.grpcmock.definitions.stub.steps.FaultProfileBuilder;
 import org.grpcmock.definitions.stub.steps.ClientStreamingMethodStubBuilderStep;
 import org.grpcmock.definitions.stub.steps.NextClientStreamingMethodResponseBuilderStep;
 import org.grpcmock.definitions.verification.RequestPatternBuilderImpl;
@@ -30,6 +31,10 @@ public final class ClientStreamingMethodStubBuilderImpl<ReqT, RespT> implements
   private final MethodDescriptor<ReqT, RespT> method;
   private final List<Response<ReqT, RespT>> responses;
   private final RequestPatternBuilderImpl<ReqT> requestPatternBuilder;
+  private String scenarioName;
+  private String requiredScenarioState;
+  private String newScenarioState;
+  private FaultProfile faultProfile;
 
   public ClientStreamingMethodStubBuilderImpl(@Nonnull MethodDescriptor<ReqT, RespT> method) {
     Objects.requireNonNull(method);
@@ -41,6 +46,31 @@ public final class ClientStreamingMethodStubBuilderImpl<ReqT, RespT> implements
     this.requestPatternBuilder = new RequestPatternBuilderImpl<>(method);
   }
 
+  @Override
+  public ClientStreamingMethodStubBuilderStep<ReqT, RespT> inScenario(@Nonnull String scenarioName) {
+    this.scenarioName = Objects.requireNonNull(scenarioName);
+    return this;
+  }
+
+  @Override
+  public ClientStreamingMethodStubBuilderStep<ReqT, RespT> whenScenarioStateIs(@Nonnull String state) {
+    this.requiredScenarioState = Objects.requireNonNull(state);
+    return this;
+  }
+
+  @Override
+  public ClientStreamingMethodStubBuilderStep<ReqT, RespT> willSetStateTo(@Nonnull String state) {
+    this.newScenarioState = Objects.requireNonNull(state);
+    return this;
+  }
+
+  @Override
+  public ClientStreamingMethodStubBuilderStep<ReqT, RespT> withFaults(@Nonnull FaultProfileBuilder faults) {
+    Objects.requireNonNull(faults);
+    this.faultProfile = faults.build();
+    return this;
+  }
+
   @Override
   public <T> ClientStreamingMethodStubBuilderStep<ReqT, RespT> withHeader(
       @Nonnull Metadata.Key<T> headerKey,
@@ -109,7 +139,11 @@ public final class ClientStreamingMethodStubBuilderImpl<ReqT, RespT> implements
   public MethodStub<ReqT, RespT> build() {
     return new MethodStub<>(
         method,
-        Collections.singletonList(new StubScenario<>(requestPatternBuilder.build(), responses))
+        Collections.singletonList(new StubScenario<>(
+            requestPatternBuilder.build(),
+            responses,
+            ScenarioTransition.of(scenarioName, requiredScenarioState, newScenarioState),
+            faultProfile))
     );
   }
 }
@@ -0,0 +1,138 @@
+package org.grpcmock.definitions.stub;
+
+import io.grpc.Status;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.grpcmock.definitions.response.LatencyDistribution;
+
+/**
+ * <p>Probabilistic faults injected into calls of a stub: error statuses returned instead of the stub response, added
+ * latency and streams dropped mid-way.
+ * <p>Without a seed faults are sampled from {@link ThreadLocalRandom}. With a seed every call gets its own source of
+ * randomness derived from the seed and the sequence number of the call, so the same sequence of calls is affected by
+ * the same faults regardless of the threads handling them.
+ *
+ * @author Fadelis
+ */
+public final class FaultProfile {
+
+  private static final long SEQUENCE_INCREMENT = 0x9E37_79B9_7F4A_7C15L;
+
+  private final List<StatusFault> statusFaults;
+  private final LatencyDistribution latency;
+  private final double streamDropProbability;
+  private final long streamDropAfterMessages;
+  private final Long seed;
+  private final AtomicLong callSequence = new AtomicLong();
+
+  FaultProfile(
+      @Nonnull Map<Status, Double> statusFaults,
+      @Nullable LatencyDistribution latency,
+      double streamDropProbability,
+      long streamDropAfterMessages,
+      @Nullable Long seed
+  ) {
+    Objects.requireNonNull(statusFaults);
+    this.statusFaults = new ArrayList<>();
+    statusFaults.forEach((status, probability) -> this.statusFaults.add(new StatusFault(status, probability)));
+    this.latency = latency;
+    this.streamDropProbability = streamDropProbability;
+    this.streamDropAfterMessages = streamDropAfterMessages;
+    this.seed = seed;
+  }
+
+  /**
+   * Restarts the sequence of calls, so that a seeded profile injects the same faults again.
+   */
+  void reset() {
+    callSequence.set(0);
+  }
+
+  /**
+   * Samples the faults for the next call.
+   */
+  InjectedFault nextFault() {
+    Random random = Objects.isNull(seed)
+        ? ThreadLocalRandom.current()
+        : new Random(mix(seed + callSequence.getAndIncrement() * SEQUENCE_INCREMENT));
+    return new InjectedFault(
+        sampleStatus(random),
+        Objects.isNull(latency) ? 0 : Math.max(0, latency.sampleMillis(random)),
+        random.nextDouble() < streamDropProbability ? streamDropAfterMessages : -1);
+  }
+
+  private Status sampleStatus(Random random) {
+    double sample = random.nextDouble();
+    double cumulativeProbability = 0;
+    for (StatusFault statusFault : statusFaults) {
+      cumulativeProbability += statusFault.probability;
+      if (sample < cumulativeProbability) {
+        return statusFault.status;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * SplitMix64 finalizer, so that seeds of consecutive calls produce unrelated random sequences.
+   */
+  private static long mix(long value) {
+    long z = (value ^ (value >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+    return z ^ (z >>> 31);
+  }
+
+  private static final class StatusFault {
+
+    private final Status status;
+    private final double probability;
+
+    private StatusFault(Status status, double probability) {
+      this.status = status;
+      this.probability = probability;
+    }
+  }
+
+  /**
+   * Faults sampled for a single call.
+   */
+  static final class InjectedFault {
+
+    private final Status status;
+    private final long latencyMillis;
+    private final long dropAfterMessages;
+
+    private InjectedFault(@Nullable Status status, long latencyMillis, long dropAfterMessages) {
+      this.status = status;
+      this.latencyMillis = latencyMillis;
+      this.dropAfterMessages = dropAfterMessages;
+    }
+
+    /**
+     * Returns the status the call should fail with, or <code>null</code> if the stub response should be returned.
+     */
+    @Nullable
+    Status status() {
+      return status;
+    }
+
+    long latencyMillis() {
+      return latencyMillis;
+    }
+
+    /**
+     * Returns the number of response messages after which the stream should be dropped, or a negative value if the stream
+     * should not be dropped.
+     */
+    long dropAfterMessages() {
+      return dropAfterMessages;
+    }
+  }
+}
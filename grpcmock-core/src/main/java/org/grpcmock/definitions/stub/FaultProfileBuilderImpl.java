@@ -0,0 +1,71 @@
+package org.grpcmock.definitions.stub;
+
+import io.grpc.Status;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import org.grpcmock.definitions.response.LatencyDistribution;
+import org.grpcmock.definitions.stub.steps.FaultProfileBuilder;
+import org.grpcmock.exception.GrpcMockValidationException;
+
+/**
+ * @author Fadelis
+ */
+public final class FaultProfileBuilderImpl implements FaultProfileBuilder {
+
+  private final Map<Status, Double> statusFaults = new LinkedHashMap<>();
+  private LatencyDistribution latency;
+  private double streamDropProbability;
+  private long streamDropAfterMessages;
+  private Long seed;
+
+  @Override
+  public FaultProfileBuilder withStatus(@Nonnull Status status, double probability) {
+    Objects.requireNonNull(status);
+    if (status.isOk()) {
+      throw new GrpcMockValidationException("OK is not a valid fault status");
+    }
+    validateProbability(probability);
+    double totalProbability = statusFaults.values().stream().mapToDouble(Double::doubleValue).sum() + probability;
+    if (totalProbability > 1) {
+      throw new GrpcMockValidationException("Probabilities of fault statuses should not add up to more than 1");
+    }
+    this.statusFaults.put(status, probability);
+    return this;
+  }
+
+  @Override
+  public FaultProfileBuilder withLatency(@Nonnull LatencyDistribution latency) {
+    this.latency = Objects.requireNonNull(latency);
+    return this;
+  }
+
+  @Override
+  public FaultProfileBuilder withDroppedStream(double probability, long afterMessages) {
+    validateProbability(probability);
+    if (afterMessages < 0) {
+      throw new GrpcMockValidationException("Stream can be dropped only after a non-negative number of messages");
+    }
+    this.streamDropProbability = probability;
+    this.streamDropAfterMessages = afterMessages;
+    return this;
+  }
+
+  @Override
+  public FaultProfileBuilder withSeed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  @Override
+  public FaultProfile build() {
+    return new FaultProfile(statusFaults, latency, streamDropProbability, streamDropAfterMessages, seed);
+  }
+
+  private static void validateProbability(double probability) {
+    if (probability < 0 || probability > 1) {
+      throw new GrpcMockValidationException("Fault probability should be in range [0, 1]");
+    }
+  }
+}
@@ -1,8 +1,7 @@
 package org.grpcmock.definitions.stub;
 
-import static org.grpcmock.util.FunctionalHelpers.reverseStream;
-
 import io.grpc.MethodDescriptor;
+import io.grpc.MethodDescriptor.Marshaller;
 import io.grpc.ServerCallHandler;
 import io.grpc.ServerMethodDefinition;
 import io.grpc.StatusRuntimeException;
@@ -13,27 +12,55 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import javax.annotation.Nonnull;
+import org.grpcmock.definitions.response.CachedResponse;
 import org.grpcmock.exception.GrpcMockException;
 import org.grpcmock.exception.UnimplementedStatusException;
+import org.grpcmock.interceptors.CapturedRequest;
 import org.grpcmock.interceptors.RequestCaptureInterceptor;
+import org.grpcmock.metrics.GrpcMockMetrics;
+import org.grpcmock.util.FlowControlledResponseObserver;
 
 /**
+ * <p>Immutable stub of a single gRPC method.
+ * <p>Registered scenarios are published together with their lookup index and are never modified, so incoming calls look
+ * up scenarios without any locking. Appending scenarios or binding the stub to scenario states returns a new method stub.
+ *
  * @author Fadelis
  */
 public final class MethodStub<ReqT, RespT> {
 
   private final MethodDescriptor<ReqT, RespT> method;
-  private final List<StubScenario<ReqT, RespT>> stubScenarios;
+  private final StubScenarioIndex<ReqT, RespT> stubScenarioIndex;
+  private final ScenarioStates scenarioStates;
+  private final Marshaller<Object> responseMarshaller;
+  private final ServerMethodDefinition<ReqT, Object> serverMethodDefinition;
 
   MethodStub(
       @Nonnull MethodDescriptor<ReqT, RespT> method,
       @Nonnull List<StubScenario<ReqT, RespT>> stubScenarios
+  ) {
+    this(method, StubScenarioIndex.of(stubScenarios), new ScenarioStates());
+    // cached responses of newly built scenarios are serialized at registration instead of the first call,
+    // method stubs derived from this one share the same already serialized scenarios
+    stubScenarios.forEach(stubScenario -> stubScenario.preSerialize(method.getResponseMarshaller()));
+  }
+
+  private MethodStub(
+      @Nonnull MethodDescriptor<ReqT, RespT> method,
+      @Nonnull StubScenarioIndex<ReqT, RespT> stubScenarioIndex,
+      @Nonnull ScenarioStates scenarioStates
   ) {
     Objects.requireNonNull(method);
-    Objects.requireNonNull(stubScenarios);
     Objects.requireNonNull(method.getServiceName());
     this.method = method;
-    this.stubScenarios = new ArrayList<>(stubScenarios);
+    this.stubScenarioIndex = Objects.requireNonNull(stubScenarioIndex);
+    this.scenarioStates = Objects.requireNonNull(scenarioStates);
+    this.responseMarshaller = new CachedResponseMarshaller<>(method.getResponseMarshaller());
+    // handler only references this immutable method stub, so calls already started with it
+    // are not affected by scenarios appended later into a new method stub
+    this.serverMethodDefinition = ServerMethodDefinition.create(
+        method.toBuilder(method.getRequestMarshaller(), responseMarshaller).build(),
+        cachedResponseCallHandler());
   }
 
   public String serviceName() {
@@ -44,17 +71,48 @@ public final class MethodStub<ReqT, RespT> {
     return this.method.getFullMethodName();
   }
 
-  ServerMethodDefinition<ReqT, RespT> serverMethodDefinition() {
-    return ServerMethodDefinition.create(method, serverCallHandler());
+  ServerMethodDefinition<ReqT, Object> serverMethodDefinition() {
+    return serverMethodDefinition;
   }
 
-  MethodStub<ReqT, RespT> registerScenarios(@Nonnull MethodStub<ReqT, RespT> methodStub) {
+  /**
+   * Returns a method stub with the same scenarios bound to the scenario states of the gRPC Mock instance it is registered
+   * to. The scenario lookup index is shared with this method stub.
+   */
+  MethodStub<ReqT, RespT> withScenarioStates(@Nonnull ScenarioStates scenarioStates) {
+    Objects.requireNonNull(scenarioStates);
+    return new MethodStub<>(method, stubScenarioIndex, scenarioStates);
+  }
+
+  /**
+   * Returns a new method stub with scenarios of the given method stub appended to the scenarios of this one. This method
+   * stub is left unchanged, so that calls and snapshots already referencing it are not affected. Only the appended
+   * scenarios are indexed, the rest of the lookup index is shared with this method stub.
+   */
+  MethodStub<ReqT, RespT> withScenarios(@Nonnull MethodStub<ReqT, RespT> methodStub) {
     Objects.requireNonNull(methodStub);
     if (!method.getFullMethodName().equals(methodStub.fullMethodName())) {
       throw new GrpcMockException("Cannot register stub scenarios for a different method");
     }
-    this.stubScenarios.addAll(methodStub.stubScenarios);
-    return this;
+    StubScenarioIndex<ReqT, RespT> appendedIndex = stubScenarioIndex
+        .with(methodStub.stubScenarioIndex.scenarios(), stubScenarioIndex.size());
+    return new MethodStub<>(method, appendedIndex, scenarioStates);
+  }
+
+  /**
+   * Resets responses and injected faults of all scenarios of this method stub to the state before the first call.
+   */
+  void reset() {
+    stubScenarioIndex.scenarios().forEach(StubScenario::reset);
+  }
+
+  /**
+   * Call handler for the method with {@link CachedResponseMarshaller}, response observers of which also accept
+   * {@link CachedResponse} objects in addition to response objects.
+   */
+  @SuppressWarnings("unchecked")
+  private ServerCallHandler<ReqT, Object> cachedResponseCallHandler() {
+    return (ServerCallHandler<ReqT, Object>) (ServerCallHandler<ReqT, ?>) serverCallHandler();
   }
 
   private ServerCallHandler<ReqT, RespT> serverCallHandler() {
@@ -62,11 +120,13 @@ public final class MethodStub<ReqT, RespT> {
       case UNARY:
         return ServerCalls.asyncUnaryCall(this::singleRequestCall);
       case SERVER_STREAMING:
-        return ServerCalls.asyncServerStreamingCall(this::singleRequestCall);
+        return ServerCalls.asyncServerStreamingCall((request, responseObserver) ->
+            singleRequestCall(request, FlowControlledResponseObserver.wrap(responseObserver, responseMarshaller)));
       case CLIENT_STREAMING:
         return ServerCalls.asyncClientStreamingCall(this::streamRequestCall);
       case BIDI_STREAMING:
-        return ServerCalls.asyncBidiStreamingCall(this::streamRequestCall);
+        return ServerCalls.asyncBidiStreamingCall(responseObserver ->
+            streamRequestCall(FlowControlledResponseObserver.wrap(responseObserver, responseMarshaller)));
       default:
         throw new GrpcMockException("Unsupported method type: " + method.getType());
     }
@@ -90,9 +150,30 @@ public final class MethodStub<ReqT, RespT> {
   }
 
   private Optional<StubScenario<ReqT, RespT>> findStub() {
-    return reverseStream(stubScenarios)
-        .filter(scenario -> scenario.matches(RequestCaptureInterceptor.getCapturedRequest()))
-        .findFirst();
+    return findAndRecordStub(RequestCaptureInterceptor.getCapturedRequest());
+  }
+
+  private Optional<StubScenario<ReqT, RespT>> findStub(List<ReqT> streamRequests) {
+    // captured request might not retain all stream requests because of the capture policy,
+    // so stubs are matched against all requests received in this call
+    CapturedRequest<ReqT> capturedRequest = RequestCaptureInterceptor.getCapturedRequest();
+    return findAndRecordStub(capturedRequest.withRequests(method, streamRequests));
+  }
+
+  private Optional<StubScenario<ReqT, RespT>> findAndRecordStub(CapturedRequest<ReqT> capturedRequest) {
+    Optional<StubScenario<ReqT, RespT>> stub = findStub(capturedRequest);
+    stub.map(StubScenario::scenarioName).ifPresent(GrpcMockMetrics::recordStubScenario);
+    return stub;
+  }
+
+  Optional<StubScenario<ReqT, RespT>> findStub(@Nonnull CapturedRequest<ReqT> capturedRequest) {
+    while (true) {
+      Optional<StubScenario<ReqT, RespT>> found = stubScenarioIndex.find(capturedRequest, scenarioStates);
+      if (!found.isPresent() || found.get().applyScenarioTransition(scenarioStates)) {
+        return found;
+      }
+      // scenario state was changed by a concurrent call, so the stub is looked up again for the new state
+    }
   }
 
   private StatusRuntimeException stubNotFoundException() {
@@ -102,6 +183,9 @@ public final class MethodStub<ReqT, RespT> {
   private class WrappedRequestStreamObserver implements StreamObserver<ReqT> {
 
     private final StreamObserver<RespT> responseObserver;
+    // requests received until a matching stub is found, captured requests
+    // cannot be used for this as the capture policy might not retain all of them
+    private final List<ReqT> pendingRequests = new ArrayList<>();
     private StreamObserver<ReqT> delegate;
 
     private WrappedRequestStreamObserver(StreamObserver<RespT> responseObserver) {
@@ -113,11 +197,12 @@ public final class MethodStub<ReqT, RespT> {
       if (Objects.nonNull(delegate)) {
         delegate.onNext(request);
       } else {
-        findStub().ifPresent(stub -> {
+        pendingRequests.add(request);
+        findStub(pendingRequests).ifPresent(stub -> {
           delegate = stub.call(responseObserver);
           // pass all previous requests to the found delegate
-          RequestCaptureInterceptor.<ReqT>getCapturedRequest().requests()
-              .forEach(delegate::onNext);
+          pendingRequests.forEach(delegate::onNext);
+          pendingRequests.clear();
         });
       }
     }
@@ -0,0 +1,73 @@
+package org.grpcmock.definitions.stub;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>Current states of named stub scenarios, shared by all method stubs of a gRPC Mock instance.
+ * <p>Every scenario starts in {@link #STARTED} state. State transitions are atomic compare-and-set operations, so under
+ * concurrent calls only a single call can move a scenario out of a given state.
+ *
+ * @author Fadelis
+ */
+public final class ScenarioStates {
+
+  /**
+   * Initial state of every scenario.
+   */
+  public static final String STARTED = "Started";
+
+  private final Map<String, AtomicReference<String>> states = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the current state of the given scenario.
+   */
+  public String state(@Nonnull String scenarioName) {
+    Objects.requireNonNull(scenarioName);
+    AtomicReference<String> state = states.get(scenarioName);
+    return state == null ? STARTED : state.get();
+  }
+
+  /**
+   * Sets the state of the given scenario regardless of its current state.
+   */
+  public void setState(@Nonnull String scenarioName, @Nonnull String state) {
+    Objects.requireNonNull(state);
+    stateOf(scenarioName).set(state);
+  }
+
+  /**
+   * Atomically moves the given scenario to a new state if it is currently in the expected state.
+   *
+   * @return <code>true</code> if the transition was successful.
+   */
+  public boolean transition(@Nonnull String scenarioName, @Nonnull String expectedState, @Nonnull String newState) {
+    Objects.requireNonNull(expectedState);
+    Objects.requireNonNull(newState);
+    AtomicReference<String> state = stateOf(scenarioName);
+    while (true) {
+      String current = state.get();
+      if (!current.equals(expectedState)) {
+        return false;
+      }
+      if (state.compareAndSet(current, newState)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Resets all scenarios to {@link #STARTED} state.
+   */
+  public void reset() {
+    states.clear();
+  }
+
+  private AtomicReference<String> stateOf(@Nonnull String scenarioName) {
+    Objects.requireNonNull(scenarioName);
+    return states.computeIfAbsent(scenarioName, key -> new AtomicReference<>(STARTED));
+  }
+}
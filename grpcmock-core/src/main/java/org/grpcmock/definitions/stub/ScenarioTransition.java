@@ -0,0 +1,67 @@
+package org.grpcmock.definitions.stub;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.grpcmock.exception.GrpcMockValidationException;
+
+/**
+ * Scenario state condition of a {@link StubScenario} together with the state the scenario is moved to when the stub is
+ * triggered.
+ *
+ * @author Fadelis
+ */
+final class ScenarioTransition {
+
+  private final String scenarioName;
+  private final String requiredState;
+  private final String newState;
+
+  private ScenarioTransition(@Nonnull String scenarioName, @Nullable String requiredState, @Nullable String newState) {
+    this.scenarioName = Objects.requireNonNull(scenarioName);
+    this.requiredState = requiredState;
+    this.newState = newState;
+  }
+
+  /**
+   * Returns a scenario transition for the given builder values, or <code>null</code> if no scenario was defined.
+   */
+  @Nullable
+  static ScenarioTransition of(
+      @Nullable String scenarioName,
+      @Nullable String requiredState,
+      @Nullable String newState
+  ) {
+    if (scenarioName == null) {
+      if (requiredState != null || newState != null) {
+        throw new GrpcMockValidationException("Scenario name should be defined for scenario states");
+      }
+      return null;
+    }
+    return new ScenarioTransition(scenarioName, requiredState, newState);
+  }
+
+  String scenarioName() {
+    return scenarioName;
+  }
+
+  boolean isAllowed(@Nonnull ScenarioStates scenarioStates) {
+    return requiredState == null || requiredState.equals(scenarioStates.state(scenarioName));
+  }
+
+  /**
+   * Moves the scenario to the new state.
+   *
+   * @return <code>false</code> if the scenario was concurrently moved out of the required state.
+   */
+  boolean apply(@Nonnull ScenarioStates scenarioStates) {
+    if (newState == null) {
+      return isAllowed(scenarioStates);
+    }
+    if (requiredState == null) {
+      scenarioStates.setState(scenarioName, newState);
+      return true;
+    }
+    return scenarioStates.transition(scenarioName, requiredState, newState);
+  }
+}
@@ -14,9 +14,11 @@ import javax.annotation.Nonnull;
 import org.grpcmock.definitions.response.Response;
 import org.grpcmock.definitions.response.ResponseImpl;
 import org.grpcmock.definitions.response.ResponseProxyImpl;
+import org.grpcmock.definitions.response.steps.DynamicResponseBuilder;
 import org.grpcmock.definitions.response.steps.ExceptionResponseActionBuilder;
 import org.grpcmock.definitions.response.steps.ObjectResponseActionBuilder;
 import org.grpcmock.definitions.response.steps.StreamResponseBuilder;
+import org.grpcmock.definitions.stub.steps.FaultProfileBuilder;
 import org.grpcmock.definitions.stub.steps.NextServerStreamingMethodResponseBuilderStep;
 import org.grpcmock.definitions.stub.steps.ServerStreamingMethodStubBuilderStep;
 import org.grpcmock.definitions.verification.RequestPatternBuilderImpl;
@@ -32,6 +34,10 @@ public final class ServerStreamingMethodStubBuilderImpl<ReqT, RespT> implements
   private final MethodDescriptor<ReqT, RespT> method;
   private final List<Response<ReqT, RespT>> responses;
   private final RequestPatternBuilderImpl<ReqT> requestPatternBuilder;
+  private String scenarioName;
+  private String requiredScenarioState;
+  private String newScenarioState;
+  private FaultProfile faultProfile;
 
   public ServerStreamingMethodStubBuilderImpl(@Nonnull MethodDescriptor<ReqT, RespT> method) {
     Objects.requireNonNull(method);
@@ -43,6 +49,31 @@ public final class ServerStreamingMethodStubBuilderImpl<ReqT, RespT> implements
     this.requestPatternBuilder = new RequestPatternBuilderImpl<>(method);
   }
 
+  @Override
+  public ServerStreamingMethodStubBuilderStep<ReqT, RespT> inScenario(@Nonnull String scenarioName) {
+    this.scenarioName = Objects.requireNonNull(scenarioName);
+    return this;
+  }
+
+  @Override
+  public ServerStreamingMethodStubBuilderStep<ReqT, RespT> whenScenarioStateIs(@Nonnull String state) {
+    this.requiredScenarioState = Objects.requireNonNull(state);
+    return this;
+  }
+
+  @Override
+  public ServerStreamingMethodStubBuilderStep<ReqT, RespT> willSetStateTo(@Nonnull String state) {
+    this.newScenarioState = Objects.requireNonNull(state);
+    return this;
+  }
+
+  @Override
+  public ServerStreamingMethodStubBuilderStep<ReqT, RespT> withFaults(@Nonnull FaultProfileBuilder faults) {
+    Objects.requireNonNull(faults);
+    this.faultProfile = faults.build();
+    return this;
+  }
+
   @Override
   public <T> ServerStreamingMethodStubBuilderStep<ReqT, RespT> withHeader(
       @Nonnull Metadata.Key<T> headerKey,
@@ -114,6 +145,22 @@ public final class ServerStreamingMethodStubBuilderImpl<ReqT, RespT> implements
     return this;
   }
 
+  @Override
+  public NextServerStreamingMethodResponseBuilderStep<ReqT, RespT> willReturn(
+      @Nonnull DynamicResponseBuilder<ReqT, RespT> response
+  ) {
+    Objects.requireNonNull(response);
+    this.responses.add(response.build(method.getRequestMarshaller()));
+    return this;
+  }
+
+  @Override
+  public NextServerStreamingMethodResponseBuilderStep<ReqT, RespT> nextWillReturn(
+      @Nonnull DynamicResponseBuilder<ReqT, RespT> response
+  ) {
+    return willReturn(response);
+  }
+
   @Override
   public NextServerStreamingMethodResponseBuilderStep<ReqT, RespT> nextWillProxyTo(
       @Nonnull BiConsumer<ReqT, StreamObserver<RespT>> responseProxy) {
@@ -124,7 +171,11 @@ public final class ServerStreamingMethodStubBuilderImpl<ReqT, RespT> implements
   public MethodStub<ReqT, RespT> build() {
     return new MethodStub<>(
         method,
-        Collections.singletonList(new StubScenario<>(requestPatternBuilder.build(), responses))
+        Collections.singletonList(new StubScenario<>(
+            requestPatternBuilder.build(),
+            responses,
+            ScenarioTransition.of(scenarioName, requiredScenarioState, newScenarioState),
+            faultProfile))
     );
   }
 }
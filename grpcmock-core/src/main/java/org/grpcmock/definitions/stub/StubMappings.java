@@ -0,0 +1,102 @@
+package org.grpcmock.definitions.stub;
+
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerMethodDefinition;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>Immutable mappings of registered method stubs grouped by service.
+ * <p>Registering method stubs returns new mappings, which share unchanged services and method stubs with the previous
+ * ones. Therefore, mappings can be kept as a snapshot and later restored without rebuilding any stubs.
+ *
+ * @author Fadelis
+ */
+public final class StubMappings {
+
+  private final ScenarioStates scenarioStates;
+  private final Map<String, Map<String, MethodStub<?, ?>>> methodStubsByService;
+
+  /**
+   * Creates empty mappings, method stubs of which will share the given scenario states.
+   */
+  public StubMappings(@Nonnull ScenarioStates scenarioStates) {
+    this(scenarioStates, Collections.emptyMap());
+  }
+
+  private StubMappings(
+      @Nonnull ScenarioStates scenarioStates,
+      @Nonnull Map<String, Map<String, MethodStub<?, ?>>> methodStubsByService
+  ) {
+    this.scenarioStates = Objects.requireNonNull(scenarioStates);
+    this.methodStubsByService = methodStubsByService;
+  }
+
+  /**
+   * <p>Returns new mappings with the given method stubs registered.
+   * <p>If a given method is already registered, then its scenarios will be appended to that method's stub.
+   */
+  public StubMappings withMethodStubs(@Nonnull Collection<? extends MethodStub<?, ?>> methodStubs) {
+    Objects.requireNonNull(methodStubs);
+    Map<String, Map<String, MethodStub<?, ?>>> changedServices = new HashMap<>();
+    for (MethodStub<?, ?> methodStub : methodStubs) {
+      Map<String, MethodStub<?, ?>> serviceMethodStubs = changedServices.computeIfAbsent(
+          methodStub.serviceName(),
+          serviceName -> new HashMap<>(methodStubsByService.getOrDefault(serviceName, Collections.emptyMap())));
+      serviceMethodStubs.compute(methodStub.fullMethodName(), (key, registered) -> registered == null
+          ? bind(methodStub)
+          : combine(registered, methodStub));
+    }
+    Map<String, Map<String, MethodStub<?, ?>>> services = new HashMap<>(methodStubsByService);
+    changedServices.forEach((serviceName, serviceMethodStubs) ->
+        services.put(serviceName, Collections.unmodifiableMap(serviceMethodStubs)));
+    return new StubMappings(scenarioStates, Collections.unmodifiableMap(services));
+  }
+
+  private MethodStub<?, ?> bind(MethodStub<?, ?> methodStub) {
+    return methodStub.withScenarioStates(scenarioStates);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <ReqT, RespT> MethodStub<ReqT, RespT> combine(
+      MethodStub<ReqT, RespT> registered,
+      MethodStub<?, ?> methodStub
+  ) {
+    return registered.withScenarios((MethodStub<ReqT, RespT>) methodStub);
+  }
+
+  /**
+   * Returns the server method definition of the given method or <code>null</code> if the method is not registered.
+   */
+  @Nullable
+  public ServerMethodDefinition<?, ?> lookupMethod(@Nonnull String fullMethodName) {
+    String serviceName = MethodDescriptor.extractFullServiceName(fullMethodName);
+    Map<String, MethodStub<?, ?>> serviceMethodStubs = serviceName == null ? null : methodStubsByService.get(serviceName);
+    MethodStub<?, ?> methodStub = serviceMethodStubs == null ? null : serviceMethodStubs.get(fullMethodName);
+    return methodStub == null ? null : methodStub.serverMethodDefinition();
+  }
+
+  /**
+   * Returns <code>true</code> if method stubs of these mappings use the given scenario states.
+   */
+  public boolean usesScenarioStates(@Nonnull ScenarioStates scenarioStates) {
+    return this.scenarioStates == scenarioStates;
+  }
+
+  /**
+   * Resets responses and injected faults of all method stubs to the state before the first call, e.g. when these mappings
+   * are restored from a snapshot.
+   */
+  public void reset() {
+    methodStubsByService.values().forEach(serviceMethodStubs -> serviceMethodStubs.values().forEach(MethodStub::reset));
+  }
+
+  public boolean isEmpty() {
+    return methodStubsByService.isEmpty();
+  }
+}
@@ -1,26 +1,52 @@
 package org.grpcmock.definitions.stub;
 
+import io.grpc.Context;
+import io.grpc.MethodDescriptor.Marshaller;
+import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.grpcmock.definitions.response.Response;
+import org.grpcmock.definitions.stub.FaultProfile.InjectedFault;
 import org.grpcmock.definitions.verification.RequestPattern;
 import org.grpcmock.exception.GrpcMockValidationException;
 import org.grpcmock.interceptors.CapturedRequest;
+import org.grpcmock.util.FlowControlledResponseObserver;
+import org.grpcmock.util.FunctionalResponseObserver;
+import org.grpcmock.util.ResponseScheduler;
 
 /**
  * @author Fadelis
  */
 public final class StubScenario<ReqT, RespT> {
 
+  private static final Status DROPPED_STREAM_STATUS = Status.UNAVAILABLE
+      .withDescription("Stream was dropped by gRPC Mock fault injection");
+
   private final RequestPattern<ReqT> requestPattern;
   private final List<Response<ReqT, RespT>> responses;
+  private final int lastResponseIndex;
+  private final AtomicInteger responseCursor = new AtomicInteger();
+  private final ScenarioTransition scenarioTransition;
+  private final FaultProfile faultProfile;
 
   public StubScenario(
       @Nonnull RequestPattern<ReqT> requestPattern,
       @Nonnull List<Response<ReqT, RespT>> responses
+  ) {
+    this(requestPattern, responses, null, null);
+  }
+
+  StubScenario(
+      @Nonnull RequestPattern<ReqT> requestPattern,
+      @Nonnull List<Response<ReqT, RespT>> responses,
+      @Nullable ScenarioTransition scenarioTransition,
+      @Nullable FaultProfile faultProfile
   ) {
     Objects.requireNonNull(responses);
     Objects.requireNonNull(requestPattern);
@@ -29,24 +55,128 @@ public final class StubScenario<ReqT, RespT> {
     }
     this.requestPattern = requestPattern;
     this.responses = new ArrayList<>(responses);
+    this.lastResponseIndex = responses.size() - 1;
+    this.scenarioTransition = scenarioTransition;
+    this.faultProfile = faultProfile;
+  }
+
+  /**
+   * Serializes cached response messages of all responses with the given marshaller.
+   */
+  void preSerialize(@Nonnull Marshaller<RespT> marshaller) {
+    responses.forEach(response -> response.preSerialize(marshaller));
+  }
+
+  RequestPattern<ReqT> requestPattern() {
+    return requestPattern;
   }
 
   public boolean matches(CapturedRequest<ReqT> capturedRequest) {
     return requestPattern.matches(capturedRequest);
   }
 
+  /**
+   * Returns the name of the scenario this stub belongs to, or <code>null</code> if it's not in a scenario.
+   */
+  @Nullable
+  String scenarioName() {
+    return scenarioTransition == null ? null : scenarioTransition.scenarioName();
+  }
+
+  boolean matches(CapturedRequest<ReqT> capturedRequest, ScenarioStates scenarioStates) {
+    return (scenarioTransition == null || scenarioTransition.isAllowed(scenarioStates)) && matches(capturedRequest);
+  }
+
+  /**
+   * Moves the scenario of this stub to its new state.
+   *
+   * @return <code>false</code> if the scenario was concurrently moved out of the state required by this stub.
+   */
+  boolean applyScenarioTransition(ScenarioStates scenarioStates) {
+    return scenarioTransition == null || scenarioTransition.apply(scenarioStates);
+  }
+
   public void call(ReqT request, StreamObserver<RespT> streamObserver) {
-    nextResponse().execute(request, streamObserver);
+    if (Objects.isNull(faultProfile)) {
+      nextResponse().execute(request, streamObserver);
+      return;
+    }
+    InjectedFault fault = faultProfile.nextFault();
+    Status status = fault.status();
+    if (Objects.nonNull(status)) {
+      afterLatency(fault, () -> streamObserver.onError(status.asRuntimeException()));
+      return;
+    }
+    dropStream(fault, streamObserver);
+    Response<ReqT, RespT> response = nextResponse();
+    afterLatency(fault, () -> response.execute(request, streamObserver));
   }
 
   public StreamObserver<ReqT> call(StreamObserver<RespT> streamObserver) {
-    return nextResponse().execute(streamObserver);
+    if (Objects.isNull(faultProfile)) {
+      return nextResponse().execute(streamObserver);
+    }
+    InjectedFault fault = faultProfile.nextFault();
+    Status status = fault.status();
+    if (Objects.nonNull(status)) {
+      afterLatency(fault, () -> streamObserver.onError(status.asRuntimeException()));
+      return FunctionalResponseObserver.<ReqT>builder().build();
+    }
+    dropStream(fault, streamObserver);
+    StreamObserver<ReqT> requestObserver = nextResponse().execute(streamObserver);
+    if (fault.latencyMillis() == 0) {
+      return requestObserver;
+    }
+    return FunctionalResponseObserver.<ReqT>builder()
+        .onNext(requestObserver::onNext)
+        .onError(requestObserver::onError)
+        .onCompleted(() -> afterLatency(fault, requestObserver::onCompleted))
+        .build();
+  }
+
+  /**
+   * Runs the given task after the injected latency. The scheduler only acts as a timer, the delayed task is executed on
+   * the executor of the call, same as delayed response actions.
+   */
+  private static void afterLatency(InjectedFault fault, Runnable task) {
+    if (fault.latencyMillis() > 0) {
+      ResponseScheduler.schedule(Context.current().wrap(task), fault.latencyMillis(), TimeUnit.MILLISECONDS);
+    } else {
+      task.run();
+    }
   }
 
-  private Response<ReqT, RespT> nextResponse() {
-    return responses.stream()
-        .filter(response -> !response.wasCalled())
-        .findFirst()
-        .orElseGet(() -> responses.get(responses.size() - 1));
+  private static void dropStream(InjectedFault fault, StreamObserver<?> streamObserver) {
+    // only server and bidi streaming responses are streams, which can be dropped mid-way
+    if (fault.dropAfterMessages() >= 0 && streamObserver instanceof FlowControlledResponseObserver) {
+      ((FlowControlledResponseObserver<?>) streamObserver).terminateAfter(fault.dropAfterMessages(), DROPPED_STREAM_STATUS);
+    }
+  }
+
+  /**
+   * Resets the responses of this stub and its injected faults to the state before the first call.
+   */
+  void reset() {
+    responseCursor.set(0);
+    responses.forEach(Response::reset);
+    if (Objects.nonNull(faultProfile)) {
+      faultProfile.reset();
+    }
+  }
+
+  /**
+   * Hands out each response in the defined order exactly once, even for concurrent calls, and then keeps returning the last
+   * response for all subsequent calls.
+   */
+  Response<ReqT, RespT> nextResponse() {
+    while (true) {
+      int current = responseCursor.get();
+      if (current >= lastResponseIndex) {
+        return responses.get(lastResponseIndex);
+      }
+      if (responseCursor.compareAndSet(current, current + 1)) {
+        return responses.get(current);
+      }
+    }
   }
 }
@@ -0,0 +1,201 @@
+package org.grpcmock.definitions.stub;
+
+import io.grpc.Metadata;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.grpcmock.definitions.verification.RequestPattern;
+import org.grpcmock.interceptors.CapturedRequest;
+
+/**
+ * <p>Immutable lookup structure for {@link StubScenario} of a single method.
+ * <p>Scenarios, which require an exact first request or an exact header value, are placed into hash buckets keyed by that
+ * value, so only scenarios that could match an incoming request are evaluated. Other scenarios are evaluated linearly. The
+ * last registered matching scenario is always returned.
+ * <p>Buckets are plain arrays, which are never modified after the index is built, so lookups need no synchronization
+ * while new scenarios are registered into a new index. The new index shares all the buckets, which did not receive new
+ * scenarios, with the previous one, and exact value buckets are kept in a {@link BucketTrie}, so that adding a bucket
+ * does not copy the buckets of other values.
+ *
+ * @author Fadelis
+ */
+final class StubScenarioIndex<ReqT, RespT> {
+
+  private final IndexedScenario<ReqT, RespT>[] predicateScenarios;
+  private final BucketTrie<IndexedScenario<ReqT, RespT>[]> firstRequestScenarios;
+  private final Map<Metadata.Key<?>, BucketTrie<IndexedScenario<ReqT, RespT>[]>> headerScenarios;
+  private final int size;
+
+  private StubScenarioIndex(
+      IndexedScenario<ReqT, RespT>[] predicateScenarios,
+      BucketTrie<IndexedScenario<ReqT, RespT>[]> firstRequestScenarios,
+      Map<Metadata.Key<?>, BucketTrie<IndexedScenario<ReqT, RespT>[]>> headerScenarios,
+      int size
+  ) {
+    this.predicateScenarios = predicateScenarios;
+    this.firstRequestScenarios = firstRequestScenarios;
+    this.headerScenarios = headerScenarios;
+    this.size = size;
+  }
+
+  /**
+   * Builds an index of the given scenarios in their registration order.
+   */
+  static <ReqT, RespT> StubScenarioIndex<ReqT, RespT> of(@Nonnull List<StubScenario<ReqT, RespT>> scenarios) {
+    StubScenarioIndex<ReqT, RespT> emptyIndex = new StubScenarioIndex<>(
+        appended(null, Collections.emptyList()),
+        BucketTrie.empty(),
+        Collections.emptyMap(),
+        0);
+    return emptyIndex.with(scenarios, 0);
+  }
+
+  /**
+   * Returns an index of the scenarios of this index followed by the given scenarios, which are ordered starting from the
+   * given order. Only the buckets receiving new scenarios and the predicate scenarios are copied, all other buckets are
+   * shared with this index, so registering scenarios one by one does not rebuild the whole index.
+   */
+  StubScenarioIndex<ReqT, RespT> with(@Nonnull List<StubScenario<ReqT, RespT>> newScenarios, int startOrder) {
+    Objects.requireNonNull(newScenarios);
+    List<IndexedScenario<ReqT, RespT>> newPredicateScenarios = new ArrayList<>();
+    Map<Object, List<IndexedScenario<ReqT, RespT>>> newFirstRequestScenarios = new HashMap<>();
+    Map<Metadata.Key<?>, Map<Object, List<IndexedScenario<ReqT, RespT>>>> newHeaderScenarios = new HashMap<>();
+    for (int i = 0; i < newScenarios.size(); i++) {
+      StubScenario<ReqT, RespT> scenario = Objects.requireNonNull(newScenarios.get(i));
+      IndexedScenario<ReqT, RespT> indexedScenario = new IndexedScenario<>(startOrder + i, scenario);
+      RequestPattern<ReqT> requestPattern = scenario.requestPattern();
+      Optional<ReqT> exactFirstRequest = requestPattern.exactFirstRequest();
+      if (exactFirstRequest.isPresent()) {
+        newFirstRequestScenarios.computeIfAbsent(exactFirstRequest.get(), key -> new ArrayList<>()).add(indexedScenario);
+      } else if (!requestPattern.exactHeaderValues().isEmpty()) {
+        Map.Entry<Metadata.Key<?>, Object> header = requestPattern.exactHeaderValues().entrySet().iterator().next();
+        newHeaderScenarios.computeIfAbsent(header.getKey(), key -> new HashMap<>())
+            .computeIfAbsent(header.getValue(), key -> new ArrayList<>())
+            .add(indexedScenario);
+      } else {
+        newPredicateScenarios.add(indexedScenario);
+      }
+    }
+    Map<Metadata.Key<?>, BucketTrie<IndexedScenario<ReqT, RespT>[]>> headerBuckets = headerScenarios;
+    if (!newHeaderScenarios.isEmpty()) {
+      Map<Metadata.Key<?>, BucketTrie<IndexedScenario<ReqT, RespT>[]>> appendedBuckets = new HashMap<>(headerScenarios);
+      newHeaderScenarios.forEach((key, buckets) -> appendedBuckets.put(key,
+          appended(headerScenarios.getOrDefault(key, BucketTrie.empty()), buckets)));
+      headerBuckets = Collections.unmodifiableMap(appendedBuckets);
+    }
+    return new StubScenarioIndex<>(
+        newPredicateScenarios.isEmpty() ? predicateScenarios : appended(predicateScenarios, newPredicateScenarios),
+        appended(firstRequestScenarios, newFirstRequestScenarios),
+        headerBuckets,
+        size + newScenarios.size());
+  }
+
+  /**
+   * Returns the number of indexed scenarios.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns all indexed scenarios in their registration order.
+   */
+  List<StubScenario<ReqT, RespT>> scenarios() {
+    List<IndexedScenario<ReqT, RespT>> indexedScenarios = new ArrayList<>(size);
+    Collections.addAll(indexedScenarios, predicateScenarios);
+    firstRequestScenarios.forEach(bucket -> Collections.addAll(indexedScenarios, bucket));
+    headerScenarios.values().forEach(buckets -> buckets.forEach(bucket -> Collections.addAll(indexedScenarios, bucket)));
+    indexedScenarios.sort(Comparator.comparingInt(indexedScenario -> indexedScenario.order));
+    return indexedScenarios.stream()
+        .map(indexedScenario -> indexedScenario.scenario)
+        .collect(Collectors.toList());
+  }
+
+  private static <ReqT, RespT> BucketTrie<IndexedScenario<ReqT, RespT>[]> appended(
+      BucketTrie<IndexedScenario<ReqT, RespT>[]> buckets,
+      Map<Object, List<IndexedScenario<ReqT, RespT>>> newScenarios
+  ) {
+    BucketTrie<IndexedScenario<ReqT, RespT>[]> result = buckets;
+    for (Map.Entry<Object, List<IndexedScenario<ReqT, RespT>>> entry : newScenarios.entrySet()) {
+      result = result.with(entry.getKey(), appended(result.get(entry.getKey()), entry.getValue()));
+    }
+    return result;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static <ReqT, RespT> IndexedScenario<ReqT, RespT>[] appended(
+      @Nullable IndexedScenario<ReqT, RespT>[] bucket,
+      List<IndexedScenario<ReqT, RespT>> newScenarios
+  ) {
+    IndexedScenario<ReqT, RespT>[] result = bucket == null
+        ? new IndexedScenario[newScenarios.size()]
+        : Arrays.copyOf(bucket, bucket.length + newScenarios.size());
+    int offset = result.length - newScenarios.size();
+    for (int i = 0; i < newScenarios.size(); i++) {
+      result[offset + i] = newScenarios.get(i);
+    }
+    return result;
+  }
+
+  Optional<StubScenario<ReqT, RespT>> find(
+      @Nonnull CapturedRequest<ReqT> capturedRequest,
+      @Nonnull ScenarioStates scenarioStates
+  ) {
+    IndexedScenario<ReqT, RespT> found = lastMatching(predicateScenarios, capturedRequest, scenarioStates, null);
+    if (!firstRequestScenarios.isEmpty() && !capturedRequest.requests().isEmpty()) {
+      Object firstRequest = capturedRequest.requests().get(0);
+      found = lastMatching(firstRequestScenarios.get(firstRequest), capturedRequest, scenarioStates, found);
+    }
+    for (Map.Entry<Metadata.Key<?>, BucketTrie<IndexedScenario<ReqT, RespT>[]>> entry : headerScenarios.entrySet()) {
+      Object headerValue = capturedRequest.headers().get(entry.getKey());
+      if (headerValue != null) {
+        found = lastMatching(entry.getValue().get(headerValue), capturedRequest, scenarioStates, found);
+      }
+    }
+    return found == null ? Optional.empty() : Optional.of(found.scenario);
+  }
+
+  /**
+   * Returns the last registered matching scenario from the given bucket if it was registered after the currently found one.
+   */
+  private IndexedScenario<ReqT, RespT> lastMatching(
+      IndexedScenario<ReqT, RespT>[] scenarios,
+      CapturedRequest<ReqT> capturedRequest,
+      ScenarioStates scenarioStates,
+      IndexedScenario<ReqT, RespT> currentlyFound
+  ) {
+    if (scenarios == null) {
+      return currentlyFound;
+    }
+    for (int i = scenarios.length - 1; i >= 0; i--) {
+      IndexedScenario<ReqT, RespT> candidate = scenarios[i];
+      if (currentlyFound != null && candidate.order < currentlyFound.order) {
+        return currentlyFound;
+      }
+      if (candidate.scenario.matches(capturedRequest, scenarioStates)) {
+        return candidate;
+      }
+    }
+    return currentlyFound;
+  }
+
+  private static final class IndexedScenario<ReqT, RespT> {
+
+    private final int order;
+    private final StubScenario<ReqT, RespT> scenario;
+
+    private IndexedScenario(int order, StubScenario<ReqT, RespT> scenario) {
+      this.order = order;
+      this.scenario = scenario;
+    }
+  }
+}
@@ -13,8 +13,10 @@ import javax.annotation.Nonnull;
 import org.grpcmock.definitions.response.Response;
 import org.grpcmock.definitions.response.ResponseImpl;
 import org.grpcmock.definitions.response.ResponseProxyImpl;
+import org.grpcmock.definitions.response.steps.DynamicResponseBuilder;
 import org.grpcmock.definitions.response.steps.ExceptionResponseActionBuilder;
 import org.grpcmock.definitions.response.steps.ObjectResponseActionBuilder;
+import org.grpcmock.definitions.stub.steps.FaultProfileBuilder;
 import org.grpcmock.definitions.stub.steps.NextUnaryMethodResponseBuilderStep;
 import org.grpcmock.definitions.stub.steps.UnaryMethodStubBuilderStep;
 import org.grpcmock.definitions.verification.RequestPatternBuilderImpl;
@@ -30,6 +32,10 @@ public final class UnaryMethodStubBuilderImpl<ReqT, RespT> implements
   private final MethodDescriptor<ReqT, RespT> method;
   private final List<Response<ReqT, RespT>> responses;
   private final RequestPatternBuilderImpl<ReqT> requestPatternBuilder;
+  private String scenarioName;
+  private String requiredScenarioState;
+  private String newScenarioState;
+  private FaultProfile faultProfile;
 
   public UnaryMethodStubBuilderImpl(@Nonnull MethodDescriptor<ReqT, RespT> method) {
     Objects.requireNonNull(method);
@@ -41,6 +47,31 @@ public final class UnaryMethodStubBuilderImpl<ReqT, RespT> implements
     this.requestPatternBuilder = new RequestPatternBuilderImpl<>(method);
   }
 
+  @Override
+  public UnaryMethodStubBuilderStep<ReqT, RespT> inScenario(@Nonnull String scenarioName) {
+    this.scenarioName = Objects.requireNonNull(scenarioName);
+    return this;
+  }
+
+  @Override
+  public UnaryMethodStubBuilderStep<ReqT, RespT> whenScenarioStateIs(@Nonnull String state) {
+    this.requiredScenarioState = Objects.requireNonNull(state);
+    return this;
+  }
+
+  @Override
+  public UnaryMethodStubBuilderStep<ReqT, RespT> willSetStateTo(@Nonnull String state) {
+    this.newScenarioState = Objects.requireNonNull(state);
+    return this;
+  }
+
+  @Override
+  public UnaryMethodStubBuilderStep<ReqT, RespT> withFaults(@Nonnull FaultProfileBuilder faults) {
+    Objects.requireNonNull(faults);
+    this.faultProfile = faults.build();
+    return this;
+  }
+
   @Override
   public <T> UnaryMethodStubBuilderStep<ReqT, RespT> withHeader(
       @Nonnull Metadata.Key<T> headerKey,
@@ -98,6 +129,22 @@ public final class UnaryMethodStubBuilderImpl<ReqT, RespT> implements
     return this;
   }
 
+  @Override
+  public NextUnaryMethodResponseBuilderStep<ReqT, RespT> willReturn(
+      @Nonnull DynamicResponseBuilder<ReqT, RespT> response
+  ) {
+    Objects.requireNonNull(response);
+    this.responses.add(response.build(method.getRequestMarshaller()));
+    return this;
+  }
+
+  @Override
+  public NextUnaryMethodResponseBuilderStep<ReqT, RespT> nextWillReturn(
+      @Nonnull DynamicResponseBuilder<ReqT, RespT> response
+  ) {
+    return willReturn(response);
+  }
+
   @Override
   public NextUnaryMethodResponseBuilderStep<ReqT, RespT> nextWillProxyTo(
       @Nonnull BiConsumer<ReqT, StreamObserver<RespT>> responseProxy) {
@@ -108,7 +155,11 @@ public final class UnaryMethodStubBuilderImpl<ReqT, RespT> implements
   public MethodStub<ReqT, RespT> build() {
     return new MethodStub<>(
         method,
-        Collections.singletonList(new StubScenario<>(requestPatternBuilder.build(), responses))
+        Collections.singletonList(new StubScenario<>(
+            requestPatternBuilder.build(),
+            responses,
+            ScenarioTransition.of(scenarioName, requiredScenarioState, newScenarioState),
+            faultProfile))
     );
   }
 }
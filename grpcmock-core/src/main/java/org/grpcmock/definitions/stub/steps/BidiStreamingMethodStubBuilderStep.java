@@ -9,6 +9,8 @@ import org.grpcmock.definitions.matcher.steps.HeadersMatcherBuilderStep;
 public interface BidiStreamingMethodStubBuilderStep<ReqT, RespT> extends
     MethodStubBuilder<ReqT, RespT>,
     HeadersMatcherBuilderStep<BidiStreamingMethodStubBuilderStep<ReqT, RespT>>,
+    ScenarioBuilderStep<BidiStreamingMethodStubBuilderStep<ReqT, RespT>>,
+    FaultInjectionBuilderStep<BidiStreamingMethodStubBuilderStep<ReqT, RespT>>,
     FirstRequestMatcherBuilderStep<BidiStreamingMethodStubBuilderStep<ReqT, RespT>, ReqT>,
     StreamRequestProxyResponseBuilderStep<NextBidiStreamingMethodStubBuilderStep<ReqT, RespT>, ReqT, RespT> {
 
@@ -9,6 +9,8 @@ import org.grpcmock.definitions.matcher.steps.HeadersMatcherBuilderStep;
 public interface ClientStreamingMethodStubBuilderStep<ReqT, RespT> extends
     MethodStubBuilder<ReqT, RespT>,
     HeadersMatcherBuilderStep<ClientStreamingMethodStubBuilderStep<ReqT, RespT>>,
+    ScenarioBuilderStep<ClientStreamingMethodStubBuilderStep<ReqT, RespT>>,
+    FaultInjectionBuilderStep<ClientStreamingMethodStubBuilderStep<ReqT, RespT>>,
     FirstRequestMatcherBuilderStep<ClientStreamingMethodStubBuilderStep<ReqT, RespT>, ReqT>,
     SingleResponseBuilderStep<NextClientStreamingMethodResponseBuilderStep<ReqT, RespT>, RespT>,
     StreamRequestProxyResponseBuilderStep<NextClientStreamingMethodResponseBuilderStep<ReqT, RespT>, ReqT, RespT> {
@@ -0,0 +1,24 @@
+package org.grpcmock.definitions.stub.steps;
+
+import javax.annotation.Nonnull;
+import org.grpcmock.definitions.BuilderStep;
+
+/**
+ * <p>Builder step defining faults injected into calls of the stub.
+ * <p>For example:<code><pre>
+ * unaryMethod(method)
+ *     .withFaults(faults()
+ *         .withStatus(Status.UNAVAILABLE, 0.05)
+ *         .withLatency(20, 250))
+ *     .willReturn(response);
+ * </pre></code>
+ *
+ * @author Fadelis
+ */
+public interface FaultInjectionBuilderStep<BUILDER extends FaultInjectionBuilderStep<BUILDER>> extends BuilderStep {
+
+  /**
+   * Injects faults of the given profile into calls of the stub. Faults apply only to calls matched by this stub.
+   */
+  BUILDER withFaults(@Nonnull FaultProfileBuilder faults);
+}
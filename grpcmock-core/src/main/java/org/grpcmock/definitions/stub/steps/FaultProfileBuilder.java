@@ -0,0 +1,51 @@
+package org.grpcmock.definitions.stub.steps;
+
+import io.grpc.Status;
+import javax.annotation.Nonnull;
+import org.grpcmock.definitions.BuilderStep;
+import org.grpcmock.definitions.response.LatencyDistribution;
+import org.grpcmock.definitions.stub.FaultProfile;
+
+/**
+ * Builder for a {@link FaultProfile} of a stub.
+ *
+ * @author Fadelis
+ */
+public interface FaultProfileBuilder extends BuilderStep {
+
+  /**
+   * Fails the given fraction of calls with the given status instead of returning the stub response. Multiple statuses can
+   * be defined, as long as their probabilities do not add up to more than 1.
+   *
+   * @param probability fraction of calls in range [0, 1].
+   */
+  FaultProfileBuilder withStatus(@Nonnull Status status, double probability);
+
+  /**
+   * Adds latency sampled from the given distribution to every call. For single request methods the response is started
+   * after the latency, while for stream request methods the client's half-close is handled after the latency.
+   */
+  FaultProfileBuilder withLatency(@Nonnull LatencyDistribution latency);
+
+  /**
+   * Adds long-tailed latency to every call, following a log-normal distribution with the given p50 and p99 targets.
+   */
+  default FaultProfileBuilder withLatency(long p50Milliseconds, long p99Milliseconds) {
+    return withLatency(LatencyDistribution.percentiles(p50Milliseconds, p99Milliseconds));
+  }
+
+  /**
+   * Drops the given fraction of response streams after the given number of messages, failing them with
+   * {@link Status#UNAVAILABLE} as if the connection was lost. Applies only to server and bidi streaming methods.
+   *
+   * @param probability fraction of calls in range [0, 1].
+   */
+  FaultProfileBuilder withDroppedStream(double probability, long afterMessages);
+
+  /**
+   * Seeds the source of randomness, so that the same sequence of calls is affected by the same faults.
+   */
+  FaultProfileBuilder withSeed(long seed);
+
+  FaultProfile build();
+}
@@ -1,6 +1,11 @@
 package org.grpcmock.definitions.stub.steps;
 
+import java.util.function.Function;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import org.grpcmock.GrpcMock;
 import org.grpcmock.definitions.BuilderStep;
+import org.grpcmock.definitions.response.Response;
 
 /**
  * @author Fadelis
@@ -11,4 +16,13 @@ public interface NextServerStreamingMethodResponseBuilderStep<ReqT, RespT> exten
     NextStreamResponseBuilderStep<NextServerStreamingMethodResponseBuilderStep<ReqT, RespT>, ReqT, RespT>,
     NextSingleRequestProxyResponseBuilderStep<NextServerStreamingMethodResponseBuilderStep<ReqT, RespT>, ReqT, RespT> {
 
+  /**
+   * Defines a stream {@link Response} for subsequent request call to this stub, messages of which are built based on
+   * received request.
+   */
+  default NextServerStreamingMethodResponseBuilderStep<ReqT, RespT> nextWillReturnStream(
+      @Nonnull Function<ReqT, Stream<RespT>> responseFunction
+  ) {
+    return nextWillReturn(GrpcMock.dynamicStream(responseFunction));
+  }
 }
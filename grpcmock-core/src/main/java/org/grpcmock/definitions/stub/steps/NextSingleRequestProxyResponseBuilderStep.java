@@ -4,8 +4,10 @@ import io.grpc.stub.StreamObserver;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import javax.annotation.Nonnull;
+import org.grpcmock.GrpcMock;
 import org.grpcmock.definitions.BuilderStep;
 import org.grpcmock.definitions.response.Response;
+import org.grpcmock.definitions.response.steps.DynamicResponseBuilder;
 
 /**
  * @author Fadelis
@@ -30,12 +32,15 @@ public interface NextSingleRequestProxyResponseBuilderStep<BUILDER extends NextS
   BUILDER nextWillProxyTo(@Nonnull BiConsumer<ReqT, StreamObserver<RespT>> responseProxy);
 
   /**
-   * Defines a proxying response for subsequent request call to this stub, which is built based on received request.
+   * Defines a {@link Response} for subsequent request call to this stub, which is built based on received request.
+   * See {@link GrpcMock#dynamicResponse} and {@link GrpcMock#dynamicStream}.
+   */
+  BUILDER nextWillReturn(@Nonnull DynamicResponseBuilder<ReqT, RespT> response);
+
+  /**
+   * Defines a single {@link Response} for subsequent request call to this stub, which is built based on received request.
    */
   default BUILDER nextWillReturn(@Nonnull Function<ReqT, RespT> responseFunction) {
-    return nextWillProxyTo((request, responseObserver) -> {
-      responseObserver.onNext(responseFunction.apply(request));
-      responseObserver.onCompleted();
-    });
+    return nextWillReturn(GrpcMock.dynamicResponse(responseFunction));
   }
 }
@@ -0,0 +1,38 @@
+package org.grpcmock.definitions.stub.steps;
+
+import javax.annotation.Nonnull;
+import org.grpcmock.definitions.BuilderStep;
+import org.grpcmock.definitions.stub.ScenarioStates;
+
+/**
+ * <p>Builder step defining a named scenario for the stub. Scenario states are shared by all stubs of a gRPC Mock instance
+ * and are reset together with the stubs.
+ * <p>For example:<code><pre>
+ * unaryMethod(method)
+ *     .inScenario("failover")
+ *     .whenScenarioStateIs(ScenarioStates.STARTED)
+ *     .willSetStateTo("primary failed")
+ *     .willReturn(Status.UNAVAILABLE);
+ * </pre></code>
+ *
+ * @author Fadelis
+ */
+public interface ScenarioBuilderStep<BUILDER extends ScenarioBuilderStep<BUILDER>> extends BuilderStep {
+
+  /**
+   * Assigns the stub to the scenario with given name.
+   */
+  BUILDER inScenario(@Nonnull String scenarioName);
+
+  /**
+   * The stub will be triggered only if the scenario is in the given state. Every scenario starts in
+   * {@link ScenarioStates#STARTED} state.
+   */
+  BUILDER whenScenarioStateIs(@Nonnull String state);
+
+  /**
+   * Moves the scenario to the given state when the stub is triggered. The transition is atomic, so when multiple calls
+   * are received concurrently only one of them will trigger a stub requiring the previous state.
+   */
+  BUILDER willSetStateTo(@Nonnull String state);
+}
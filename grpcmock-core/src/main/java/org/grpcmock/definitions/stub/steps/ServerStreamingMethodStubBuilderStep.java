@@ -1,6 +1,11 @@
 package org.grpcmock.definitions.stub.steps;
 
+import java.util.function.Function;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import org.grpcmock.GrpcMock;
 import org.grpcmock.definitions.matcher.steps.HeadersMatcherBuilderStep;
+import org.grpcmock.definitions.response.Response;
 import org.grpcmock.definitions.matcher.steps.RequestMatcherBuilderStep;
 
 /**
@@ -9,8 +14,18 @@ import org.grpcmock.definitions.matcher.steps.RequestMatcherBuilderStep;
 public interface ServerStreamingMethodStubBuilderStep<ReqT, RespT> extends
     MethodStubBuilder<ReqT, RespT>,
     HeadersMatcherBuilderStep<ServerStreamingMethodStubBuilderStep<ReqT, RespT>>,
+    ScenarioBuilderStep<ServerStreamingMethodStubBuilderStep<ReqT, RespT>>,
+    FaultInjectionBuilderStep<ServerStreamingMethodStubBuilderStep<ReqT, RespT>>,
     RequestMatcherBuilderStep<ServerStreamingMethodStubBuilderStep<ReqT, RespT>, ReqT>,
     StreamResponseBuilderStep<NextServerStreamingMethodResponseBuilderStep<ReqT, RespT>, ReqT, RespT>,
     SingleRequestProxyResponseBuilderStep<NextServerStreamingMethodResponseBuilderStep<ReqT, RespT>, ReqT, RespT> {
 
+  /**
+   * Defines a stream {@link Response}, messages of which are built based on received request.
+   */
+  default NextServerStreamingMethodResponseBuilderStep<ReqT, RespT> willReturnStream(
+      @Nonnull Function<ReqT, Stream<RespT>> responseFunction
+  ) {
+    return willReturn(GrpcMock.dynamicStream(responseFunction));
+  }
 }
@@ -4,8 +4,10 @@ import io.grpc.stub.StreamObserver;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import javax.annotation.Nonnull;
+import org.grpcmock.GrpcMock;
 import org.grpcmock.definitions.BuilderStep;
 import org.grpcmock.definitions.response.Response;
+import org.grpcmock.definitions.response.steps.DynamicResponseBuilder;
 
 /**
  * @author Fadelis
@@ -30,12 +32,16 @@ public interface SingleRequestProxyResponseBuilderStep<BUILDER extends BuilderSt
   BUILDER willProxyTo(@Nonnull BiConsumer<ReqT, StreamObserver<RespT>> responseProxy);
 
   /**
-   * Defines a proxying response, which is built based on received request.
+   * <p>Defines a {@link Response}, which is built based on received request.
+   * <p>Unlike proxying responses, such response supports delays and is counted as a regular response.
+   * See {@link GrpcMock#dynamicResponse} and {@link GrpcMock#dynamicStream}.
+   */
+  BUILDER willReturn(@Nonnull DynamicResponseBuilder<ReqT, RespT> response);
+
+  /**
+   * Defines a single {@link Response}, which is built based on received request.
    */
   default BUILDER willReturn(@Nonnull Function<ReqT, RespT> responseFunction) {
-    return willProxyTo((request, responseObserver) -> {
-      responseObserver.onNext(responseFunction.apply(request));
-      responseObserver.onCompleted();
-    });
+    return willReturn(GrpcMock.dynamicResponse(responseFunction));
   }
 }
@@ -9,6 +9,8 @@ import org.grpcmock.definitions.matcher.steps.RequestMatcherBuilderStep;
 public interface UnaryMethodStubBuilderStep<ReqT, RespT> extends
     MethodStubBuilder<ReqT, RespT>,
     HeadersMatcherBuilderStep<UnaryMethodStubBuilderStep<ReqT, RespT>>,
+    ScenarioBuilderStep<UnaryMethodStubBuilderStep<ReqT, RespT>>,
+    FaultInjectionBuilderStep<UnaryMethodStubBuilderStep<ReqT, RespT>>,
     RequestMatcherBuilderStep<UnaryMethodStubBuilderStep<ReqT, RespT>, ReqT>,
     SingleResponseBuilderStep<NextUnaryMethodResponseBuilderStep<ReqT, RespT>, RespT>,
     SingleRequestProxyResponseBuilderStep<NextUnaryMethodResponseBuilderStep<ReqT, RespT>, ReqT, RespT> {
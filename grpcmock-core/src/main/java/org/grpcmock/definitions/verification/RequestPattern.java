@@ -1,11 +1,14 @@
 package org.grpcmock.definitions.verification;
 
+import io.grpc.Metadata;
 import io.grpc.MethodDescriptor;
-import java.io.ByteArrayInputStream;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Optional;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.grpcmock.definitions.matcher.HeadersMatcher;
 import org.grpcmock.definitions.matcher.RequestMatcher;
 import org.grpcmock.definitions.matcher.StatusMatcher;
@@ -22,12 +25,27 @@ public class RequestPattern<ReqT> {
   private final StatusMatcher statusMatcher;
   private final HeadersMatcher headersMatcher;
   private final RequestMatcher<ReqT> requestsMatcher;
+  private final Map<Metadata.Key<?>, Object> exactHeaderValues;
+  private final ReqT exactFirstRequest;
+  private final boolean matchesAllCalls;
 
   RequestPattern(
       @Nonnull MethodDescriptor<ReqT, ?> method,
       @Nonnull StatusMatcher statusMatcher,
       @Nonnull HeadersMatcher headersMatcher,
       @Nonnull RequestMatcher<ReqT> requestsMatcher
+  ) {
+    this(method, statusMatcher, headersMatcher, requestsMatcher, Collections.emptyMap(), null, false);
+  }
+
+  RequestPattern(
+      @Nonnull MethodDescriptor<ReqT, ?> method,
+      @Nonnull StatusMatcher statusMatcher,
+      @Nonnull HeadersMatcher headersMatcher,
+      @Nonnull RequestMatcher<ReqT> requestsMatcher,
+      @Nonnull Map<Metadata.Key<?>, Object> exactHeaderValues,
+      @Nullable ReqT exactFirstRequest,
+      boolean matchesAllCalls
   ) {
     Objects.requireNonNull(method);
     Objects.requireNonNull(statusMatcher);
@@ -37,36 +55,52 @@ public class RequestPattern<ReqT> {
     this.statusMatcher = statusMatcher;
     this.headersMatcher = headersMatcher;
     this.requestsMatcher = requestsMatcher;
+    this.exactHeaderValues = Objects.requireNonNull(exactHeaderValues);
+    this.exactFirstRequest = exactFirstRequest;
+    this.matchesAllCalls = matchesAllCalls;
   }
 
   public String fullMethodName() {
     return this.method.getFullMethodName();
   }
 
+  /**
+   * Returns header values, which have to be exactly equal for this pattern to match.
+   */
+  public Map<Metadata.Key<?>, Object> exactHeaderValues() {
+    return exactHeaderValues;
+  }
+
+  /**
+   * Returns the request, which the first request has to be equal to for this pattern to match.
+   */
+  public Optional<ReqT> exactFirstRequest() {
+    return Optional.ofNullable(exactFirstRequest);
+  }
+
+  /**
+   * Returns <code>true</code> if this pattern has no status, header or request conditions and matches all calls of the
+   * method. Such patterns can be verified without inspecting the captured requests.
+   */
+  public boolean matchesAllCalls() {
+    return matchesAllCalls;
+  }
+
   public boolean matches(CapturedRequest<ReqT> capturedRequest) {
     return capturedRequest.method().getFullMethodName().equals(method.getFullMethodName())
         && statusMatcher.matches(capturedRequest.closeStatus())
         && headersMatcher.matches(capturedRequest.headers())
-        && requestsMatcher.matches(normalizeRequests(capturedRequest.requests()));
+        && requestsMatcher.matches(normalizeRequests(capturedRequest));
   }
 
   public CapturedRequest<ReqT> normalizedCapturedRequest(CapturedRequest<ReqT> captured) {
-    return new CapturedRequest<>(method, captured.headers(), normalizeRequests(captured.requests()));
-  }
-
-  private List<ReqT> normalizeRequests(List<ReqT> requests) {
-    return requests.stream()
-        .map(this::normalizeRequest)
-        .collect(Collectors.toList());
+    return captured.withRequests(method, normalizeRequests(captured));
   }
 
-  private ReqT normalizeRequest(ReqT request) {
-    if (request instanceof byte[]) {
-      // when no stub is registered for a method, server cannot unmarshall the request
-      // as it has no knowledge of the schema, so it is stored as byte array
-      // and unmarshalled here when verifying
-      return method.getRequestMarshaller().parse(new ByteArrayInputStream((byte[]) request));
-    }
-    return request;
+  private List<ReqT> normalizeRequests(CapturedRequest<ReqT> capturedRequest) {
+    // when no stub is registered for a method, server cannot unmarshall the request
+    // as it has no knowledge of the schema, so it is stored as byte array
+    // and unmarshalled here when verifying
+    return capturedRequest.requests(method.getRequestMarshaller());
   }
 }
@@ -69,6 +69,16 @@ public class RequestPatternBuilderImpl<ReqT> implements RequestPatternBuilderSte
     return this;
   }
 
+  @Override
+  public RequestPatternBuilderStep<ReqT> withFirstRequest(@Nonnull Predicate<ReqT> requestPredicate) {
+    Objects.requireNonNull(requestPredicate);
+    if (method.getType().clientSendsOneMessage()) {
+      throw new GrpcMockException("This builder step is only applicable to client or bidi streaming methods");
+    }
+    requestMatcherBuilder.withFirstRequest(requestPredicate);
+    return this;
+  }
+
   public void clearRequestsPredicates() {
     this.requestMatcherBuilder.clearRequestsPredicates();
   }
@@ -79,7 +89,12 @@ public class RequestPatternBuilderImpl<ReqT> implements RequestPatternBuilderSte
         method,
         statusMatcherBuilder.build(),
         headersMatcherBuilder.build(),
-        requestMatcherBuilder.build()
+        requestMatcherBuilder.build(),
+        headersMatcherBuilder.exactHeaderValues(),
+        requestMatcherBuilder.exactFirstRequest().orElse(null),
+        !statusMatcherBuilder.hasPredicates()
+            && !headersMatcherBuilder.hasPredicates()
+            && !requestMatcherBuilder.hasPredicates()
     );
   }
 }
@@ -0,0 +1,55 @@
+package org.grpcmock.interceptors;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCall.Listener;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
+import org.grpcmock.util.ResponseScheduler;
+
+/**
+ * <p>Exposes the executor configured for the server to the context of each call.
+ * <p>Actions scheduled on the {@link ResponseScheduler} are executed on this executor once their delay elapses, so
+ * that the scheduler threads only act as timers.
+ *
+ * @author Fadelis
+ */
+public final class CallExecutorInterceptor implements ServerInterceptor {
+
+  private static final Context.Key<Executor> CALL_EXECUTOR = Context.key("grpcmock_call_executor");
+
+  private volatile Executor executor;
+
+  /**
+   * Configures the executor of the server calls. When it is not configured, the gRPC default executor is used for the
+   * calls, which is not accessible, so delayed actions are executed on a shared executor of the {@link ResponseScheduler}.
+   */
+  public void setExecutor(@Nullable Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Returns the executor of the call, which is attached to the current context.
+   */
+  public static Optional<Executor> callExecutor() {
+    return Optional.ofNullable(CALL_EXECUTOR.get());
+  }
+
+  @Override
+  public <ReqT, RespT> Listener<ReqT> interceptCall(
+      ServerCall<ReqT, RespT> call,
+      Metadata headers,
+      ServerCallHandler<ReqT, RespT> next
+  ) {
+    Executor currentExecutor = this.executor;
+    if (currentExecutor == null) {
+      return next.startCall(call, headers);
+    }
+    return Contexts.interceptCall(Context.current().withValue(CALL_EXECUTOR, currentExecutor), call, headers, next);
+  }
+}
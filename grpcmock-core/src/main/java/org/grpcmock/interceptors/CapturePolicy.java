@@ -0,0 +1,178 @@
+package org.grpcmock.interceptors;
+
+import java.time.Duration;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import org.grpcmock.exception.GrpcMockValidationException;
+
+/**
+ * <p>Defines which incoming requests are retained by {@link RequestCaptureInterceptor} for later verification.
+ * <p>By default all requests are retained until the mappings are reset. When gRPC Mock is used as a long living dependency
+ * (e.g. in load tests) a bounded policy should be used to limit the retained heap, for example:
+ * <code><pre>
+ * CapturePolicy.unbounded()
+ *     .withMaxRequests(10_000)
+ *     .withTimeToLive(Duration.ofMinutes(1));
+ * </pre></code>
+ * <p>Requests not retained because of the policy are still matched against the registered stubs, but verification results
+ * for them might be incomplete.
+ *
+ * @author Fadelis
+ */
+public final class CapturePolicy {
+
+  private static final CapturePolicy UNBOUNDED = new CapturePolicy(true, 0, 0, 1, null, 0, 0);
+  private static final CapturePolicy DISABLED = new CapturePolicy(false, 0, 0, 1, null, 0, 0);
+
+  private final boolean enabled;
+  private final int maxRequests;
+  private final int maxRequestsPerMethod;
+  private final int sampleRate;
+  private final Duration timeToLive;
+  private final int firstStreamRequests;
+  private final int lastStreamRequests;
+
+  private CapturePolicy(
+      boolean enabled,
+      int maxRequests,
+      int maxRequestsPerMethod,
+      int sampleRate,
+      Duration timeToLive,
+      int firstStreamRequests,
+      int lastStreamRequests
+  ) {
+    this.enabled = enabled;
+    this.maxRequests = maxRequests;
+    this.maxRequestsPerMethod = maxRequestsPerMethod;
+    this.sampleRate = sampleRate;
+    this.timeToLive = timeToLive;
+    this.firstStreamRequests = firstStreamRequests;
+    this.lastStreamRequests = lastStreamRequests;
+  }
+
+  /**
+   * Capture policy retaining all incoming requests. This is the default policy.
+   */
+  public static CapturePolicy unbounded() {
+    return UNBOUNDED;
+  }
+
+  /**
+   * Capture policy, which does not retain any incoming requests.
+   */
+  public static CapturePolicy disabled() {
+    return DISABLED;
+  }
+
+  /**
+   * Capture policy retaining only the given number of most recent requests.
+   */
+  public static CapturePolicy ringBuffer(int maxRequests) {
+    return unbounded().withMaxRequests(maxRequests);
+  }
+
+  /**
+   * Returns a copy of this policy, which retains only the given number of most recent requests. The oldest requests will be
+   * evicted first.
+   */
+  public CapturePolicy withMaxRequests(int maxRequests) {
+    requirePositive(maxRequests, "Max requests");
+    return new CapturePolicy(enabled, maxRequests, maxRequestsPerMethod, sampleRate, timeToLive,
+        firstStreamRequests, lastStreamRequests);
+  }
+
+  /**
+   * Returns a copy of this policy, which retains at most the given number of requests for each method. Requests for a method
+   * will not be retained once the limit is reached.
+   */
+  public CapturePolicy withMaxRequestsPerMethod(int maxRequestsPerMethod) {
+    requirePositive(maxRequestsPerMethod, "Max requests per method");
+    return new CapturePolicy(enabled, maxRequests, maxRequestsPerMethod, sampleRate, timeToLive,
+        firstStreamRequests, lastStreamRequests);
+  }
+
+  /**
+   * Returns a copy of this policy, which retains only one in every given number of incoming requests.
+   */
+  public CapturePolicy withSampling(int oneInEvery) {
+    requirePositive(oneInEvery, "Sample rate");
+    return new CapturePolicy(enabled, maxRequests, maxRequestsPerMethod, oneInEvery, timeToLive,
+        firstStreamRequests, lastStreamRequests);
+  }
+
+  /**
+   * Returns a copy of this policy, which evicts requests captured earlier than the given {@link Duration} ago.
+   */
+  public CapturePolicy withTimeToLive(@Nonnull Duration timeToLive) {
+    Objects.requireNonNull(timeToLive);
+    if (timeToLive.isNegative() || timeToLive.isZero()) {
+      throw new GrpcMockValidationException("Time to live should be a positive duration");
+    }
+    return new CapturePolicy(enabled, maxRequests, maxRequestsPerMethod, sampleRate, timeToLive,
+        firstStreamRequests, lastStreamRequests);
+  }
+
+  /**
+   * <p>Returns a copy of this policy, which retains only the given number of first and last messages of each request stream.
+   * The total number of received messages is still available via {@link CapturedRequest#requestsCount()}.
+   * <p>At least the first message is always retained, as it is used for stub matching of client and bidi streaming calls.
+   */
+  public CapturePolicy withStreamRequestsLimit(int firstStreamRequests, int lastStreamRequests) {
+    requirePositive(firstStreamRequests, "First stream requests");
+    if (lastStreamRequests < 0) {
+      throw new GrpcMockValidationException("Last stream requests should not be a negative number");
+    }
+    return new CapturePolicy(enabled, maxRequests, maxRequestsPerMethod, sampleRate, timeToLive,
+        firstStreamRequests, lastStreamRequests);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public boolean hasMaxRequests() {
+    return maxRequests > 0;
+  }
+
+  public int maxRequests() {
+    return maxRequests;
+  }
+
+  public boolean hasMaxRequestsPerMethod() {
+    return maxRequestsPerMethod > 0;
+  }
+
+  public int maxRequestsPerMethod() {
+    return maxRequestsPerMethod;
+  }
+
+  public int sampleRate() {
+    return sampleRate;
+  }
+
+  public boolean hasTimeToLive() {
+    return timeToLive != null;
+  }
+
+  public Duration timeToLive() {
+    return timeToLive;
+  }
+
+  public boolean hasStreamRequestsLimit() {
+    return firstStreamRequests > 0;
+  }
+
+  public int firstStreamRequests() {
+    return firstStreamRequests;
+  }
+
+  public int lastStreamRequests() {
+    return lastStreamRequests;
+  }
+
+  private static void requirePositive(int value, String name) {
+    if (value <= 0) {
+      throw new GrpcMockValidationException(name + " should be a positive number");
+    }
+  }
+}
@@ -2,9 +2,14 @@ package org.grpcmock.interceptors;
 
 import io.grpc.Metadata;
 import io.grpc.MethodDescriptor;
+import io.grpc.MethodDescriptor.Marshaller;
 import io.grpc.Status;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 
@@ -15,13 +20,24 @@ public final class CapturedRequest<ReqT> {
 
   private final MethodDescriptor<ReqT, ?> method;
   private final Metadata headers;
-  private final List<ReqT> requests;
+  private final CapturedRequestsBuffer<ReqT> requests;
+  private final long requestsCountOffset;
   private Status closeStatus;
+  private volatile Map<Marshaller<ReqT>, ParsedRequests<ReqT>> parsedRequests = Collections.emptyMap();
 
   public CapturedRequest(
       @Nonnull MethodDescriptor<ReqT, ?> method,
       @Nonnull Metadata headers,
       @Nonnull List<ReqT> requests
+  ) {
+    this(method, headers, CapturedRequestsBuffer.of(Objects.requireNonNull(requests)), 0);
+  }
+
+  CapturedRequest(
+      @Nonnull MethodDescriptor<ReqT, ?> method,
+      @Nonnull Metadata headers,
+      @Nonnull CapturedRequestsBuffer<ReqT> requests,
+      long requestsCountOffset
   ) {
     Objects.requireNonNull(method);
     Objects.requireNonNull(headers);
@@ -29,6 +45,23 @@ public final class CapturedRequest<ReqT> {
     this.method = method;
     this.headers = headers;
     this.requests = requests;
+    this.requestsCountOffset = requestsCountOffset;
+  }
+
+  /**
+   * Returns a copy of this captured request for the given method with the given requests, e.g. parsed from raw bytes,
+   * preserving the total number of received requests.
+   */
+  public <T> CapturedRequest<T> withRequests(@Nonnull MethodDescriptor<T, ?> method, @Nonnull List<T> requests) {
+    Objects.requireNonNull(requests);
+    return new CapturedRequest<>(method, headers, CapturedRequestsBuffer.of(requests), requestsCount() - requests.size());
+  }
+
+  /**
+   * Returns a view of this captured request with the given headers, which shares the received requests with this one.
+   */
+  CapturedRequest<ReqT> withHeaders(@Nonnull Metadata headers) {
+    return new CapturedRequest<>(method, headers, requests, requestsCountOffset);
   }
 
   public MethodDescriptor<ReqT, ?> method() {
@@ -39,8 +72,55 @@ public final class CapturedRequest<ReqT> {
     return headers;
   }
 
+  /**
+   * Returns received request messages. If the capture policy limits retained stream messages, only the retained first and
+   * last messages are returned.
+   */
   public List<ReqT> requests() {
-    return Collections.unmodifiableList(requests);
+    return requests.snapshot();
+  }
+
+  /**
+   * <p>Returns received request messages, parsing the ones captured as raw bytes with the given marshaller.
+   * <p>Requests to methods without registered stubs are captured as raw bytes. Parsed messages are memoized per
+   * marshaller until a new message is received, so repeated verifications parse each message once.
+   */
+  public List<ReqT> requests(@Nonnull Marshaller<ReqT> marshaller) {
+    Objects.requireNonNull(marshaller);
+    // count is read before the snapshot, so a memoized result is never considered newer than its content
+    long count = requestsCount();
+    List<ReqT> retainedRequests = requests.snapshot();
+    if (retainedRequests.isEmpty() || !(retainedRequests.get(0) instanceof byte[])) {
+      return retainedRequests;
+    }
+    Map<Marshaller<ReqT>, ParsedRequests<ReqT>> memoized = this.parsedRequests;
+    ParsedRequests<ReqT> cached = memoized.get(marshaller);
+    if (cached != null && cached.requestsCount == count) {
+      return cached.requests;
+    }
+    List<ReqT> parsed = new ArrayList<>(retainedRequests.size());
+    for (ReqT request : retainedRequests) {
+      parsed.add(request instanceof byte[]
+          ? marshaller.parse(new ByteArrayInputStream((byte[]) request))
+          : request);
+    }
+    List<ReqT> result = Collections.unmodifiableList(parsed);
+    // memo is replaced as a whole, a concurrently memoized result of another marshaller might be lost and parsed again
+    Map<Marshaller<ReqT>, ParsedRequests<ReqT>> updated = new IdentityHashMap<>(memoized);
+    updated.put(marshaller, new ParsedRequests<>(count, result));
+    this.parsedRequests = Collections.unmodifiableMap(updated);
+    return result;
+  }
+
+  /**
+   * Returns the total number of received request messages, including the ones not retained because of the capture policy.
+   */
+  public long requestsCount() {
+    return requests.totalCount() + requestsCountOffset;
+  }
+
+  void addRequest(ReqT request) {
+    requests.add(request);
   }
 
   public Status closeStatus() {
@@ -55,10 +135,22 @@ public final class CapturedRequest<ReqT> {
 
   @Override
   public String toString() {
+    List<ReqT> retainedRequests = requests.snapshot();
     return String.format("Request to %s method%nwith headers:%n%s%nwith request:%n%s",
         method.getFullMethodName(),
         headers,
-        requests.size() == 1 ? requests.get(0) : requests
+        retainedRequests.size() == 1 ? retainedRequests.get(0) : retainedRequests
     );
   }
+
+  private static final class ParsedRequests<ReqT> {
+
+    private final long requestsCount;
+    private final List<ReqT> requests;
+
+    private ParsedRequests(long requestsCount, List<ReqT> requests) {
+      this.requestsCount = requestsCount;
+      this.requests = requests;
+    }
+  }
 }
@@ -0,0 +1,178 @@
+package org.grpcmock.interceptors;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>Storage of {@link CapturedRequest} applying the configured {@link CapturePolicy}.
+ * <p>Captured requests are partitioned by the full method name and each partition keeps a counter of all received calls,
+ * including the ones not retained because of the {@link CapturePolicy}.
+ * <p>Retained requests of all methods are also kept in a single FIFO queue in the order they were stored, so that the
+ * oldest and expired requests are evicted from its head without scanning the methods. Storing, evicting and clearing
+ * requests is done under a single lock, while captured requests of a method are read without locking.
+ *
+ * @author Fadelis
+ */
+final class CapturedRequestStore {
+
+  private final Map<String, MethodCaptures> capturesPerMethod = new ConcurrentHashMap<>();
+  private final AtomicLong sampleCounter = new AtomicLong();
+  private final Object lock = new Object();
+  // guarded by lock
+  private final Deque<StoredRequest> storedRequests = new ArrayDeque<>();
+  private volatile CapturePolicy capturePolicy = CapturePolicy.unbounded();
+
+  void setCapturePolicy(@Nonnull CapturePolicy capturePolicy) {
+    Objects.requireNonNull(capturePolicy);
+    this.capturePolicy = capturePolicy;
+  }
+
+  CapturePolicy capturePolicy() {
+    return capturePolicy;
+  }
+
+  void offer(@Nonnull CapturedRequest<?> capturedRequest) {
+    CapturePolicy policy = this.capturePolicy;
+    String fullMethodName = capturedRequest.method().getFullMethodName();
+    MethodCaptures methodCaptures = methodCaptures(fullMethodName);
+    methodCaptures.callCount.incrementAndGet();
+    if (!policy.isEnabled() || sampleCounter.getAndIncrement() % policy.sampleRate() != 0) {
+      methodCaptures.discardedCount.incrementAndGet();
+      return;
+    }
+    synchronized (lock) {
+      // captures might have been cleared concurrently, so the request is stored to the current ones
+      MethodCaptures currentCaptures = methodCaptures(fullMethodName);
+      if (policy.hasMaxRequestsPerMethod() && currentCaptures.size.get() >= policy.maxRequestsPerMethod()) {
+        currentCaptures.discardedCount.incrementAndGet();
+        return;
+      }
+      StoredRequest storedRequest = new StoredRequest(capturedRequest, currentCaptures, System.nanoTime());
+      currentCaptures.storedRequests.add(storedRequest);
+      currentCaptures.size.incrementAndGet();
+      storedRequests.addLast(storedRequest);
+      evict(policy);
+    }
+  }
+
+  private MethodCaptures methodCaptures(String fullMethodName) {
+    return capturesPerMethod.computeIfAbsent(fullMethodName, key -> new MethodCaptures());
+  }
+
+  /**
+   * Returns retained requests for the given method in the order they were captured.
+   */
+  List<CapturedRequest<?>> capturedRequests(@Nonnull String fullMethodName) {
+    evict(capturePolicy);
+    MethodCaptures methodCaptures = capturesPerMethod.get(fullMethodName);
+    if (methodCaptures == null) {
+      return Collections.emptyList();
+    }
+    List<CapturedRequest<?>> result = new ArrayList<>();
+    for (StoredRequest storedRequest : methodCaptures.storedRequests) {
+      result.add(storedRequest.capturedRequest);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of all received calls for the given method, including the ones not retained because of the
+   * {@link CapturePolicy}.
+   */
+  int callCount(@Nonnull String fullMethodName) {
+    MethodCaptures methodCaptures = capturesPerMethod.get(fullMethodName);
+    return methodCaptures == null ? 0 : methodCaptures.callCount.get();
+  }
+
+  /**
+   * Returns the number of requests for the given method, which were not retained or were evicted because of the
+   * {@link CapturePolicy}.
+   */
+  long discardedCount(@Nonnull String fullMethodName) {
+    evict(capturePolicy);
+    MethodCaptures methodCaptures = capturesPerMethod.get(fullMethodName);
+    return methodCaptures == null ? 0 : methodCaptures.discardedCount.get();
+  }
+
+  /**
+   * Returns the number of requests for all methods, which were not retained or were evicted because of the
+   * {@link CapturePolicy}.
+   */
+  long discardedCount() {
+    evict(capturePolicy);
+    return capturesPerMethod.values().stream()
+        .mapToLong(methodCaptures -> methodCaptures.discardedCount.get())
+        .sum();
+  }
+
+  void clear() {
+    synchronized (lock) {
+      capturesPerMethod.clear();
+      storedRequests.clear();
+    }
+  }
+
+  private void evict(CapturePolicy policy) {
+    if (!policy.hasMaxRequests() && !policy.hasTimeToLive()) {
+      return;
+    }
+    synchronized (lock) {
+      while (policy.hasMaxRequests() && storedRequests.size() > policy.maxRequests()) {
+        evictOldest();
+      }
+      if (policy.hasTimeToLive()) {
+        long expiredBefore = System.nanoTime() - policy.timeToLive().toNanos();
+        StoredRequest oldest = storedRequests.peekFirst();
+        while (oldest != null && oldest.capturedAtNanos - expiredBefore < 0) {
+          evictOldest();
+          oldest = storedRequests.peekFirst();
+        }
+      }
+    }
+  }
+
+  /**
+   * Evicts the oldest stored request, which is also the oldest one of its method, as both queues are appended under the
+   * same lock.
+   */
+  private void evictOldest() {
+    StoredRequest oldest = storedRequests.pollFirst();
+    MethodCaptures methodCaptures = oldest.methodCaptures;
+    // the oldest request is the head of its method queue, so removing it does not scan the queue
+    methodCaptures.storedRequests.remove(oldest);
+    methodCaptures.size.decrementAndGet();
+    methodCaptures.discardedCount.incrementAndGet();
+  }
+
+  private static final class MethodCaptures {
+
+    private final Queue<StoredRequest> storedRequests = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger callCount = new AtomicInteger();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong discardedCount = new AtomicLong();
+  }
+
+  private static final class StoredRequest {
+
+    private final CapturedRequest<?> capturedRequest;
+    private final MethodCaptures methodCaptures;
+    private final long capturedAtNanos;
+
+    private StoredRequest(CapturedRequest<?> capturedRequest, MethodCaptures methodCaptures, long capturedAtNanos) {
+      this.capturedRequest = capturedRequest;
+      this.methodCaptures = methodCaptures;
+      this.capturedAtNanos = capturedAtNanos;
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package org.grpcmock.interceptors;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Append-only buffer of request messages received in a single call.
+ * <p>Messages are stored in chunks of doubling size, so appending never copies previously received messages, and
+ * {@link #snapshot()} returns a consistent view of the messages received so far without copying them. Messages are expected
+ * to be appended by a single thread at a time, as gRPC delivers messages of a call sequentially, while snapshots can be
+ * taken concurrently.
+ * <p>When limited, only the given number of first and last messages are retained, while the total number of received
+ * messages is still counted.
+ *
+ * @author Fadelis
+ */
+final class CapturedRequestsBuffer<T> {
+
+  // chunk k holds 2^k elements, so 31 chunks are enough to hold Integer.MAX_VALUE elements
+  private static final int MAX_CHUNKS = 31;
+
+  private final int maxFirst;
+  private final Object[] last;
+  private final Object[][] chunks = new Object[MAX_CHUNKS][];
+  private final AtomicInteger firstSize = new AtomicInteger();
+  private final AtomicLong totalCount = new AtomicLong();
+  private int lastStart;
+  private int lastSize;
+
+  private CapturedRequestsBuffer(int maxFirst, int maxLast) {
+    this.maxFirst = maxFirst;
+    this.last = maxLast > 0 ? new Object[maxLast] : null;
+  }
+
+  static <T> CapturedRequestsBuffer<T> unbounded() {
+    return new CapturedRequestsBuffer<>(Integer.MAX_VALUE, 0);
+  }
+
+  static <T> CapturedRequestsBuffer<T> limited(int maxFirst, int maxLast) {
+    return new CapturedRequestsBuffer<>(maxFirst, maxLast);
+  }
+
+  static <T> CapturedRequestsBuffer<T> of(List<T> elements) {
+    CapturedRequestsBuffer<T> buffer = unbounded();
+    elements.forEach(buffer::add);
+    return buffer;
+  }
+
+  void add(T element) {
+    int size = firstSize.get();
+    if (size < maxFirst) {
+      int chunkIndex = chunkIndex(size);
+      if (chunks[chunkIndex] == null) {
+        chunks[chunkIndex] = new Object[1 << chunkIndex];
+      }
+      chunks[chunkIndex][chunkOffset(size, chunkIndex)] = element;
+      // volatile write publishes the element to snapshots taken afterwards
+      firstSize.set(size + 1);
+    } else if (last != null) {
+      synchronized (last) {
+        last[(lastStart + lastSize) % last.length] = element;
+        if (lastSize < last.length) {
+          lastSize++;
+        } else {
+          lastStart = (lastStart + 1) % last.length;
+        }
+      }
+    }
+    totalCount.incrementAndGet();
+  }
+
+  /**
+   * Returns the total number of received messages, including the ones not retained.
+   */
+  long totalCount() {
+    return totalCount.get();
+  }
+
+  /**
+   * Returns an unmodifiable list of the retained messages received so far.
+   */
+  List<T> snapshot() {
+    ChunkedView<T> first = new ChunkedView<>(chunks, firstSize.get());
+    if (last == null || first.size() < maxFirst) {
+      return first;
+    }
+    synchronized (last) {
+      List<T> result = new ArrayList<>(first.size() + lastSize);
+      result.addAll(first);
+      for (int i = 0; i < lastSize; i++) {
+        result.add(elementAt(last, (lastStart + i) % last.length));
+      }
+      return Collections.unmodifiableList(result);
+    }
+  }
+
+  private static int chunkIndex(int index) {
+    return 31 - Integer.numberOfLeadingZeros(index + 1);
+  }
+
+  private static int chunkOffset(int index, int chunkIndex) {
+    return index + 1 - (1 << chunkIndex);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T elementAt(Object[] array, int index) {
+    return (T) array[index];
+  }
+
+  private static final class ChunkedView<T> extends AbstractList<T> implements RandomAccess {
+
+    private final Object[][] chunks;
+    private final int size;
+
+    private ChunkedView(Object[][] chunks, int size) {
+      this.chunks = chunks;
+      this.size = size;
+    }
+
+    @Override
+    public T get(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+      int chunkIndex = chunkIndex(index);
+      return elementAt(chunks[chunkIndex], chunkOffset(index, chunkIndex));
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
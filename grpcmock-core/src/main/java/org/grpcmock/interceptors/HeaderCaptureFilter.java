@@ -0,0 +1,116 @@
+package org.grpcmock.interceptors;
+
+import io.grpc.Metadata;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>Defines which incoming request headers are retained for verification by {@link RequestCaptureInterceptor}.
+ * <p>By default all headers are copied for every call. Headers, which are not needed by verifications, like large tracing
+ * or authentication headers, can be left out to reduce per call allocations and retained heap, for example:
+ * <code><pre>
+ * HeaderCaptureFilter.only(TENANT_HEADER, REQUEST_ID_HEADER);
+ * </pre></code>
+ * <p>Stubs are matched against all incoming headers regardless of this filter, while headers, which are not captured, are
+ * not visible to verifications.
+ *
+ * @author Fadelis
+ */
+public final class HeaderCaptureFilter {
+
+  private static final HeaderCaptureFilter ALL = new HeaderCaptureFilter(Mode.ALL, Collections.emptySet());
+  private static final HeaderCaptureFilter NONE = new HeaderCaptureFilter(Mode.ONLY, Collections.emptySet());
+
+  private enum Mode {
+    ALL,
+    ONLY,
+    ALL_EXCEPT
+  }
+
+  private final Mode mode;
+  private final Set<Metadata.Key<?>> keys;
+  private final Set<String> keyNames;
+
+  private HeaderCaptureFilter(Mode mode, Set<Metadata.Key<?>> keys) {
+    this.mode = mode;
+    this.keys = keys;
+    this.keyNames = keys.stream().map(Metadata.Key::name).collect(Collectors.toSet());
+  }
+
+  /**
+   * Header capture filter capturing all incoming headers. This is the default filter.
+   */
+  public static HeaderCaptureFilter all() {
+    return ALL;
+  }
+
+  /**
+   * Header capture filter, which does not capture any incoming headers.
+   */
+  public static HeaderCaptureFilter none() {
+    return NONE;
+  }
+
+  /**
+   * Header capture filter capturing only the given headers.
+   */
+  public static HeaderCaptureFilter only(@Nonnull Metadata.Key<?>... keys) {
+    return new HeaderCaptureFilter(Mode.ONLY, toSet(keys));
+  }
+
+  /**
+   * Header capture filter capturing all incoming headers except the given ones.
+   */
+  public static HeaderCaptureFilter allExcept(@Nonnull Metadata.Key<?>... keys) {
+    return new HeaderCaptureFilter(Mode.ALL_EXCEPT, toSet(keys));
+  }
+
+  private static Set<Metadata.Key<?>> toSet(Metadata.Key<?>... keys) {
+    Objects.requireNonNull(keys);
+    Arrays.stream(keys).forEach(Objects::requireNonNull);
+    return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(keys)));
+  }
+
+  /**
+   * Returns a copy of the incoming headers with only the headers accepted by this filter.
+   */
+  Metadata capture(@Nonnull Metadata incomingHeaders) {
+    Metadata capturedHeaders = new Metadata();
+    switch (mode) {
+      case ONLY:
+        if (!keys.isEmpty()) {
+          capturedHeaders.merge(incomingHeaders, keys);
+        }
+        break;
+      case ALL_EXCEPT:
+        // only the retained headers are copied, so that large denied ones are never allocated
+        Set<Metadata.Key<?>> retainedKeys = new HashSet<>();
+        for (String name : incomingHeaders.keys()) {
+          if (!keyNames.contains(name)) {
+            retainedKeys.add(keyOf(name));
+          }
+        }
+        capturedHeaders.merge(incomingHeaders, retainedKeys);
+        break;
+      default:
+        capturedHeaders.merge(incomingHeaders);
+    }
+    return capturedHeaders;
+  }
+
+  /**
+   * Returns a key for the given header name. Values are copied without being unmarshalled, so marshaller only has to
+   * accept the header name.
+   */
+  private static Metadata.Key<?> keyOf(String name) {
+    return name.endsWith(Metadata.BINARY_HEADER_SUFFIX)
+        ? Metadata.Key.of(name, Metadata.BINARY_BYTE_MARSHALLER)
+        : Metadata.Key.of(name, Metadata.ASCII_STRING_MARSHALLER);
+  }
+}
@@ -1,5 +1,7 @@
 package org.grpcmock.interceptors;
 
+import static java.util.Optional.ofNullable;
+
 import io.grpc.Context;
 import io.grpc.Contexts;
 import io.grpc.ForwardingServerCall.SimpleForwardingServerCall;
@@ -13,13 +15,15 @@ import io.grpc.ServerInterceptor;
 import io.grpc.Status;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.grpcmock.GrpcMock;
+import org.grpcmock.GrpcMockNamespace;
 import org.grpcmock.definitions.verification.RequestPattern;
+import org.grpcmock.exception.GrpcMockException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,12 +36,100 @@ public final class RequestCaptureInterceptor implements ServerInterceptor {
   private static final String SEPARATOR = "----------------------------------------";
   private static final Context.Key<CapturedRequest> CAPTURED_REQUEST = Context.key("capture_request");
 
-  private final Queue<CapturedRequest> capturedRequests = new ConcurrentLinkedQueue<>();
+  private final CapturedRequestStore capturedRequests = new CapturedRequestStore();
+  private final Map<String, CapturedRequestStore> namespaceCapturedRequests = new ConcurrentHashMap<>();
+  private volatile RequestLoggingMode requestLoggingMode = RequestLoggingMode.FULL;
+  private volatile HeaderCaptureFilter headerCaptureFilter = HeaderCaptureFilter.all();
+
+  /**
+   * Configures which incoming requests will be retained for verification.
+   */
+  public void setCapturePolicy(@Nonnull CapturePolicy capturePolicy) {
+    capturedRequests.setCapturePolicy(capturePolicy);
+    namespaceCapturedRequests.values().forEach(store -> store.setCapturePolicy(capturePolicy));
+  }
+
+  /**
+   * Configures which incoming request headers are retained for verification. Stubs are always matched against all incoming
+   * headers.
+   */
+  public void setHeaderCaptureFilter(@Nonnull HeaderCaptureFilter headerCaptureFilter) {
+    Objects.requireNonNull(headerCaptureFilter);
+    this.headerCaptureFilter = headerCaptureFilter;
+  }
+
+  /**
+   * Adds a separate captured request store for calls with the given {@link GrpcMockNamespace#HEADER} value. Calls for
+   * namespaces without a store are not captured.
+   */
+  public void addNamespace(@Nonnull String namespace) {
+    Objects.requireNonNull(namespace);
+    namespaceCapturedRequests.computeIfAbsent(namespace, key -> {
+      CapturedRequestStore store = new CapturedRequestStore();
+      store.setCapturePolicy(capturedRequests.capturePolicy());
+      return store;
+    });
+  }
+
+  /**
+   * Removes the captured request store of the given namespace together with its captured requests.
+   */
+  public void removeNamespace(@Nonnull String namespace) {
+    Objects.requireNonNull(namespace);
+    namespaceCapturedRequests.remove(namespace);
+  }
+
+  /**
+   * Configures how incoming request messages are logged. Messages are logged at <code>INFO</code> level.
+   */
+  public void setRequestLoggingMode(@Nonnull RequestLoggingMode requestLoggingMode) {
+    Objects.requireNonNull(requestLoggingMode);
+    this.requestLoggingMode = requestLoggingMode;
+  }
+
+  /**
+   * Returns the number of requests, which were not retained or were evicted because of the configured {@link CapturePolicy}.
+   * If it's greater than zero, verification results might be incomplete.
+   */
+  public long discardedRequestsCount() {
+    return capturedRequests.discardedCount();
+  }
+
+  /**
+   * Returns the number of requests matching the given pattern, which were not retained or were evicted because of the
+   * configured {@link CapturePolicy}. Patterns matching all calls of a method are always counted completely.
+   */
+  public long discardedRequestsCount(@Nonnull RequestPattern<?> requestPattern) {
+    return discardedRequestsCount(null, requestPattern);
+  }
+
+  /**
+   * Same as {@link #discardedRequestsCount(RequestPattern)} for requests of the given namespace, or of calls without a
+   * namespace if it's <code>null</code>.
+   */
+  public long discardedRequestsCount(@Nullable String namespace, @Nonnull RequestPattern<?> requestPattern) {
+    Objects.requireNonNull(requestPattern);
+    if (requestPattern.matchesAllCalls()) {
+      return 0;
+    }
+    return store(namespace).discardedCount(requestPattern.fullMethodName());
+  }
 
   public <ReqT> List<CapturedRequest<ReqT>> requestsFor(@Nonnull RequestPattern<ReqT> requestPattern) {
+    return requestsFor(null, requestPattern);
+  }
+
+  /**
+   * Returns captured requests of the given namespace, or of calls without a namespace if it's <code>null</code>, matching
+   * the given pattern.
+   */
+  public <ReqT> List<CapturedRequest<ReqT>> requestsFor(
+      @Nullable String namespace,
+      @Nonnull RequestPattern<ReqT> requestPattern
+  ) {
     Objects.requireNonNull(requestPattern);
     List<CapturedRequest<ReqT>> matchedRequests = new ArrayList<>();
-    for (CapturedRequest capturedRequest : capturedRequests) {
+    for (CapturedRequest capturedRequest : store(namespace).capturedRequests(requestPattern.fullMethodName())) {
       if (requestPattern.matches(capturedRequest)) {
         matchedRequests.add(requestPattern.normalizedCapturedRequest(capturedRequest));
       }
@@ -46,13 +138,58 @@ public final class RequestCaptureInterceptor implements ServerInterceptor {
   }
 
   public int callCountFor(@Nonnull RequestPattern<?> requestPattern) {
-    return requestsFor(requestPattern).size();
+    return callCountFor(null, requestPattern);
+  }
+
+  /**
+   * Returns the number of calls of the given namespace, or of calls without a namespace if it's <code>null</code>,
+   * matching the given pattern.
+   */
+  public int callCountFor(@Nullable String namespace, @Nonnull RequestPattern<?> requestPattern) {
+    Objects.requireNonNull(requestPattern);
+    CapturedRequestStore store = store(namespace);
+    if (requestPattern.matchesAllCalls()) {
+      return store.callCount(requestPattern.fullMethodName());
+    }
+    return countMatching(store, requestPattern);
   }
 
+  private static <ReqT> int countMatching(CapturedRequestStore store, RequestPattern<ReqT> requestPattern) {
+    int count = 0;
+    for (CapturedRequest capturedRequest : store.capturedRequests(requestPattern.fullMethodName())) {
+      if (requestPattern.matches(capturedRequest)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Clears captured requests of calls without a namespace.
+   */
   public void clear() {
     capturedRequests.clear();
   }
 
+  /**
+   * Clears captured requests of the given namespace, or of calls without a namespace if it's <code>null</code>.
+   */
+  public void clear(@Nullable String namespace) {
+    if (namespace == null) {
+      capturedRequests.clear();
+    } else {
+      ofNullable(namespaceCapturedRequests.get(namespace)).ifPresent(CapturedRequestStore::clear);
+    }
+  }
+
+  private CapturedRequestStore store(@Nullable String namespace) {
+    if (namespace == null) {
+      return capturedRequests;
+    }
+    return ofNullable(namespaceCapturedRequests.get(namespace))
+        .orElseThrow(() -> new GrpcMockException("Unknown gRPC Mock namespace: " + namespace));
+  }
+
   @Override
   public <ReqT, RespT> Listener<ReqT> interceptCall(
       ServerCall<ReqT, RespT> call,
@@ -61,8 +198,7 @@ public final class RequestCaptureInterceptor implements ServerInterceptor {
   ) {
     MethodDescriptor<ReqT, RespT> method = call.getMethodDescriptor();
     Metadata headers = getCapturedMetadata(metadata);
-    List<ReqT> requests = new CopyOnWriteArrayList<>();
-    CapturedRequest<ReqT> capturedRequest = captureRequest(method, headers, requests);
+    CapturedRequest<ReqT> capturedRequest = captureRequest(method, headers, metadata.get(GrpcMockNamespace.HEADER));
 
     ServerCall<ReqT, RespT> forwardingCall = new SimpleForwardingServerCall<ReqT, RespT>(call) {
       @Override
@@ -71,33 +207,55 @@ public final class RequestCaptureInterceptor implements ServerInterceptor {
         super.close(status, trailers);
       }
     };
-    Context ctx = Context.current().withValue(CAPTURED_REQUEST, capturedRequest);
+    // stubs are matched against all incoming headers, header capture filter applies only to the retained request
+    Context ctx = Context.current().withValue(CAPTURED_REQUEST, capturedRequest.withHeaders(metadata));
     Listener<ReqT> interceptedListener = Contexts.interceptCall(ctx, forwardingCall, metadata, next);
 
     return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(interceptedListener) {
       @Override
       public void onMessage(ReqT message) {
-        requests.add(message);
-        if (log.isInfoEnabled()) {
-          log.info("\n{}\nReceived request:\n{}\n{}", SEPARATOR, capturedRequest, SEPARATOR);
-        }
+        capturedRequest.addRequest(message);
+        logRequest(method, headers, message, capturedRequest.requestsCount());
         super.onMessage(message);
       }
     };
   }
 
-  private <ReqT> CapturedRequest<ReqT> captureRequest(MethodDescriptor<ReqT, ?> method, Metadata headers, List<ReqT> requests) {
-    CapturedRequest<ReqT> capturedRequest = new CapturedRequest<>(method, headers, requests);
-    if (!capturedRequests.offer(capturedRequest)) {
-      log.warn("Failed to capture request in the queue");
+  private void logRequest(MethodDescriptor<?, ?> method, Metadata headers, Object message, long messageNumber) {
+    if (requestLoggingMode == RequestLoggingMode.OFF || !log.isInfoEnabled()) {
+      return;
+    }
+    if (requestLoggingMode == RequestLoggingMode.SUMMARY) {
+      log.info("Received request #{} to {} method", messageNumber, method.getFullMethodName());
+    } else if (messageNumber == 1) {
+      log.info("\n{}\nReceived request #{} to {} method\nwith headers:\n{}\nwith request:\n{}\n{}",
+          SEPARATOR, messageNumber, method.getFullMethodName(), headers, message, SEPARATOR);
+    } else {
+      log.info("\n{}\nReceived request #{} to {} method\nwith request:\n{}\n{}",
+          SEPARATOR, messageNumber, method.getFullMethodName(), message, SEPARATOR);
+    }
+  }
+
+  private <ReqT> CapturedRequest<ReqT> captureRequest(
+      MethodDescriptor<ReqT, ?> method,
+      Metadata headers,
+      @Nullable String namespace
+  ) {
+    CapturedRequestStore store = namespace == null ? capturedRequests : namespaceCapturedRequests.get(namespace);
+    CapturePolicy capturePolicy = ofNullable(store).orElse(capturedRequests).capturePolicy();
+    CapturedRequestsBuffer<ReqT> requests = capturePolicy.hasStreamRequestsLimit()
+        ? CapturedRequestsBuffer.limited(capturePolicy.firstStreamRequests(), capturePolicy.lastStreamRequests())
+        : CapturedRequestsBuffer.unbounded();
+    CapturedRequest<ReqT> capturedRequest = new CapturedRequest<>(method, headers, requests, 0);
+    // calls of unknown namespaces are not captured, as there is no stub able to handle them
+    if (store != null) {
+      store.offer(capturedRequest);
     }
     return capturedRequest;
   }
 
   private Metadata getCapturedMetadata(Metadata incomingMetadata) {
-    Metadata capturedHeaders = new Metadata();
-    capturedHeaders.merge(incomingMetadata);
-    return capturedHeaders;
+    return headerCaptureFilter.capture(incomingMetadata);
   }
 
   public static <ReqT> CapturedRequest<ReqT> getCapturedRequest() {
@@ -0,0 +1,22 @@
+package org.grpcmock.interceptors;
+
+/**
+ * Defines how incoming request messages are logged by gRPC Mock.
+ *
+ * @author Fadelis
+ */
+public enum RequestLoggingMode {
+  /**
+   * Incoming requests are not logged.
+   */
+  OFF,
+  /**
+   * Method name and index of each received message in the call are logged.
+   */
+  SUMMARY,
+  /**
+   * Each received message is logged together with the method name, and the first message of a call also includes the
+   * request headers.
+   */
+  FULL
+}
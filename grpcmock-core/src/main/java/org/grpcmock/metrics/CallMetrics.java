@@ -0,0 +1,101 @@
+package org.grpcmock.metrics;
+
+import io.grpc.Status;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+/**
+ * Immutable snapshot of metrics of calls to a method or to stubs of a scenario.
+ *
+ * @author Fadelis
+ */
+public final class CallMetrics {
+
+  private final long calls;
+  private final long inFlightCalls;
+  private final Map<Status.Code, Long> errors;
+  private final long bytesReceived;
+  private final long bytesSent;
+  private final LatencyHistogram latency;
+
+  CallMetrics(
+      long calls,
+      long inFlightCalls,
+      @Nonnull Map<Status.Code, Long> errors,
+      long bytesReceived,
+      long bytesSent,
+      @Nonnull LatencyHistogram latency
+  ) {
+    this.calls = calls;
+    this.inFlightCalls = inFlightCalls;
+    this.errors = errors.isEmpty()
+        ? Collections.emptyMap()
+        : Collections.unmodifiableMap(new EnumMap<>(errors));
+    this.bytesReceived = bytesReceived;
+    this.bytesSent = bytesSent;
+    this.latency = latency;
+  }
+
+  static CallMetrics empty() {
+    return new CallMetrics(0, 0, Collections.emptyMap(), 0, 0, LatencyHistogram.empty());
+  }
+
+  /**
+   * Returns the number of completed calls.
+   */
+  public long calls() {
+    return calls;
+  }
+
+  /**
+   * Returns the number of calls, which are currently being handled.
+   */
+  public long inFlightCalls() {
+    return inFlightCalls;
+  }
+
+  /**
+   * Returns the number of calls completed with a non-OK status, keyed by the status code.
+   */
+  public Map<Status.Code, Long> errors() {
+    return errors;
+  }
+
+  /**
+   * Returns the number of calls completed with the given status code.
+   */
+  public long callsWithStatus(@Nonnull Status.Code code) {
+    return code == Status.Code.OK
+        ? calls - errors.values().stream().mapToLong(Long::longValue).sum()
+        : errors.getOrDefault(code, 0L);
+  }
+
+  /**
+   * Returns the number of received request bytes.
+   */
+  public long bytesReceived() {
+    return bytesReceived;
+  }
+
+  /**
+   * Returns the number of sent response bytes.
+   */
+  public long bytesSent() {
+    return bytesSent;
+  }
+
+  /**
+   * Returns the histogram of server-side handling latency of completed calls.
+   */
+  public LatencyHistogram latency() {
+    return latency;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("CallMetrics{calls=%d, inFlightCalls=%d, errors=%s, bytesReceived=%d, bytesSent=%d, latency=%s}",
+        calls, inFlightCalls, errors, bytesReceived, bytesSent, latency);
+  }
+}
@@ -0,0 +1,23 @@
+package org.grpcmock.metrics;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>Listener of calls handled by the gRPC Mock server, e.g. for exporting call metrics to a metrics library.
+ * <p>Listeners are called on the gRPC transport threads, so they should not block.
+ *
+ * @author Fadelis
+ */
+public interface CallMetricsListener {
+
+  /**
+   * Called when a new call to the given method is received.
+   */
+  default void onCallStarted(@Nonnull String fullMethodName) {
+  }
+
+  /**
+   * Called when a call is completed.
+   */
+  void onCallCompleted(@Nonnull CompletedCall call);
+}
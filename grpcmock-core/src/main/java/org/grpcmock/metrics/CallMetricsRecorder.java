@@ -0,0 +1,74 @@
+package org.grpcmock.metrics;
+
+import io.grpc.Status;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+
+/**
+ * Lock-free recorder of metrics of calls to a method or to stubs of a scenario.
+ *
+ * @author Fadelis
+ */
+final class CallMetricsRecorder {
+
+  private final LongAdder calls = new LongAdder();
+  private final AtomicLong inFlightCalls = new AtomicLong();
+  private final Map<Status.Code, LongAdder> errors = new ConcurrentHashMap<>();
+  private final LongAdder bytesReceived = new LongAdder();
+  private final LongAdder bytesSent = new LongAdder();
+  private final AtomicLongArray latencyBuckets = new AtomicLongArray(LatencyHistogram.BUCKETS);
+  private final AtomicLong maxLatencyMicros = new AtomicLong();
+
+  void callStarted() {
+    inFlightCalls.incrementAndGet();
+  }
+
+  void callCompleted(@Nonnull CompletedCall call) {
+    inFlightCalls.decrementAndGet();
+    calls.increment();
+    if (call.statusCode() != Status.Code.OK) {
+      errors.computeIfAbsent(call.statusCode(), code -> new LongAdder()).increment();
+    }
+    bytesReceived.add(call.bytesReceived());
+    bytesSent.add(call.bytesSent());
+    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(call.latencyNanos());
+    latencyBuckets.incrementAndGet(LatencyHistogram.bucketIndex(latencyMicros));
+    maxLatencyMicros.accumulateAndGet(latencyMicros, Math::max);
+  }
+
+  /**
+   * Resets all metrics, except the number of in-flight calls.
+   */
+  void reset() {
+    calls.reset();
+    errors.clear();
+    bytesReceived.reset();
+    bytesSent.reset();
+    for (int i = 0; i < latencyBuckets.length(); i++) {
+      latencyBuckets.set(i, 0);
+    }
+    maxLatencyMicros.set(0);
+  }
+
+  CallMetrics snapshot() {
+    Map<Status.Code, Long> errorCounts = new EnumMap<>(Status.Code.class);
+    errors.forEach((code, count) -> errorCounts.put(code, count.sum()));
+    long[] buckets = new long[latencyBuckets.length()];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = latencyBuckets.get(i);
+    }
+    return new CallMetrics(
+        calls.sum(),
+        inFlightCalls.get(),
+        errorCounts,
+        bytesReceived.sum(),
+        bytesSent.sum(),
+        new LatencyHistogram(buckets, maxLatencyMicros.get()));
+  }
+}
@@ -0,0 +1,71 @@
+package org.grpcmock.metrics;
+
+import io.grpc.Status;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Details of a single completed call reported to {@link CallMetricsListener}.
+ *
+ * @author Fadelis
+ */
+public final class CompletedCall {
+
+  private final String fullMethodName;
+  private final String scenarioName;
+  private final Status.Code statusCode;
+  private final long latencyNanos;
+  private final long bytesReceived;
+  private final long bytesSent;
+
+  CompletedCall(
+      @Nonnull String fullMethodName,
+      @Nullable String scenarioName,
+      @Nonnull Status.Code statusCode,
+      long latencyNanos,
+      long bytesReceived,
+      long bytesSent
+  ) {
+    this.fullMethodName = fullMethodName;
+    this.scenarioName = scenarioName;
+    this.statusCode = statusCode;
+    this.latencyNanos = latencyNanos;
+    this.bytesReceived = bytesReceived;
+    this.bytesSent = bytesSent;
+  }
+
+  /**
+   * Returns the full name of the called method, or {@link GrpcMockMetrics#OTHER_METHODS} when the limit of recorded methods
+   * was reached.
+   */
+  public String fullMethodName() {
+    return fullMethodName;
+  }
+
+  /**
+   * Returns the scenario of the stub, which handled the call, or <code>null</code> if the stub was not in a scenario.
+   */
+  @Nullable
+  public String scenarioName() {
+    return scenarioName;
+  }
+
+  public Status.Code statusCode() {
+    return statusCode;
+  }
+
+  /**
+   * Returns the server-side handling latency of the call in nanoseconds.
+   */
+  public long latencyNanos() {
+    return latencyNanos;
+  }
+
+  public long bytesReceived() {
+    return bytesReceived;
+  }
+
+  public long bytesSent() {
+    return bytesSent;
+  }
+}
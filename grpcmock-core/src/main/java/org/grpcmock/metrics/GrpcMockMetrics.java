@@ -0,0 +1,237 @@
+package org.grpcmock.metrics;
+
+import io.grpc.Context;
+import io.grpc.Metadata;
+import io.grpc.ServerStreamTracer;
+import io.grpc.Status;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import org.grpcmock.GrpcMock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Metrics of calls handled by the gRPC Mock server: number of calls, errors by status code, received and sent bytes,
+ * in-flight calls and a histogram of server-side handling latency. Metrics are kept per method and per stub scenario.
+ * <p>Calls are observed by a {@link ServerStreamTracer}, so bytes are counted as they are transferred and latency is
+ * measured from receiving the call headers until the call is closed. Metrics can also be exported by registering a
+ * {@link CallMetricsListener}.
+ * <p>Method names are supplied by the clients, so metrics are kept separately for at most {@value #MAX_RECORDED_METHODS}
+ * methods. Calls to any further methods are recorded together under the {@value #OTHER_METHODS} method name.
+ *
+ * @author Fadelis
+ */
+public final class GrpcMockMetrics {
+
+  public static final String OTHER_METHODS = "other";
+  public static final int MAX_RECORDED_METHODS = 1000;
+  private static final Logger log = LoggerFactory.getLogger(GrpcMock.class);
+  private static final Context.Key<CallTracer> CALL_TRACER = Context.key("grpcmock_call_tracer");
+
+  private final Map<String, CallMetricsRecorder> methodRecorders = new ConcurrentHashMap<>();
+  private final Map<String, CallMetricsRecorder> scenarioRecorders = new ConcurrentHashMap<>();
+  private final List<CallMetricsListener> listeners = new CopyOnWriteArrayList<>();
+  private final ServerStreamTracer.Factory streamTracerFactory = new ServerStreamTracer.Factory() {
+    @Override
+    public ServerStreamTracer newServerStreamTracer(String fullMethodName, Metadata headers) {
+      return new CallTracer(fullMethodName);
+    }
+  };
+
+  /**
+   * Returns the stream tracer factory, which has to be registered to the server for the metrics to be recorded.
+   */
+  public ServerStreamTracer.Factory streamTracerFactory() {
+    return streamTracerFactory;
+  }
+
+  /**
+   * Returns metrics of calls to the given method.
+   */
+  public CallMetrics methodMetrics(@Nonnull String fullMethodName) {
+    Objects.requireNonNull(fullMethodName);
+    CallMetricsRecorder recorder = methodRecorders.get(fullMethodName);
+    return Objects.isNull(recorder) ? CallMetrics.empty() : recorder.snapshot();
+  }
+
+  /**
+   * Returns metrics of all called methods keyed by full method name.
+   */
+  public Map<String, CallMetrics> methodMetrics() {
+    return snapshots(methodRecorders);
+  }
+
+  /**
+   * Returns metrics of calls handled by stubs of the given scenario.
+   */
+  public CallMetrics scenarioMetrics(@Nonnull String scenarioName) {
+    Objects.requireNonNull(scenarioName);
+    CallMetricsRecorder recorder = scenarioRecorders.get(scenarioName);
+    return Objects.isNull(recorder) ? CallMetrics.empty() : recorder.snapshot();
+  }
+
+  /**
+   * Returns metrics of calls handled by stubs in scenarios keyed by scenario name.
+   */
+  public Map<String, CallMetrics> scenarioMetrics() {
+    return snapshots(scenarioRecorders);
+  }
+
+  public void addListener(@Nonnull CallMetricsListener listener) {
+    listeners.add(Objects.requireNonNull(listener));
+  }
+
+  public void removeListener(@Nonnull CallMetricsListener listener) {
+    listeners.remove(Objects.requireNonNull(listener));
+  }
+
+  /**
+   * Resets all recorded metrics, except the number of in-flight calls.
+   */
+  public void reset() {
+    methodRecorders.values().forEach(CallMetricsRecorder::reset);
+    scenarioRecorders.values().forEach(CallMetricsRecorder::reset);
+  }
+
+  /**
+   * Attributes the current call to the scenario of the stub handling it. Has no effect outside of a call context.
+   */
+  public static void recordStubScenario(@Nonnull String scenarioName) {
+    Objects.requireNonNull(scenarioName);
+    CallTracer tracer = CALL_TRACER.get();
+    if (Objects.nonNull(tracer)) {
+      tracer.setScenario(scenarioName);
+    }
+  }
+
+  private static Map<String, CallMetrics> snapshots(Map<String, CallMetricsRecorder> recorders) {
+    Map<String, CallMetrics> snapshots = new TreeMap<>();
+    recorders.forEach((name, recorder) -> snapshots.put(name, recorder.snapshot()));
+    return Collections.unmodifiableMap(snapshots);
+  }
+
+  /**
+   * Returns the name under which calls to the given method are recorded. The limit of methods can be exceeded only by the
+   * number of concurrently started calls to new methods.
+   */
+  private String recordedMethodName(String fullMethodName) {
+    return methodRecorders.size() < MAX_RECORDED_METHODS || methodRecorders.containsKey(fullMethodName)
+        ? fullMethodName
+        : OTHER_METHODS;
+  }
+
+  private void notifyListeners(Consumer<CallMetricsListener> notification) {
+    for (CallMetricsListener listener : listeners) {
+      try {
+        notification.accept(listener);
+      } catch (RuntimeException e) {
+        log.warn("Call metrics listener failed", e);
+      }
+    }
+  }
+
+  /**
+   * Traces a single call. Transferred sizes are reported as wire sizes by network transports, while in-process transport
+   * reports only uncompressed sizes.
+   */
+  private final class CallTracer extends ServerStreamTracer {
+
+    private final String fullMethodName;
+    private final CallMetricsRecorder methodRecorder;
+    private final long startNanos = System.nanoTime();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicLong inboundWireBytes = new AtomicLong();
+    private final AtomicLong inboundUncompressedBytes = new AtomicLong();
+    private final AtomicLong outboundWireBytes = new AtomicLong();
+    private final AtomicLong outboundUncompressedBytes = new AtomicLong();
+    // scenario is set by the stub handling the call, possibly concurrently with closing of the call
+    private String scenarioName;
+    private CallMetricsRecorder scenarioRecorder;
+
+    private CallTracer(String fullMethodName) {
+      this.fullMethodName = recordedMethodName(fullMethodName);
+      this.methodRecorder = methodRecorders.computeIfAbsent(this.fullMethodName, name -> new CallMetricsRecorder());
+      methodRecorder.callStarted();
+      notifyListeners(listener -> listener.onCallStarted(this.fullMethodName));
+    }
+
+    private synchronized void setScenario(String scenarioName) {
+      if (Objects.isNull(this.scenarioName) && !closed.get()) {
+        CallMetricsRecorder recorder = scenarioRecorders.computeIfAbsent(scenarioName, name -> new CallMetricsRecorder());
+        recorder.callStarted();
+        this.scenarioName = scenarioName;
+        this.scenarioRecorder = recorder;
+      }
+    }
+
+    @Override
+    public Context filterContext(Context context) {
+      return context.withValue(CALL_TRACER, this);
+    }
+
+    @Override
+    public void inboundWireSize(long bytes) {
+      addSize(inboundWireBytes, bytes);
+    }
+
+    @Override
+    public void inboundUncompressedSize(long bytes) {
+      addSize(inboundUncompressedBytes, bytes);
+    }
+
+    @Override
+    public void outboundWireSize(long bytes) {
+      addSize(outboundWireBytes, bytes);
+    }
+
+    @Override
+    public void outboundUncompressedSize(long bytes) {
+      addSize(outboundUncompressedBytes, bytes);
+    }
+
+    private void addSize(AtomicLong counter, long bytes) {
+      if (bytes > 0) {
+        counter.addAndGet(bytes);
+      }
+    }
+
+    @Override
+    public void streamClosed(Status status) {
+      if (closed.getAndSet(true)) {
+        return;
+      }
+      String scenario;
+      CallMetricsRecorder recorder;
+      synchronized (this) {
+        scenario = scenarioName;
+        recorder = scenarioRecorder;
+      }
+      CompletedCall call = new CompletedCall(
+          fullMethodName,
+          scenario,
+          status.getCode(),
+          System.nanoTime() - startNanos,
+          transferredBytes(inboundWireBytes, inboundUncompressedBytes),
+          transferredBytes(outboundWireBytes, outboundUncompressedBytes));
+      methodRecorder.callCompleted(call);
+      if (Objects.nonNull(recorder)) {
+        recorder.callCompleted(call);
+      }
+      notifyListeners(listener -> listener.onCallCompleted(call));
+    }
+
+    private long transferredBytes(AtomicLong wireBytes, AtomicLong uncompressedBytes) {
+      long bytes = wireBytes.get();
+      return bytes > 0 ? bytes : uncompressedBytes.get();
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package org.grpcmock.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Immutable snapshot of a call latency histogram.
+ * <p>Latency is recorded in microseconds into log-linear buckets, where every power of two is split into four buckets, so
+ * reported percentiles are within 25% of the exact value.
+ *
+ * @author Fadelis
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKETS = 4;
+  private static final int SUB_BUCKET_BITS = 2;
+  private static final long MAX_MICROS = (1L << 40) - 1;
+  static final int BUCKETS = bucketIndex(MAX_MICROS) + 1;
+
+  private final long[] counts;
+  private final long count;
+  private final long maxMicros;
+
+  LatencyHistogram(long[] counts, long maxMicros) {
+    this.counts = Arrays.copyOf(counts, counts.length);
+    this.count = Arrays.stream(counts).sum();
+    this.maxMicros = maxMicros;
+  }
+
+  static LatencyHistogram empty() {
+    return new LatencyHistogram(new long[BUCKETS], 0);
+  }
+
+  static int bucketIndex(long micros) {
+    long value = Math.min(Math.max(micros, 0), MAX_MICROS);
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return SUB_BUCKETS * (exponent - 1) + subBucket;
+  }
+
+  private static long bucketUpperBoundMicros(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int exponent = index / SUB_BUCKETS + 1;
+    int subBucket = index % SUB_BUCKETS;
+    return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+  }
+
+  /**
+   * Returns the number of recorded calls.
+   */
+  public long count() {
+    return count;
+  }
+
+  /**
+   * Returns the maximum recorded latency in milliseconds.
+   */
+  public double maxMillis() {
+    return toMillis(maxMicros);
+  }
+
+  /**
+   * Returns the approximate latency in milliseconds at the given percentile, or 0 if no calls were recorded.
+   *
+   * @param percentile percentile in range [0, 100].
+   */
+  public double percentileMillis(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return toMillis(Math.min(bucketUpperBoundMicros(i), maxMicros));
+      }
+    }
+    return maxMillis();
+  }
+
+  private static double toMillis(long micros) {
+    return (double) micros / TimeUnit.MILLISECONDS.toMicros(1);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("LatencyHistogram{count=%d, p50=%.3fms, p99=%.3fms, max=%.3fms}",
+        count, percentileMillis(50), percentileMillis(99), maxMillis());
+  }
+}
@@ -0,0 +1,188 @@
+package org.grpcmock.util;
+
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor.Marshaller;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import org.grpcmock.exception.GrpcMockException;
+
+/**
+ * <p>Server response observer, which allows registering an on ready handler at any time of the call.
+ * <p>gRPC allows setting an on ready handler only during the initial call of the method handler, while stub responses of
+ * client and bidi streaming methods are found only after the first request is received. This observer registers its own
+ * handler on creation and relays on ready notifications to the latest handler set via {@link #setOnReadyHandler}.
+ * All other calls are forwarded to the original observer.
+ * <p>The observer also knows the response marshaller of the method, so the size of sent messages can be determined.
+ * <p>The call can be terminated after a number of response messages via {@link #terminateAfter}, after which all
+ * further responses are ignored.
+ *
+ * @author Fadelis
+ */
+public final class FlowControlledResponseObserver<RespT> extends ServerCallStreamObserver<RespT> {
+
+  private final ServerCallStreamObserver<RespT> delegate;
+  private final Marshaller<Object> responseMarshaller;
+  private volatile Runnable onReadyHandler;
+  private final AtomicLong messagesUntilTermination = new AtomicLong();
+  private volatile Status terminationStatus;
+  private volatile boolean terminated;
+
+  private FlowControlledResponseObserver(
+      @Nonnull ServerCallStreamObserver<RespT> delegate,
+      @Nonnull Marshaller<Object> responseMarshaller
+  ) {
+    this.delegate = Objects.requireNonNull(delegate);
+    this.responseMarshaller = Objects.requireNonNull(responseMarshaller);
+  }
+
+  /**
+   * Wraps the given response observer if it is a {@link ServerCallStreamObserver}. Has to be called during the initial
+   * call of the method handler.
+   */
+  public static <RespT> StreamObserver<RespT> wrap(
+      @Nonnull StreamObserver<RespT> responseObserver,
+      @Nonnull Marshaller<Object> responseMarshaller
+  ) {
+    Objects.requireNonNull(responseObserver);
+    if (!(responseObserver instanceof ServerCallStreamObserver)) {
+      return responseObserver;
+    }
+    FlowControlledResponseObserver<RespT> observer = new FlowControlledResponseObserver<>(
+        (ServerCallStreamObserver<RespT>) responseObserver, responseMarshaller);
+    observer.delegate.setOnReadyHandler(observer::onReady);
+    return observer;
+  }
+
+  /**
+   * Returns the serialized size of the given response message. For protobuf messages the size is known without
+   * serializing the message.
+   */
+  public long serializedSize(@Nonnull Object message) {
+    Objects.requireNonNull(message);
+    try (InputStream stream = responseMarshaller.stream(message)) {
+      if (stream instanceof KnownLength) {
+        return stream.available();
+      }
+      long size = 0;
+      byte[] buffer = new byte[4096];
+      for (int read = stream.read(buffer); read != -1; read = stream.read(buffer)) {
+        size += read;
+      }
+      return size;
+    } catch (IOException e) {
+      throw new GrpcMockException("Failed to determine the size of response message", e);
+    }
+  }
+
+  /**
+   * Terminates the call with the given status after the given number of response messages, as if the connection was
+   * dropped mid-stream. Afterwards the call is reported as cancelled and all further responses are ignored.
+   */
+  public void terminateAfter(long messages, @Nonnull Status status) {
+    this.terminationStatus = Objects.requireNonNull(status);
+    this.messagesUntilTermination.set(messages);
+    if (messages <= 0) {
+      terminate();
+    }
+  }
+
+  private void terminate() {
+    if (!terminated) {
+      terminated = true;
+      delegate.onError(terminationStatus.asRuntimeException());
+    }
+  }
+
+  private void onReady() {
+    Runnable handler = onReadyHandler;
+    if (Objects.nonNull(handler)) {
+      handler.run();
+    }
+  }
+
+  @Override
+  public void setOnReadyHandler(Runnable onReadyHandler) {
+    this.onReadyHandler = onReadyHandler;
+  }
+
+  @Override
+  public boolean isReady() {
+    return delegate.isReady();
+  }
+
+  @Override
+  public boolean isCancelled() {
+    return terminated || delegate.isCancelled();
+  }
+
+  @Override
+  public void setOnCancelHandler(Runnable onCancelHandler) {
+    delegate.setOnCancelHandler(onCancelHandler);
+  }
+
+  @Override
+  public void setOnCloseHandler(Runnable onCloseHandler) {
+    delegate.setOnCloseHandler(onCloseHandler);
+  }
+
+  @Override
+  public void setOnReadyThreshold(int numBytes) {
+    delegate.setOnReadyThreshold(numBytes);
+  }
+
+  @Override
+  public void setCompression(String compression) {
+    delegate.setCompression(compression);
+  }
+
+  @Override
+  public void setMessageCompression(boolean enable) {
+    delegate.setMessageCompression(enable);
+  }
+
+  @Override
+  public void disableAutoInboundFlowControl() {
+    delegate.disableAutoInboundFlowControl();
+  }
+
+  @Override
+  public void disableAutoRequest() {
+    delegate.disableAutoRequest();
+  }
+
+  @Override
+  public void request(int count) {
+    delegate.request(count);
+  }
+
+  @Override
+  public void onNext(RespT value) {
+    if (terminated) {
+      return;
+    }
+    delegate.onNext(value);
+    if (Objects.nonNull(terminationStatus) && messagesUntilTermination.decrementAndGet() == 0) {
+      terminate();
+    }
+  }
+
+  @Override
+  public void onError(Throwable error) {
+    if (!terminated) {
+      delegate.onError(error);
+    }
+  }
+
+  @Override
+  public void onCompleted() {
+    if (!terminated) {
+      delegate.onCompleted();
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package org.grpcmock.util;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.grpcmock.interceptors.CallExecutorInterceptor;
+
+/**
+ * <p>Shared scheduler for delayed and paced response actions.
+ * <p>Delayed actions are scheduled instead of blocking gRPC executor threads, so waiting calls do not hold any threads.
+ * Scheduler threads are daemon threads and are created lazily on the first scheduled action.
+ * <p>Scheduler threads only act as timers - once the delay elapses, the action is executed on the executor of the
+ * current call, e.g. virtual threads when they are configured, so that slow actions do not stall other scheduled ones.
+ *
+ * @author Fadelis
+ */
+public final class ResponseScheduler {
+
+  private ResponseScheduler() {
+  }
+
+  /**
+   * Schedules the given task to be executed on the executor of the current call after the given delay.
+   */
+  public static void schedule(@Nonnull Runnable task, long delay, @Nonnull TimeUnit unit) {
+    Objects.requireNonNull(task);
+    Objects.requireNonNull(unit);
+    Executor executor = CallExecutorInterceptor.callExecutor().orElseGet(() -> ExecutorHolder.EXECUTOR);
+    Holder.SCHEDULER.schedule(() -> executor.execute(task), delay, unit);
+  }
+
+  private static final class Holder {
+
+    private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+    private static ScheduledExecutorService createScheduler() {
+      int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+      return new ScheduledThreadPoolExecutor(threadCount, new DaemonThreadFactory("grpcmock-response-scheduler-"));
+    }
+  }
+
+  /**
+   * Executor of the delayed actions for calls, which are executed on the gRPC default executor.
+   */
+  private static final class ExecutorHolder {
+
+    private static final ExecutorService EXECUTOR =
+        Executors.newCachedThreadPool(new DaemonThreadFactory("grpcmock-response-executor-"));
+  }
+
+  private static final class DaemonThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger threadNumber = new AtomicInteger();
+    private final String namePrefix;
+
+    private DaemonThreadFactory(String namePrefix) {
+      this.namePrefix = namePrefix;
+    }
+
+    @Override
+    public Thread newThread(@Nonnull Runnable runnable) {
+      Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
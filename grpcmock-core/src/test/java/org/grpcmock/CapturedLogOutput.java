@@ -0,0 +1,32 @@
+package org.grpcmock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+/**
+ * Captures the output of the test logger, which writes to {@link System#err}, until closed.
+ *
+ * @author Fadelis
+ */
+final class CapturedLogOutput implements AutoCloseable {
+
+  private final PrintStream originalErr = System.err;
+  private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+  private CapturedLogOutput() {
+    System.setErr(new PrintStream(output, true));
+  }
+
+  static CapturedLogOutput capture() {
+    return new CapturedLogOutput();
+  }
+
+  String output() {
+    return output.toString();
+  }
+
+  @Override
+  public void close() {
+    System.setErr(originalErr);
+  }
+}
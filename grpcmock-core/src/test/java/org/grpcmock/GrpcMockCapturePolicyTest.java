@@ -0,0 +1,238 @@
+package org.grpcmock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.grpcmock.GrpcMock.calledMethod;
+import static org.grpcmock.GrpcMock.clientStreamingMethod;
+import static org.grpcmock.GrpcMock.times;
+import static org.grpcmock.GrpcMock.unaryMethod;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.protobuf.SimpleRequest;
+import io.grpc.testing.protobuf.SimpleResponse;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceBlockingStub;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.grpcmock.exception.GrpcMockVerificationError;
+import org.grpcmock.interceptors.CapturePolicy;
+import org.grpcmock.interceptors.CapturedRequest;
+import org.grpcmock.interceptors.HeaderCaptureFilter;
+import org.grpcmock.util.FunctionalResponseObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Fadelis
+ */
+class GrpcMockCapturePolicyTest {
+
+  private static final Metadata.Key<String> HEADER_1 = Metadata.Key.of("header-1", Metadata.ASCII_STRING_MARSHALLER);
+  private static final Metadata.Key<String> HEADER_2 = Metadata.Key.of("header-2", Metadata.ASCII_STRING_MARSHALLER);
+  private static final Metadata.Key<byte[]> BINARY_HEADER = Metadata.Key.of("header-bin", Metadata.BINARY_BYTE_MARSHALLER);
+
+  private final SimpleRequest request = SimpleRequest.newBuilder().setRequestMessage("request-1").build();
+  private final SimpleResponse response = SimpleResponse.newBuilder().setResponseMessage("message-1").build();
+  private GrpcMock grpcMock;
+  private ManagedChannel serverChannel;
+
+  @AfterEach
+  void cleanup() {
+    serverChannel.shutdownNow();
+    grpcMock.stop();
+  }
+
+  @Test
+  void should_retain_only_most_recent_requests_with_ring_buffer_policy() {
+    startServer(CapturePolicy.ringBuffer(2));
+
+    performUnaryCalls(5);
+
+    assertThat(grpcMock.capturedRequestsFor(calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build())).hasSize(2);
+    assertThatThrownBy(() -> grpcMock.verifyThat(
+        calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).withRequest(request).build(), times(5)))
+        .isInstanceOf(GrpcMockVerificationError.class)
+        .hasMessageContaining("3 requests were discarded");
+  }
+
+  @Test
+  void should_not_retain_requests_with_disabled_policy_but_still_respond() {
+    startServer(CapturePolicy.disabled());
+
+    performUnaryCalls(3);
+
+    assertThat(grpcMock.capturedRequestsFor(calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build())).isEmpty();
+  }
+
+  @Test
+  void should_count_all_method_calls_regardless_of_capture_policy() {
+    startServer(CapturePolicy.disabled());
+
+    performUnaryCalls(3);
+
+    grpcMock.verifyThat(calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build(), times(3));
+    grpcMock.verifyThat(calledMethod(SimpleServiceGrpc.getServerStreamingRpcMethod()).build(), times(0));
+  }
+
+  @Test
+  void should_retain_limited_number_of_requests_per_method() {
+    startServer(CapturePolicy.unbounded().withMaxRequestsPerMethod(1));
+
+    performUnaryCalls(3);
+    SimpleServiceGrpc.newBlockingStub(serverChannel).serverStreamingRpc(request).forEachRemaining(ignore -> {
+    });
+
+    assertThat(grpcMock.capturedRequestsFor(calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build())).hasSize(1);
+    assertThat(grpcMock.capturedRequestsFor(calledMethod(SimpleServiceGrpc.getServerStreamingRpcMethod()).build()))
+        .hasSize(1);
+  }
+
+  @Test
+  void should_retain_sampled_requests() {
+    startServer(CapturePolicy.unbounded().withSampling(2));
+
+    performUnaryCalls(6);
+
+    assertThat(grpcMock.capturedRequestsFor(calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build())).hasSize(3);
+  }
+
+  @Test
+  void should_evict_expired_requests() throws InterruptedException {
+    startServer(CapturePolicy.unbounded().withTimeToLive(Duration.ofMillis(100)));
+
+    performUnaryCalls(2);
+    Thread.sleep(200);
+    performUnaryCalls(1);
+
+    assertThat(grpcMock.capturedRequestsFor(calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build())).hasSize(1);
+  }
+
+  @Test
+  void should_retain_all_stream_requests_in_order() throws Exception {
+    startServer(CapturePolicy.unbounded());
+
+    List<SimpleRequest> requests = performClientStreamingCall(1000);
+
+    List<CapturedRequest<SimpleRequest>> capturedRequests = grpcMock.capturedRequestsFor(
+        calledMethod(SimpleServiceGrpc.getClientStreamingRpcMethod()).build());
+    assertThat(capturedRequests).hasSize(1);
+    assertThat(capturedRequests.get(0).requests()).containsExactlyElementsOf(requests);
+    assertThat(capturedRequests.get(0).requestsCount()).isEqualTo(1000);
+  }
+
+  @Test
+  void should_retain_only_first_and_last_stream_requests_with_stream_requests_limit() throws Exception {
+    startServer(CapturePolicy.unbounded().withStreamRequestsLimit(2, 1));
+
+    List<SimpleRequest> requests = performClientStreamingCall(10);
+
+    List<CapturedRequest<SimpleRequest>> capturedRequests = grpcMock.capturedRequestsFor(
+        calledMethod(SimpleServiceGrpc.getClientStreamingRpcMethod()).build());
+    assertThat(capturedRequests).hasSize(1);
+    assertThat(capturedRequests.get(0).requests())
+        .containsExactly(requests.get(0), requests.get(1), requests.get(9));
+    assertThat(capturedRequests.get(0).requestsCount()).isEqualTo(10);
+  }
+
+  @Test
+  void should_capture_only_allowed_headers() {
+    startServer(GrpcMock.grpcMock().headerCaptureFilter(HeaderCaptureFilter.only(HEADER_1, BINARY_HEADER)));
+
+    performUnaryCallWithHeaders();
+
+    Metadata headers = capturedUnaryCallHeaders();
+    assertThat(headers.keys()).containsExactlyInAnyOrder(HEADER_1.name(), BINARY_HEADER.name());
+    assertThat(headers.get(HEADER_1)).isEqualTo("value-1");
+    assertThat(headers.get(BINARY_HEADER)).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  void should_capture_all_headers_except_denied_ones() {
+    startServer(GrpcMock.grpcMock().headerCaptureFilter(HeaderCaptureFilter.allExcept(HEADER_2)));
+
+    performUnaryCallWithHeaders();
+
+    Metadata headers = capturedUnaryCallHeaders();
+    assertThat(headers.get(HEADER_1)).isEqualTo("value-1");
+    assertThat(headers.get(BINARY_HEADER)).containsExactly(1, 2, 3);
+    assertThat(headers.containsKey(HEADER_2)).isFalse();
+  }
+
+  @Test
+  void should_match_stubs_by_headers_which_are_not_captured() {
+    startServer(GrpcMock.grpcMock().headerCaptureFilter(HeaderCaptureFilter.none()));
+    grpcMock.resetAll();
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withHeader(HEADER_2, "value-2")
+        .withHeader(BINARY_HEADER, new byte[]{1, 2, 3})
+        .willReturn(response));
+
+    performUnaryCallWithHeaders();
+
+    assertThat(capturedUnaryCallHeaders().keys()).isEmpty();
+  }
+
+  private void startServer(CapturePolicy capturePolicy) {
+    startServer(GrpcMock.grpcMock().capturePolicy(capturePolicy));
+  }
+
+  private void startServer(GrpcMockBuilder grpcMockBuilder) {
+    grpcMock = grpcMockBuilder.build().start();
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod()).willReturn(response));
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getServerStreamingRpcMethod()).willReturn(response));
+    serverChannel = ManagedChannelBuilder.forAddress("localhost", grpcMock.getPort())
+        .usePlaintext()
+        .build();
+  }
+
+  private List<SimpleRequest> performClientStreamingCall(int requestsCount) throws Exception {
+    grpcMock.register(clientStreamingMethod(SimpleServiceGrpc.getClientStreamingRpcMethod()).willReturn(response));
+    List<SimpleRequest> requests = IntStream.range(0, requestsCount)
+        .mapToObj(i -> SimpleRequest.newBuilder().setRequestMessage("request-" + i).build())
+        .collect(Collectors.toList());
+    CompletableFuture<SimpleResponse> result = new CompletableFuture<>();
+    StreamObserver<SimpleRequest> requestObserver = SimpleServiceGrpc.newStub(serverChannel)
+        .clientStreamingRpc(FunctionalResponseObserver.<SimpleResponse>builder()
+            .onNext(result::complete)
+            .onError(result::completeExceptionally)
+            .build());
+    requests.forEach(requestObserver::onNext);
+    requestObserver.onCompleted();
+
+    assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo(response);
+    return requests;
+  }
+
+  private void performUnaryCallWithHeaders() {
+    assertThat(serviceStubWithHeaders().unaryRpc(request)).isEqualTo(response);
+  }
+
+  private SimpleServiceBlockingStub serviceStubWithHeaders() {
+    Metadata headers = new Metadata();
+    headers.put(HEADER_1, "value-1");
+    headers.put(HEADER_2, "value-2");
+    headers.put(BINARY_HEADER, new byte[]{1, 2, 3});
+    return SimpleServiceGrpc.newBlockingStub(serverChannel)
+        .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+  }
+
+  private Metadata capturedUnaryCallHeaders() {
+    List<CapturedRequest<SimpleRequest>> capturedRequests = grpcMock.capturedRequestsFor(
+        calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build());
+    assertThat(capturedRequests).hasSize(1);
+    return capturedRequests.get(0).headers();
+  }
+
+  private void performUnaryCalls(int count) {
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+    IntStream.range(0, count).forEach(i -> assertThat(serviceStub.unaryRpc(request)).isEqualTo(response));
+  }
+}
@@ -0,0 +1,166 @@
+package org.grpcmock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.grpcmock.GrpcMock.bidiStreamingMethod;
+import static org.grpcmock.GrpcMock.clientStreamingMethod;
+import static org.grpcmock.GrpcMock.faults;
+import static org.grpcmock.GrpcMock.serverStreamingMethod;
+import static org.grpcmock.GrpcMock.stream;
+import static org.grpcmock.GrpcMock.stubFor;
+import static org.grpcmock.GrpcMock.unaryMethod;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.internal.testing.StreamRecorder;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.protobuf.SimpleRequest;
+import io.grpc.testing.protobuf.SimpleResponse;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceBlockingStub;
+import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceStub;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.grpcmock.exception.GrpcMockValidationException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Fadelis
+ */
+class GrpcMockFaultInjectionTest extends TestBase {
+
+  @Test
+  void should_fail_same_calls_with_fault_status_when_seeded() {
+    List<Boolean> firstRun = callUnaryWithSeededFaults(40);
+    GrpcMock.resetMappings();
+    List<Boolean> secondRun = callUnaryWithSeededFaults(40);
+
+    assertThat(firstRun).contains(true, false);
+    assertThat(secondRun).isEqualTo(firstRun);
+  }
+
+  @Test
+  void should_not_apply_faults_with_zero_probability() {
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withFaults(faults()
+            .withStatus(Status.UNAVAILABLE, 0)
+            .withDroppedStream(0, 0))
+        .willReturn(response));
+
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(serviceStub.unaryRpc(request)).isEqualTo(response);
+    }
+  }
+
+  @Test
+  void should_add_latency_to_calls() {
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withFaults(faults().withLatency(random -> 200))
+        .willReturn(response));
+
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+    long start = System.currentTimeMillis();
+
+    assertThat(serviceStub.unaryRpc(request)).isEqualTo(response);
+    assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(200);
+  }
+
+  @Test
+  void should_fail_client_streaming_call_with_fault_status_after_latency() {
+    stubFor(clientStreamingMethod(SimpleServiceGrpc.getClientStreamingRpcMethod())
+        .withFaults(faults()
+            .withStatus(Status.RESOURCE_EXHAUSTED, 1)
+            .withLatency(random -> 200))
+        .willReturn(response));
+
+    SimpleServiceStub serviceStub = SimpleServiceGrpc.newStub(serverChannel);
+    long start = System.currentTimeMillis();
+
+    assertThatThrownBy(() -> asyncClientStreamingCall(serviceStub::clientStreamingRpc, request, request2))
+        .isInstanceOf(StatusRuntimeException.class)
+        .hasMessage("RESOURCE_EXHAUSTED");
+    assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(200);
+  }
+
+  @Test
+  void should_drop_server_stream_after_given_number_of_messages() {
+    stubFor(serverStreamingMethod(SimpleServiceGrpc.getServerStreamingRpcMethod())
+        .withFaults(faults().withDroppedStream(1, 2))
+        .willReturn(stream(response, response2, response)));
+
+    Iterator<SimpleResponse> responses = SimpleServiceGrpc.newBlockingStub(serverChannel)
+        .serverStreamingRpc(request);
+
+    assertThat(responses.next()).isEqualTo(response);
+    assertThat(responses.next()).isEqualTo(response2);
+    assertThatThrownBy(responses::hasNext)
+        .isInstanceOf(StatusRuntimeException.class)
+        .extracting(error -> ((StatusRuntimeException) error).getStatus().getCode())
+        .isEqualTo(Status.Code.UNAVAILABLE);
+  }
+
+  @Test
+  void should_drop_bidi_stream_after_given_number_of_messages() throws Exception {
+    stubFor(bidiStreamingMethod(SimpleServiceGrpc.getBidiStreamingRpcMethod())
+        .withFaults(faults().withDroppedStream(1, 1))
+        .willProxyTo(responseObserver -> new StreamObserver<SimpleRequest>() {
+          @Override
+          public void onNext(SimpleRequest value) {
+            responseObserver.onNext(response);
+          }
+
+          @Override
+          public void onError(Throwable error) {
+          }
+
+          @Override
+          public void onCompleted() {
+            responseObserver.onCompleted();
+          }
+        }));
+
+    StreamRecorder<SimpleResponse> responseRecorder = StreamRecorder.create();
+    StreamObserver<SimpleRequest> requestObserver = SimpleServiceGrpc.newStub(serverChannel)
+        .bidiStreamingRpc(responseRecorder);
+    requestObserver.onNext(request);
+    requestObserver.onNext(request2);
+    requestObserver.onCompleted();
+
+    assertThat(responseRecorder.awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(responseRecorder.getValues()).containsExactly(response);
+    assertThat(Status.fromThrowable(responseRecorder.getError()).getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+  }
+
+  @Test
+  void should_not_allow_fault_status_probabilities_exceeding_one() {
+    assertThatThrownBy(() -> faults()
+        .withStatus(Status.UNAVAILABLE, 0.6)
+        .withStatus(Status.INTERNAL, 0.6))
+        .isInstanceOf(GrpcMockValidationException.class);
+  }
+
+  private List<Boolean> callUnaryWithSeededFaults(int callsCount) {
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withFaults(faults()
+            .withStatus(Status.UNAVAILABLE, 0.5)
+            .withSeed(42))
+        .willReturn(response));
+
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+    List<Boolean> failedCalls = new ArrayList<>();
+    for (int i = 0; i < callsCount; i++) {
+      try {
+        assertThat(serviceStub.unaryRpc(request)).isEqualTo(response);
+        failedCalls.add(false);
+      } catch (StatusRuntimeException e) {
+        assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+        failedCalls.add(true);
+      }
+    }
+    return failedCalls;
+  }
+}
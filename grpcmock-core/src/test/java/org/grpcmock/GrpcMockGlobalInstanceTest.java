@@ -0,0 +1,105 @@
+package org.grpcmock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.grpcmock.GrpcMock.getGlobalPort;
+import static org.grpcmock.GrpcMock.grpcMock;
+import static org.grpcmock.GrpcMock.stubFor;
+import static org.grpcmock.GrpcMock.unaryMethod;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Fadelis
+ */
+class GrpcMockGlobalInstanceTest extends TestBase {
+
+  @AfterEach
+  void restoreScope() {
+    GrpcMock.useGlobalInstanceScope(GlobalInstanceScope.THREAD);
+  }
+
+  @Test
+  void should_share_lazily_started_instance_across_threads_in_process_scope() throws Exception {
+    GrpcMock.useGlobalInstanceScope(GlobalInstanceScope.PROCESS);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      int port = CompletableFuture.supplyAsync(GrpcMock::getGlobalPort, executor).get(5, TimeUnit.SECONDS);
+      CompletableFuture.runAsync(() -> stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+          .willReturn(response)), executor).get(5, TimeUnit.SECONDS);
+
+      assertThat(getGlobalPort()).isEqualTo(port);
+      ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", port).usePlaintext().build();
+      try {
+        assertThat(SimpleServiceGrpc.newBlockingStub(channel).unaryRpc(request)).isEqualTo(response);
+      } finally {
+        channel.shutdownNow();
+        GrpcMock.resetMappings();
+      }
+    } finally {
+      executor.shutdownNow();
+      GrpcMock.stopGlobalProcessInstance();
+    }
+  }
+
+  @Test
+  void should_stop_lazily_started_instance_when_replaced_in_process_scope() {
+    GrpcMock.useGlobalInstanceScope(GlobalInstanceScope.PROCESS);
+    int startedPort = getGlobalPort();
+    GrpcMock grpcMock = grpcMock().build().start();
+    try {
+      GrpcMock.configureFor(grpcMock);
+
+      assertThat(getGlobalPort()).isEqualTo(grpcMock.getPort());
+      ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", startedPort).usePlaintext().build();
+      try {
+        assertThatThrownBy(() -> SimpleServiceGrpc.newBlockingStub(channel).unaryRpc(request))
+            .hasMessageStartingWith("UNAVAILABLE");
+      } finally {
+        channel.shutdownNow();
+      }
+    } finally {
+      GrpcMock.stopGlobalProcessInstance();
+      grpcMock.stop();
+    }
+  }
+
+  @Test
+  void should_inherit_configured_instance_on_child_threads_in_inheritable_thread_scope() throws Exception {
+    GrpcMock.useGlobalInstanceScope(GlobalInstanceScope.INHERITABLE_THREAD);
+    GrpcMock grpcMock = grpcMock().build().start();
+    try {
+      GrpcMock.configureFor(grpcMock);
+      int[] childThreadPort = new int[1];
+      Thread childThread = new Thread(() -> childThreadPort[0] = getGlobalPort());
+      childThread.start();
+      childThread.join(TimeUnit.SECONDS.toMillis(5));
+
+      assertThat(childThreadPort[0]).isEqualTo(grpcMock.getPort());
+    } finally {
+      grpcMock.stop();
+    }
+  }
+
+  @Test
+  void should_keep_configured_instance_to_the_configuring_thread_in_thread_scope() throws Exception {
+    GrpcMock grpcMock = grpcMock().build().start();
+    try {
+      GrpcMock.configureFor(grpcMock);
+      int otherThreadPort = CompletableFuture.supplyAsync(GrpcMock::getGlobalPort).get(5, TimeUnit.SECONDS);
+
+      assertThat(getGlobalPort()).isEqualTo(grpcMock.getPort());
+      assertThat(otherThreadPort).isNotEqualTo(grpcMock.getPort());
+    } finally {
+      grpcMock.stop();
+    }
+  }
+}
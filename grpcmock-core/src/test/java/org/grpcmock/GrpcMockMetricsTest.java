@@ -0,0 +1,147 @@
+package org.grpcmock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.grpcmock.GrpcMock.response;
+import static org.grpcmock.GrpcMock.stubFor;
+import static org.grpcmock.GrpcMock.unaryMethod;
+
+import io.grpc.Metadata;
+import io.grpc.ServerStreamTracer;
+import io.grpc.Status;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceBlockingStub;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.grpcmock.metrics.CallMetrics;
+import org.grpcmock.metrics.CallMetricsListener;
+import org.grpcmock.metrics.CompletedCall;
+import org.grpcmock.metrics.GrpcMockMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Fadelis
+ */
+class GrpcMockMetricsTest extends TestBase {
+
+  private final String unaryMethodName = SimpleServiceGrpc.getUnaryRpcMethod().getFullMethodName();
+  private GrpcMockMetrics metrics;
+
+  @BeforeEach
+  void resetMetrics() {
+    metrics = GrpcMock.getGlobalMetrics();
+    metrics.reset();
+  }
+
+  @Test
+  void should_record_calls_errors_bytes_and_latency_per_method() {
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withRequest(request)
+        .willReturn(response(response).withFixedDelay(100)));
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withRequest(request2)
+        .willReturn(Status.NOT_FOUND));
+
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+    serviceStub.unaryRpc(request);
+    serviceStub.unaryRpc(request);
+    assertThatThrownBy(() -> serviceStub.unaryRpc(request2)).hasMessage("NOT_FOUND");
+    awaitUntil(() -> metrics.methodMetrics(unaryMethodName).calls() == 3);
+
+    CallMetrics methodMetrics = metrics.methodMetrics(unaryMethodName);
+    assertThat(methodMetrics.inFlightCalls()).isZero();
+    assertThat(methodMetrics.callsWithStatus(Status.Code.OK)).isEqualTo(2);
+    assertThat(methodMetrics.errors()).containsOnlyKeys(Status.Code.NOT_FOUND);
+    assertThat(methodMetrics.callsWithStatus(Status.Code.NOT_FOUND)).isEqualTo(1);
+    assertThat(methodMetrics.bytesReceived()).isGreaterThanOrEqualTo(3L * request.getSerializedSize());
+    assertThat(methodMetrics.bytesSent()).isGreaterThanOrEqualTo(2L * response.getSerializedSize());
+    assertThat(methodMetrics.latency().count()).isEqualTo(3);
+    assertThat(methodMetrics.latency().percentileMillis(50)).isGreaterThanOrEqualTo(100);
+    assertThat(methodMetrics.latency().maxMillis()).isGreaterThanOrEqualTo(100);
+    assertThat(metrics.methodMetrics()).containsKey(unaryMethodName);
+  }
+
+  @Test
+  void should_record_in_flight_calls() {
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .willReturn(response(response).withFixedDelay(500)));
+
+    SimpleServiceGrpc.newFutureStub(serverChannel).unaryRpc(request);
+    awaitUntil(() -> metrics.methodMetrics(unaryMethodName).inFlightCalls() == 1);
+
+    awaitUntil(() -> metrics.methodMetrics(unaryMethodName).inFlightCalls() == 0);
+    assertThat(metrics.methodMetrics(unaryMethodName).calls()).isEqualTo(1);
+  }
+
+  @Test
+  void should_record_calls_per_stub_scenario() {
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .inScenario("failover")
+        .willReturn(response));
+
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+    serviceStub.unaryRpc(request);
+    serviceStub.unaryRpc(request);
+    awaitUntil(() -> metrics.scenarioMetrics("failover").calls() == 2);
+
+    assertThat(metrics.scenarioMetrics()).containsOnlyKeys("failover");
+    assertThat(metrics.scenarioMetrics("failover").inFlightCalls()).isZero();
+    assertThat(metrics.scenarioMetrics("other").calls()).isZero();
+  }
+
+  @Test
+  void should_notify_listeners_about_completed_calls() {
+    List<CompletedCall> completedCalls = new CopyOnWriteArrayList<>();
+    CallMetricsListener listener = completedCalls::add;
+    metrics.addListener(listener);
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .willReturn(Status.UNAVAILABLE));
+
+    try {
+      assertThatThrownBy(() -> SimpleServiceGrpc.newBlockingStub(serverChannel).unaryRpc(request))
+          .hasMessage("UNAVAILABLE");
+      awaitUntil(() -> completedCalls.size() == 1);
+    } finally {
+      metrics.removeListener(listener);
+    }
+
+    CompletedCall call = completedCalls.get(0);
+    assertThat(call.fullMethodName()).isEqualTo(unaryMethodName);
+    assertThat(call.statusCode()).isEqualTo(Status.Code.UNAVAILABLE);
+    assertThat(call.scenarioName()).isNull();
+    assertThat(call.latencyNanos()).isPositive();
+  }
+
+  @Test
+  void should_record_calls_to_methods_over_the_limit_together() {
+    GrpcMockMetrics boundedMetrics = new GrpcMockMetrics();
+    List<CompletedCall> completedCalls = new CopyOnWriteArrayList<>();
+    boundedMetrics.addListener(completedCalls::add);
+
+    for (int i = 0; i < GrpcMockMetrics.MAX_RECORDED_METHODS + 10; i++) {
+      ServerStreamTracer tracer = boundedMetrics.streamTracerFactory()
+          .newServerStreamTracer("unknown.Service/Method" + i, new Metadata());
+      tracer.streamClosed(Status.UNIMPLEMENTED);
+    }
+
+    assertThat(boundedMetrics.methodMetrics()).hasSize(GrpcMockMetrics.MAX_RECORDED_METHODS + 1);
+    assertThat(boundedMetrics.methodMetrics(GrpcMockMetrics.OTHER_METHODS).calls()).isEqualTo(10);
+    assertThat(completedCalls.get(completedCalls.size() - 1).fullMethodName()).isEqualTo(GrpcMockMetrics.OTHER_METHODS);
+  }
+
+  private static void awaitUntil(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime()).as("condition was not met in time").isLessThan(deadline);
+      try {
+        TimeUnit.MILLISECONDS.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package org.grpcmock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.grpcmock.GrpcMock.calledMethod;
+import static org.grpcmock.GrpcMock.grpcMock;
+import static org.grpcmock.GrpcMock.times;
+import static org.grpcmock.GrpcMock.unaryMethod;
+
+import io.grpc.ClientInterceptors;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceBlockingStub;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Fadelis
+ */
+class GrpcMockNamespaceTest extends TestBase {
+
+  @Test
+  void should_route_calls_to_stubs_of_the_namespace_from_the_request_header() {
+    GrpcMock grpcMock = grpcMock().build();
+    GrpcMockNamespace namespace1 = grpcMock.namespace("test-1");
+    GrpcMockNamespace namespace2 = grpcMock.namespace("test-2");
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod()).willReturn(response));
+    namespace1.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod()).willReturn(response2));
+    grpcMock.start();
+    try {
+      initServerChannel(grpcMock);
+
+      assertThat(serviceStub(namespace1).unaryRpc(request)).isEqualTo(response2);
+      assertThat(SimpleServiceGrpc.newBlockingStub(serverChannel).unaryRpc(request)).isEqualTo(response);
+      assertThatThrownBy(() -> serviceStub(namespace2).unaryRpc(request))
+          .hasMessageStartingWith("UNIMPLEMENTED");
+
+      namespace1.verifyThat(calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build(), times(1));
+      namespace2.verifyThat(calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build(), times(1));
+      grpcMock.verifyThat(calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build(), times(1));
+    } finally {
+      grpcMock.stop();
+    }
+  }
+
+  @Test
+  void should_reject_calls_of_unknown_and_removed_namespaces() {
+    GrpcMock grpcMock = grpcMock().build().start();
+    try {
+      initServerChannel(grpcMock);
+      grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod()).willReturn(response));
+      GrpcMockNamespace namespace = grpcMock.namespace("test");
+      namespace.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod()).willReturn(response2));
+      assertThat(serviceStub(namespace).unaryRpc(request)).isEqualTo(response2);
+
+      grpcMock.removeNamespace("test");
+
+      assertThatThrownBy(() -> serviceStub(namespace).unaryRpc(request)).hasMessageStartingWith("UNIMPLEMENTED");
+      Metadata headers = new Metadata();
+      headers.put(GrpcMockNamespace.HEADER, "unknown");
+      assertThatThrownBy(() -> SimpleServiceGrpc.newBlockingStub(serverChannel)
+          .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers))
+          .unaryRpc(request))
+          .hasMessageStartingWith("UNIMPLEMENTED");
+      grpcMock.verifyThat(calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build(), times(0));
+    } finally {
+      grpcMock.stop();
+    }
+  }
+
+  @Test
+  void should_keep_namespaces_isolated_from_resets_of_other_namespaces() {
+    GrpcMock grpcMock = grpcMock().build().start();
+    try {
+      initServerChannel(grpcMock);
+      GrpcMockNamespace namespace1 = grpcMock.namespace("test-1");
+      GrpcMockNamespace namespace2 = grpcMock.namespace("test-2");
+      namespace1.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod()).willReturn(response));
+      namespace2.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod()).willReturn(response2));
+
+      namespace2.resetAll();
+      grpcMock.resetAll();
+
+      assertThat(serviceStub(namespace1).unaryRpc(request)).isEqualTo(response);
+      assertThatThrownBy(() -> serviceStub(namespace2).unaryRpc(request)).hasMessageStartingWith("UNIMPLEMENTED");
+      assertThat(grpcMock.namespace("test-1")).isSameAs(namespace1);
+    } finally {
+      grpcMock.stop();
+    }
+  }
+
+  @Test
+  void should_serve_concurrent_tests_with_isolated_namespaces() {
+    GrpcMock grpcMock = grpcMock().build().start();
+    try {
+      initServerChannel(grpcMock);
+      List<CompletableFuture<Void>> tests = IntStream.range(0, 8)
+          .mapToObj(test -> CompletableFuture.runAsync(() -> runIsolatedTest(grpcMock.namespace("test-" + test), test)))
+          .collect(Collectors.toList());
+
+      CompletableFuture.allOf(tests.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+    } catch (Exception e) {
+      throw new AssertionError(e);
+    } finally {
+      grpcMock.stop();
+    }
+  }
+
+  private void runIsolatedTest(GrpcMockNamespace namespace, int test) {
+    String message = "response-" + test;
+    namespace.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .willReturn(response.toBuilder().setResponseMessage(message).build()));
+
+    for (int i = 0; i < test + 1; i++) {
+      assertThat(serviceStub(namespace).unaryRpc(request).getResponseMessage()).isEqualTo(message);
+    }
+    namespace.verifyThat(calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build(), times(test + 1));
+  }
+
+  private SimpleServiceBlockingStub serviceStub(GrpcMockNamespace namespace) {
+    return SimpleServiceGrpc.newBlockingStub(ClientInterceptors.intercept(serverChannel, namespace.clientInterceptor()));
+  }
+
+  private void initServerChannel(GrpcMock grpcMock) {
+    serverChannel.shutdownNow();
+    serverChannel = ManagedChannelBuilder.forAddress("localhost", grpcMock.getPort())
+        .usePlaintext()
+        .build();
+  }
+}
@@ -0,0 +1,70 @@
+package org.grpcmock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.grpcmock.GrpcMock.clientStreamingMethod;
+import static org.grpcmock.GrpcMock.grpcMock;
+
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceStub;
+import org.grpcmock.interceptors.RequestLoggingMode;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Fadelis
+ */
+class GrpcMockRequestLoggingTest extends TestBase {
+
+  private static final String METHOD_NAME = SimpleServiceGrpc.getClientStreamingRpcMethod().getFullMethodName();
+
+  @Test
+  void should_log_headers_only_with_first_message_in_full_mode() {
+    String logOutput = performClientStreamingCall(RequestLoggingMode.FULL);
+
+    assertThat(logOutput)
+        .contains("Received request #1 to " + METHOD_NAME + " method\nwith headers:")
+        .contains("header-1=value-1")
+        .contains("Received request #2 to " + METHOD_NAME + " method\nwith request:")
+        .contains(REQUEST_MESSAGE, REQUEST_MESSAGE_2);
+    assertThat(logOutput.split("with headers:", -1)).hasSize(2);
+  }
+
+  @Test
+  void should_log_only_method_and_message_number_in_summary_mode() {
+    String logOutput = performClientStreamingCall(RequestLoggingMode.SUMMARY);
+
+    assertThat(logOutput)
+        .contains("Received request #1 to " + METHOD_NAME + " method")
+        .contains("Received request #2 to " + METHOD_NAME + " method")
+        .doesNotContain("with headers:", "with request:", "header-1", REQUEST_MESSAGE);
+  }
+
+  @Test
+  void should_not_log_requests_in_off_mode() {
+    String logOutput = performClientStreamingCall(RequestLoggingMode.OFF);
+
+    assertThat(logOutput).doesNotContain("Received request");
+  }
+
+  private String performClientStreamingCall(RequestLoggingMode requestLoggingMode) {
+    GrpcMock grpcMock = grpcMock().requestLogging(requestLoggingMode).build().start();
+    try (CapturedLogOutput logOutput = CapturedLogOutput.capture()) {
+      grpcMock.register(clientStreamingMethod(SimpleServiceGrpc.getClientStreamingRpcMethod()).willReturn(response));
+      serverChannel.shutdownNow();
+      serverChannel = ManagedChannelBuilder.forAddress("localhost", grpcMock.getPort())
+          .usePlaintext()
+          .build();
+      SimpleServiceStub serviceStub = stubWithHeaders(
+          SimpleServiceGrpc.newStub(serverChannel),
+          HEADER_1, "value-1",
+          HEADER_2, "value-2"
+      );
+
+      assertThat(asyncClientStreamingCall(serviceStub::clientStreamingRpc, request, request2))
+          .containsExactly(response);
+      return logOutput.output();
+    } finally {
+      grpcMock.stop();
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package org.grpcmock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.grpcmock.GrpcMock.clientStreamingMethod;
+import static org.grpcmock.GrpcMock.faults;
+import static org.grpcmock.GrpcMock.grpcMock;
+import static org.grpcmock.GrpcMock.response;
+import static org.grpcmock.GrpcMock.unaryMethod;
+
+import io.grpc.ForwardingServerCall.SimpleForwardingServerCall;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCall.Listener;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Fadelis
+ */
+class GrpcMockResponseExecutorTest extends TestBase {
+
+  private final AtomicInteger threadNumber = new AtomicInteger();
+  private final ExecutorService callExecutor = Executors.newCachedThreadPool(
+      runnable -> new Thread(runnable, "test-call-executor-" + threadNumber.incrementAndGet()));
+  private final AtomicReference<Thread> sendingThread = new AtomicReference<>();
+
+  @AfterEach
+  void shutdownExecutor() {
+    callExecutor.shutdownNow();
+  }
+
+  @Test
+  void should_execute_delayed_response_actions_on_the_configured_executor() {
+    GrpcMock grpcMock = grpcMock()
+        .executor(callExecutor)
+        .interceptor(new SendingThreadInterceptor())
+        .build();
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .willReturn(response(response).withFixedDelay(50)));
+
+    callServer(grpcMock, this::unaryCall);
+
+    assertThat(sendingThread.get().getName()).startsWith("test-call-executor-");
+  }
+
+  @Test
+  void should_respond_after_fault_latency_on_the_configured_executor() {
+    GrpcMock grpcMock = grpcMock()
+        .executor(callExecutor)
+        .interceptor(new SendingThreadInterceptor())
+        .build();
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withFaults(faults().withLatency(random -> 50))
+        .willReturn(response));
+
+    callServer(grpcMock, this::unaryCall);
+
+    assertThat(sendingThread.get().getName()).startsWith("test-call-executor-");
+  }
+
+  @Test
+  void should_complete_stream_request_after_fault_latency_on_the_configured_executor() {
+    GrpcMock grpcMock = grpcMock()
+        .executor(callExecutor)
+        .interceptor(new SendingThreadInterceptor())
+        .build();
+    grpcMock.register(clientStreamingMethod(SimpleServiceGrpc.getClientStreamingRpcMethod())
+        .withFaults(faults().withLatency(random -> 50))
+        .willReturn(response));
+
+    callServer(grpcMock, channel -> assertThat(
+        asyncClientStreamingCall(SimpleServiceGrpc.newStub(channel)::clientStreamingRpc, request, request2))
+        .containsExactly(response));
+
+    assertThat(sendingThread.get().getName()).startsWith("test-call-executor-");
+  }
+
+  @Test
+  void should_not_execute_delayed_response_actions_on_the_scheduler_thread_with_default_executor() {
+    GrpcMock grpcMock = grpcMock()
+        .interceptor(new SendingThreadInterceptor())
+        .build();
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .willReturn(response(response).withFixedDelay(50)));
+
+    callServer(grpcMock, this::unaryCall);
+
+    assertThat(sendingThread.get().getName()).startsWith("grpcmock-response-executor-");
+  }
+
+  private void unaryCall(ManagedChannel channel) {
+    assertThat(SimpleServiceGrpc.newBlockingStub(channel).unaryRpc(request)).isEqualTo(response);
+  }
+
+  private void callServer(GrpcMock grpcMock, Consumer<ManagedChannel> call) {
+    grpcMock.start();
+    try {
+      serverChannel.shutdownNow();
+      serverChannel = ManagedChannelBuilder.forAddress("localhost", grpcMock.getPort())
+          .usePlaintext()
+          .build();
+
+      call.accept(serverChannel);
+    } finally {
+      grpcMock.stop();
+    }
+  }
+
+  /**
+   * Records the thread, which sends the response message.
+   */
+  private final class SendingThreadInterceptor implements ServerInterceptor {
+
+    @Override
+    public <ReqT, RespT> Listener<ReqT> interceptCall(
+        ServerCall<ReqT, RespT> call,
+        Metadata headers,
+        ServerCallHandler<ReqT, RespT> next
+    ) {
+      return next.startCall(new SimpleForwardingServerCall<ReqT, RespT>(call) {
+        @Override
+        public void sendMessage(RespT message) {
+          sendingThread.set(Thread.currentThread());
+          super.sendMessage(message);
+        }
+      }, headers);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package org.grpcmock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.grpcmock.GrpcMock.serverStreamingMethod;
+import static org.grpcmock.GrpcMock.stubFor;
+import static org.grpcmock.GrpcMock.unaryMethod;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.Status;
+import io.grpc.testing.protobuf.SimpleResponse;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceBlockingStub;
+import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceFutureStub;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.grpcmock.definitions.stub.ScenarioStates;
+import org.grpcmock.exception.GrpcMockValidationException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Fadelis
+ */
+class GrpcMockScenarioTest extends TestBase {
+
+  private static final String SCENARIO = "failover";
+  private static final String PRIMARY_FAILED = "primary failed";
+
+  @Test
+  void should_trigger_stubs_based_on_scenario_state_shared_across_methods() {
+    registerFailoverScenario();
+
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+
+    assertThat(serviceStub.serverStreamingRpc(request)).toIterable().containsExactly(response);
+    assertThatThrownBy(() -> serviceStub.unaryRpc(request)).hasMessage("UNAVAILABLE");
+    assertThat(serviceStub.serverStreamingRpc(request)).toIterable().containsExactly(response2);
+    assertThat(serviceStub.unaryRpc(request)).isEqualTo(response2);
+  }
+
+  @Test
+  void should_reset_scenario_states_together_with_mappings() {
+    registerFailoverScenario();
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+    assertThatThrownBy(() -> serviceStub.unaryRpc(request)).hasMessage("UNAVAILABLE");
+
+    GrpcMock.resetMappings();
+    registerFailoverScenario();
+
+    assertThatThrownBy(() -> serviceStub.unaryRpc(request)).hasMessage("UNAVAILABLE");
+  }
+
+  @Test
+  void should_transition_scenario_state_only_once_for_concurrent_calls() throws Exception {
+    int callsCount = 50;
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .inScenario(SCENARIO)
+        .whenScenarioStateIs(ScenarioStates.STARTED)
+        .willSetStateTo(PRIMARY_FAILED)
+        .willReturn(response));
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .inScenario(SCENARIO)
+        .whenScenarioStateIs(PRIMARY_FAILED)
+        .willReturn(response2));
+
+    SimpleServiceFutureStub serviceStub = SimpleServiceGrpc.newFutureStub(serverChannel);
+    List<ListenableFuture<SimpleResponse>> calls = IntStream.range(0, callsCount)
+        .mapToObj(i -> serviceStub.unaryRpc(request))
+        .collect(Collectors.toList());
+
+    List<SimpleResponse> responses = Futures.allAsList(calls).get(10, TimeUnit.SECONDS);
+    assertThat(responses).filteredOn(response::equals).hasSize(1);
+    assertThat(responses).filteredOn(response2::equals).hasSize(callsCount - 1);
+  }
+
+  @Test
+  void should_require_scenario_name_for_scenario_states() {
+    assertThatThrownBy(() -> unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .whenScenarioStateIs(PRIMARY_FAILED)
+        .willReturn(response)
+        .build())
+        .isInstanceOf(GrpcMockValidationException.class);
+  }
+
+  private void registerFailoverScenario() {
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .inScenario(SCENARIO)
+        .whenScenarioStateIs(ScenarioStates.STARTED)
+        .willSetStateTo(PRIMARY_FAILED)
+        .willReturn(Status.UNAVAILABLE));
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .inScenario(SCENARIO)
+        .whenScenarioStateIs(PRIMARY_FAILED)
+        .willReturn(response2));
+    stubFor(serverStreamingMethod(SimpleServiceGrpc.getServerStreamingRpcMethod())
+        .inScenario(SCENARIO)
+        .whenScenarioStateIs(ScenarioStates.STARTED)
+        .willReturn(response));
+    stubFor(serverStreamingMethod(SimpleServiceGrpc.getServerStreamingRpcMethod())
+        .inScenario(SCENARIO)
+        .whenScenarioStateIs(PRIMARY_FAILED)
+        .willReturn(response2));
+  }
+}
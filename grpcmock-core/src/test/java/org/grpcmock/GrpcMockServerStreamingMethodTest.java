@@ -11,18 +11,34 @@ import static org.grpcmock.GrpcMock.times;
 import static org.grpcmock.GrpcMock.unaryMethod;
 import static org.grpcmock.GrpcMock.verifyThat;
 
+import io.grpc.ForwardingServerCall.SimpleForwardingServerCall;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCall.Listener;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
 import io.grpc.Status;
 import io.grpc.internal.testing.StreamRecorder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
 import io.grpc.stub.StreamObserver;
 import io.grpc.testing.protobuf.SimpleRequest;
 import io.grpc.testing.protobuf.SimpleResponse;
 import io.grpc.testing.protobuf.SimpleServiceGrpc;
 import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceImplBase;
 import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceStub;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -92,6 +108,168 @@ class GrpcMockServerStreamingMethodTest extends TestBase {
     assertThat(System.currentTimeMillis() - start).isGreaterThan(500);
   }
 
+  @Test
+  void should_return_multiple_responses_at_defined_rate() {
+    long start = System.currentTimeMillis();
+    List<SimpleResponse> responses = IntStream.rangeClosed(1, 5)
+        .mapToObj(id -> SimpleResponse.newBuilder()
+            .setResponseMessage("message-" + id)
+            .build())
+        .collect(Collectors.toList());
+
+    stubFor(serverStreamingMethod(SimpleServiceGrpc.getServerStreamingRpcMethod())
+        .willReturn(stream(responses).atRate(20, TimeUnit.SECONDS)));
+
+    SimpleServiceStub serviceStub = SimpleServiceGrpc.newStub(serverChannel);
+
+    assertThat(asyncStubCall(request, serviceStub::serverStreamingRpc)).isEqualTo(responses);
+    assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(200);
+  }
+
+  @Test
+  void should_return_multiple_responses_with_defined_bandwidth() {
+    long start = System.currentTimeMillis();
+    List<SimpleResponse> responses = IntStream.rangeClosed(1, 3)
+        .mapToObj(id -> SimpleResponse.newBuilder()
+            .setResponseMessage("message-" + id)
+            .build())
+        .collect(Collectors.toList());
+
+    stubFor(serverStreamingMethod(SimpleServiceGrpc.getServerStreamingRpcMethod())
+        .willReturn(stream(responses).withBandwidth(responses.get(0).getSerializedSize() * 10L)));
+
+    SimpleServiceStub serviceStub = SimpleServiceGrpc.newStub(serverChannel);
+
+    assertThat(asyncStubCall(request, serviceStub::serverStreamingRpc)).isEqualTo(responses);
+    assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(200);
+  }
+
+  @Test
+  void should_return_lazily_generated_responses_for_every_call() {
+    int responsesCount = 10_000;
+    stubFor(serverStreamingMethod(SimpleServiceGrpc.getServerStreamingRpcMethod())
+        .willReturn(stream(() -> IntStream.range(0, responsesCount)
+            .mapToObj(id -> SimpleResponse.newBuilder().setResponseMessage("message-" + id).build())
+            .iterator())));
+
+    SimpleServiceStub serviceStub = SimpleServiceGrpc.newStub(serverChannel);
+
+    IntStream.range(0, 2).forEach(i -> {
+      List<SimpleResponse> responses = asyncStubCall(request, serviceStub::serverStreamingRpc);
+      assertThat(responses).hasSize(responsesCount);
+      assertThat(responses.get(responsesCount - 1).getResponseMessage()).isEqualTo("message-" + (responsesCount - 1));
+    });
+  }
+
+  @Test
+  void should_return_lazy_stream_responses_followed_by_other_actions() throws Exception {
+    stubFor(serverStreamingMethod(SimpleServiceGrpc.getServerStreamingRpcMethod())
+        .willReturn(stream(Stream.of(response, response2))
+            .and(response)
+            .and(Status.ALREADY_EXISTS.withDescription("some error"))));
+
+    StreamRecorder<SimpleResponse> streamRecorder = StreamRecorder.create();
+    SimpleServiceGrpc.newStub(serverChannel).serverStreamingRpc(request, streamRecorder);
+
+    streamRecorder.awaitCompletion(10, TimeUnit.SECONDS);
+    assertThat(streamRecorder.getValues()).containsExactly(response, response2, response);
+    assertThat(streamRecorder.getError()).hasMessage("ALREADY_EXISTS: some error");
+  }
+
+  @Test
+  void should_return_dynamic_stream_responses_built_based_on_request() {
+    stubFor(serverStreamingMethod(SimpleServiceGrpc.getServerStreamingRpcMethod())
+        .willReturnStream(request -> IntStream.rangeClosed(1, 3)
+            .mapToObj(id -> SimpleResponse.newBuilder()
+                .setResponseMessage("message-" + id + " for " + request.getRequestMessage())
+                .build()))
+        .nextWillReturn(response));
+
+    SimpleServiceStub serviceStub = SimpleServiceGrpc.newStub(serverChannel);
+
+    assertThat(asyncStubCall(request, serviceStub::serverStreamingRpc))
+        .extracting(SimpleResponse::getResponseMessage)
+        .containsExactly("message-1 for " + REQUEST_MESSAGE, "message-2 for " + REQUEST_MESSAGE,
+            "message-3 for " + REQUEST_MESSAGE);
+    assertThat(asyncStubCall(request, serviceStub::serverStreamingRpc)).containsExactly(response);
+  }
+
+  @Test
+  void should_send_stream_responses_only_when_client_is_ready() throws Exception {
+    int responsesCount = 200;
+    AtomicInteger sentMessages = new AtomicInteger();
+    GrpcMock countingGrpcMock = GrpcMock.grpcMock().interceptor(sentMessagesCounter(sentMessages)).build().start();
+    ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", countingGrpcMock.getPort())
+        .usePlaintext()
+        .build();
+    try {
+      SimpleResponse largeResponse = SimpleResponse.newBuilder()
+          .setResponseMessage(String.join("", Collections.nCopies(100_000, "x")))
+          .build();
+      countingGrpcMock.register(serverStreamingMethod(SimpleServiceGrpc.getServerStreamingRpcMethod())
+          .willReturn(stream(Collections.nCopies(responsesCount, largeResponse))));
+      CountDownLatch firstResponse = new CountDownLatch(1);
+      CompletableFuture<Integer> result = new CompletableFuture<>();
+      AtomicReference<ClientCallStreamObserver<SimpleRequest>> requestStream = new AtomicReference<>();
+
+      SimpleServiceGrpc.newStub(channel).serverStreamingRpc(request, new ClientResponseObserver<SimpleRequest, SimpleResponse>() {
+        private int received;
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<SimpleRequest> stream) {
+          stream.disableAutoRequestWithInitial(1);
+          requestStream.set(stream);
+        }
+
+        @Override
+        public void onNext(SimpleResponse value) {
+          received++;
+          firstResponse.countDown();
+        }
+
+        @Override
+        public void onError(Throwable error) {
+          result.completeExceptionally(error);
+        }
+
+        @Override
+        public void onCompleted() {
+          result.complete(received);
+        }
+      });
+
+      assertThat(firstResponse.await(5, TimeUnit.SECONDS)).isTrue();
+      Thread.sleep(300);
+      assertThat(sentMessages.get()).isLessThan(responsesCount / 2);
+
+      requestStream.get().request(responsesCount);
+      assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo(responsesCount);
+      assertThat(sentMessages.get()).isEqualTo(responsesCount);
+    } finally {
+      channel.shutdownNow();
+      countingGrpcMock.stop();
+    }
+  }
+
+  private static ServerInterceptor sentMessagesCounter(AtomicInteger sentMessages) {
+    return new ServerInterceptor() {
+      @Override
+      public <ReqT, RespT> Listener<ReqT> interceptCall(
+          ServerCall<ReqT, RespT> call,
+          Metadata headers,
+          ServerCallHandler<ReqT, RespT> next
+      ) {
+        return next.startCall(new SimpleForwardingServerCall<ReqT, RespT>(call) {
+          @Override
+          public void sendMessage(RespT message) {
+            sentMessages.incrementAndGet();
+            super.sendMessage(message);
+          }
+        }, headers);
+      }
+    };
+  }
+
   @Test
   void should_respond_with_error_status() {
     stubFor(serverStreamingMethod(SimpleServiceGrpc.getServerStreamingRpcMethod())
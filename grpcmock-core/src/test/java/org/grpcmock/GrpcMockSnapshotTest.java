@@ -0,0 +1,176 @@
+package org.grpcmock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.grpcmock.GrpcMock.calledMethod;
+import static org.grpcmock.GrpcMock.dynamicResponse;
+import static org.grpcmock.GrpcMock.faults;
+import static org.grpcmock.GrpcMock.grpcMock;
+import static org.grpcmock.GrpcMock.times;
+import static org.grpcmock.GrpcMock.unaryMethod;
+
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.testing.protobuf.SimpleRequest;
+import io.grpc.testing.protobuf.SimpleResponse;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceBlockingStub;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.grpcmock.definitions.stub.ScenarioStates;
+import org.grpcmock.definitions.stub.StubMappings;
+import org.grpcmock.exception.GrpcMockValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Fadelis
+ */
+class GrpcMockSnapshotTest extends TestBase {
+
+  private GrpcMock grpcMock;
+  private SimpleServiceBlockingStub serviceStub;
+
+  @BeforeEach
+  void startServer() {
+    grpcMock = grpcMock().build().start();
+    serverChannel.shutdownNow();
+    serverChannel = ManagedChannelBuilder.forAddress("localhost", grpcMock.getPort())
+        .usePlaintext()
+        .build();
+    serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+  }
+
+  @AfterEach
+  void stopServer() {
+    grpcMock.stop();
+  }
+
+  @Test
+  void should_restore_stubs_from_snapshot() {
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withRequest(request)
+        .willReturn(response));
+    StubMappings baseline = grpcMock.snapshot();
+
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withRequest(request)
+        .willReturn(response2));
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getServerStreamingRpcMethod())
+        .willReturn(response2));
+    assertThat(serviceStub.unaryRpc(request)).isEqualTo(response2);
+    assertThat(serviceStub.serverStreamingRpc(request)).toIterable().containsExactly(response2);
+
+    grpcMock.restore(baseline);
+
+    assertThat(serviceStub.unaryRpc(request)).isEqualTo(response);
+    assertThatThrownBy(() -> serviceStub.serverStreamingRpc(request).hasNext())
+        .hasMessageStartingWith("UNIMPLEMENTED");
+    grpcMock.verifyThat(calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build(), times(1));
+  }
+
+  @Test
+  void should_not_change_snapshot_when_scenarios_are_appended_to_registered_methods() {
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withRequest(request)
+        .willReturn(response));
+    StubMappings baseline = grpcMock.snapshot();
+
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withRequest(request2)
+        .willReturn(response2));
+    assertThat(serviceStub.unaryRpc(request2)).isEqualTo(response2);
+
+    grpcMock.restore(baseline);
+
+    assertThatThrownBy(() -> serviceStub.unaryRpc(request2)).hasMessageStartingWith("UNIMPLEMENTED");
+    assertThat(grpcMock.snapshot()).isSameAs(baseline);
+  }
+
+  @Test
+  void should_restore_empty_snapshot_same_as_reset() {
+    StubMappings empty = grpcMock.snapshot();
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .inScenario("scenario")
+        .willSetStateTo("next")
+        .willReturn(response));
+    assertThat(serviceStub.unaryRpc(request)).isEqualTo(response);
+
+    grpcMock.restore(empty);
+
+    assertThat(empty.isEmpty()).isTrue();
+    assertThat(grpcMock.scenarioState("scenario")).isEqualTo(ScenarioStates.STARTED);
+    grpcMock.verifyThat(calledMethod(SimpleServiceGrpc.getUnaryRpcMethod()).build(), times(0));
+  }
+
+  @Test
+  void should_start_sequential_responses_over_after_restore() {
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .willReturn(response)
+        .nextWillReturn(response2));
+    StubMappings baseline = grpcMock.snapshot();
+    assertThat(serviceStub.unaryRpc(request)).isEqualTo(response);
+    assertThat(serviceStub.unaryRpc(request)).isEqualTo(response2);
+
+    grpcMock.restore(baseline);
+
+    assertThat(serviceStub.unaryRpc(request)).isEqualTo(response);
+    assertThat(serviceStub.unaryRpc(request)).isEqualTo(response2);
+  }
+
+  @Test
+  void should_rebuild_memoized_dynamic_responses_after_restore() {
+    AtomicInteger builtResponses = new AtomicInteger();
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .willReturn(dynamicResponse((SimpleRequest ignored) -> SimpleResponse.newBuilder()
+            .setResponseMessage("message-" + builtResponses.incrementAndGet())
+            .build()).memoized()));
+    StubMappings baseline = grpcMock.snapshot();
+    assertThat(serviceStub.unaryRpc(request).getResponseMessage()).isEqualTo("message-1");
+    assertThat(serviceStub.unaryRpc(request).getResponseMessage()).isEqualTo("message-1");
+
+    grpcMock.restore(baseline);
+
+    assertThat(serviceStub.unaryRpc(request).getResponseMessage()).isEqualTo("message-2");
+  }
+
+  @Test
+  void should_repeat_seeded_faults_after_restore() {
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withFaults(faults()
+            .withStatus(Status.UNAVAILABLE, 0.5)
+            .withSeed(42))
+        .willReturn(response));
+    StubMappings baseline = grpcMock.snapshot();
+    List<Boolean> firstRun = failedCalls(20);
+
+    grpcMock.restore(baseline);
+
+    assertThat(firstRun).contains(true, false);
+    assertThat(failedCalls(20)).isEqualTo(firstRun);
+  }
+
+  @Test
+  void should_reject_snapshot_of_a_different_instance() {
+    StubMappings otherSnapshot = grpcMock().build().snapshot();
+
+    assertThatThrownBy(() -> grpcMock.restore(otherSnapshot))
+        .isInstanceOf(GrpcMockValidationException.class);
+  }
+
+  private List<Boolean> failedCalls(int callsCount) {
+    List<Boolean> failedCalls = new ArrayList<>();
+    for (int i = 0; i < callsCount; i++) {
+      try {
+        serviceStub.unaryRpc(request);
+        failedCalls.add(false);
+      } catch (StatusRuntimeException e) {
+        failedCalls.add(true);
+      }
+    }
+    return failedCalls;
+  }
+}
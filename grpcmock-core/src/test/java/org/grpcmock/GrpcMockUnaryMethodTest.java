@@ -2,19 +2,44 @@ package org.grpcmock;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withinPercentage;
+import static org.grpcmock.GrpcMock.dynamicResponse;
 import static org.grpcmock.GrpcMock.response;
 import static org.grpcmock.GrpcMock.statusException;
 import static org.grpcmock.GrpcMock.stubFor;
 import static org.grpcmock.GrpcMock.unaryMethod;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.MethodDescriptor;
+import io.grpc.MethodDescriptor.Marshaller;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import io.grpc.testing.protobuf.SimpleRequest;
 import io.grpc.testing.protobuf.SimpleResponse;
 import io.grpc.testing.protobuf.SimpleServiceGrpc;
 import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceBlockingStub;
+import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceFutureStub;
 import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceImplBase;
+import java.io.InputStream;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.grpcmock.definitions.response.LatencyDistribution;
+import org.grpcmock.definitions.stub.steps.NextUnaryMethodResponseBuilderStep;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -88,6 +113,42 @@ class GrpcMockUnaryMethodTest extends TestBase {
     assertThat(System.currentTimeMillis() - start).isGreaterThan(50L);
   }
 
+  @Test
+  void should_return_a_unary_response_with_an_empirical_delay() {
+    long start = System.currentTimeMillis();
+    Map<Double, Long> percentiles = new HashMap<>();
+    percentiles.put(0.0, 200L);
+    percentiles.put(100.0, 250L);
+
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .willReturn(response(response)
+            .withEmpiricalDelay(percentiles)));
+
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+
+    assertThat(serviceStub.unaryRpc(request)).isEqualTo(response);
+    assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(200);
+  }
+
+  @Test
+  void should_sample_delay_distributions_matching_their_percentiles() {
+    String hdrHistogramOutput = String.join("\n",
+        "       Value     Percentile TotalCount 1/(1-Percentile)",
+        "",
+        "   10000.000 0.000000000000          1           1.00",
+        "   20000.000 0.500000000000        500           2.00",
+        "  100000.000 0.900000000000        900          10.00",
+        "  400000.000 1.000000000000       1000       Infinity",
+        "#[Mean    =    35000.000, StdDeviation   =    50000.000]",
+        "#[Max     =   400000.000, Total count    =         1000]");
+
+    assertPercentiles(LatencyDistribution.percentiles(20, 250), 20, 250);
+    assertPercentiles(LatencyDistribution.logNormal(20, 1), 20, Math.exp(Math.log(20) + 2.326));
+    assertPercentiles(LatencyDistribution.exponential(50), 50 * Math.log(2), 50 * Math.log(100));
+    assertPercentiles(LatencyDistribution.pareto(10, 2), 10 * Math.sqrt(2), 10 * Math.sqrt(100));
+    assertPercentiles(LatencyDistribution.hdrHistogram(hdrHistogramOutput, 1000), 20, 370);
+  }
+
   @Test
   void should_respond_with_error_status() {
     stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
@@ -136,6 +197,24 @@ class GrpcMockUnaryMethodTest extends TestBase {
     assertThat(serviceStub.serverStreamingRpc(request)).toIterable().containsExactly(response2);
   }
 
+  @Test
+  void should_register_multiple_method_stubs_in_a_single_batch() {
+    stubFor(Arrays.asList(
+        unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+            .willReturn(response),
+        unaryMethod(SimpleServiceGrpc.getServerStreamingRpcMethod())
+            .willReturn(response),
+        unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+            .withRequest(request2)
+            .willReturn(response2)));
+
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+
+    assertThat(serviceStub.unaryRpc(request)).isEqualTo(response);
+    assertThat(serviceStub.unaryRpc(request2)).isEqualTo(response2);
+    assertThat(serviceStub.serverStreamingRpc(request)).toIterable().containsExactly(response);
+  }
+
   @Test
   void should_return_a_response_when_request_satisfies_defined_matching_condition() {
     stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
@@ -214,6 +293,82 @@ class GrpcMockUnaryMethodTest extends TestBase {
     assertThat(serviceStub.unaryRpc(request)).isEqualTo(response2);
   }
 
+  @Test
+  void should_return_each_subsequent_response_exactly_once_for_concurrent_requests() throws Exception {
+    int responsesCount = 20;
+    List<SimpleResponse> responses = IntStream.range(0, responsesCount)
+        .mapToObj(i -> SimpleResponse.newBuilder().setResponseMessage("message-" + i).build())
+        .collect(Collectors.toList());
+    NextUnaryMethodResponseBuilderStep<SimpleRequest, SimpleResponse> stubBuilder =
+        unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod()).willReturn(responses.get(0));
+    responses.stream().skip(1).forEach(stubBuilder::nextWillReturn);
+    stubFor(stubBuilder);
+
+    SimpleServiceFutureStub serviceStub = SimpleServiceGrpc.newFutureStub(serverChannel);
+    List<ListenableFuture<SimpleResponse>> calls = IntStream.range(0, responsesCount)
+        .mapToObj(i -> serviceStub.unaryRpc(request))
+        .collect(Collectors.toList());
+
+    assertThat(Futures.allAsList(calls).get(10, TimeUnit.SECONDS))
+        .containsExactlyInAnyOrderElementsOf(responses);
+  }
+
+  @Test
+  void should_serialize_cached_response_only_once_when_registered() {
+    AtomicInteger serializeCount = new AtomicInteger();
+    Marshaller<SimpleResponse> responseMarshaller = SimpleServiceGrpc.getUnaryRpcMethod().getResponseMarshaller();
+    MethodDescriptor<SimpleRequest, SimpleResponse> countingMethod = SimpleServiceGrpc.getUnaryRpcMethod()
+        .toBuilder(SimpleServiceGrpc.getUnaryRpcMethod().getRequestMarshaller(), new Marshaller<SimpleResponse>() {
+          @Override
+          public InputStream stream(SimpleResponse value) {
+            serializeCount.incrementAndGet();
+            return responseMarshaller.stream(value);
+          }
+
+          @Override
+          public SimpleResponse parse(InputStream stream) {
+            return responseMarshaller.parse(stream);
+          }
+        })
+        .build();
+    stubFor(unaryMethod(countingMethod)
+        .willReturn(response(response).cached()));
+
+    assertThat(serializeCount).hasValue(1);
+
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+
+    IntStream.range(0, 3).forEach(i -> assertThat(serviceStub.unaryRpc(request)).isEqualTo(response));
+    assertThat(serializeCount).hasValue(1);
+  }
+
+  @Test
+  void should_not_block_executor_threads_while_delaying_responses() throws Exception {
+    int callsCount = 10;
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    GrpcMock singleThreadGrpcMock = GrpcMock.grpcMock().executor(executor).build().start();
+    ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", singleThreadGrpcMock.getPort())
+        .usePlaintext()
+        .build();
+    try {
+      singleThreadGrpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+          .willReturn(response(response).withFixedDelay(500)));
+      SimpleServiceFutureStub serviceStub = SimpleServiceGrpc.newFutureStub(channel);
+      long start = System.currentTimeMillis();
+
+      List<ListenableFuture<SimpleResponse>> calls = IntStream.range(0, callsCount)
+          .mapToObj(i -> serviceStub.unaryRpc(request))
+          .collect(Collectors.toList());
+
+      assertThat(Futures.allAsList(calls).get(10, TimeUnit.SECONDS)).hasSize(callsCount);
+      assertThat(System.currentTimeMillis() - start).isLessThan(callsCount * 500L / 2);
+    } finally {
+      channel.shutdownNow();
+      singleThreadGrpcMock.stop();
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   void should_return_multiple_unary_object_or_error_responses_for_multiple_requests() {
     stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
@@ -276,6 +431,28 @@ class GrpcMockUnaryMethodTest extends TestBase {
     assertThat(serviceStub.unaryRpc(request)).isEqualTo(response2);
   }
 
+  @Test
+  void should_trigger_last_registered_scenario_when_exact_and_predicate_matches_are_available() {
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withRequest(request)
+        .willReturn(response(response)));
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withRequest(req -> true)
+        .willReturn(response(response2)));
+
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+
+    assertThat(serviceStub.unaryRpc(request)).isEqualTo(response2);
+
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withHeader(HEADER_1, "value-1")
+        .willReturn(response(response)));
+
+    assertThat(serviceStub.unaryRpc(request)).isEqualTo(response2);
+    assertThat(stubWithHeaders(serviceStub, HEADER_1, "value-1", HEADER_2, "value-2").unaryRpc(request))
+        .isEqualTo(response);
+  }
+
   @Test
   void should_call_proxying_response_as_initial_response() {
     stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
@@ -324,6 +501,43 @@ class GrpcMockUnaryMethodTest extends TestBase {
     assertThat(serviceStub.unaryRpc(request)).isEqualTo(response2);
   }
 
+  @Test
+  void should_return_dynamic_response_built_based_on_request_with_delay() {
+    long start = System.currentTimeMillis();
+
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .willReturn(dynamicResponse((SimpleRequest request) -> SimpleResponse.newBuilder()
+            .setResponseMessage("message-1 for " + request.getRequestMessage())
+            .build())
+            .withFixedDelay(200)));
+
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+
+    assertThat(serviceStub.unaryRpc(request).getResponseMessage()).isEqualTo("message-1 for " + REQUEST_MESSAGE);
+    assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(200);
+  }
+
+  @Test
+  void should_build_memoized_dynamic_response_once_per_distinct_request() {
+    AtomicInteger builtResponses = new AtomicInteger();
+
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .willReturn(dynamicResponse((SimpleRequest request) -> {
+          builtResponses.incrementAndGet();
+          return SimpleResponse.newBuilder()
+              .setResponseMessage("message-1 for " + request.getRequestMessage())
+              .build();
+        }).memoized()));
+
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+
+    IntStream.range(0, 3).forEach(i -> {
+      assertThat(serviceStub.unaryRpc(request).getResponseMessage()).isEqualTo("message-1 for " + REQUEST_MESSAGE);
+      assertThat(serviceStub.unaryRpc(request2).getResponseMessage()).isEqualTo("message-1 for " + REQUEST_MESSAGE_2);
+    });
+    assertThat(builtResponses.get()).isEqualTo(2);
+  }
+
   @Test
   void should_call_proxying_response_built_based_on_request_as_subsequent_call_response() {
     SimpleResponse response2 = SimpleResponse.newBuilder()
@@ -359,4 +573,42 @@ class GrpcMockUnaryMethodTest extends TestBase {
 
     assertThat(serviceStub.unaryRpc(request)).isEqualTo(response);
   }
-}
\ No newline at end of file
+
+  private static void assertPercentiles(LatencyDistribution distribution, double p50, double p99) {
+    Random random = new Random(42);
+    long[] samples = LongStream.generate(() -> distribution.sampleMillis(random))
+        .limit(100_000)
+        .sorted()
+        .toArray();
+
+    assertThat((double) samples[50_000]).isCloseTo(p50, withinPercentage(10));
+    assertThat((double) samples[99_000]).isCloseTo(p99, withinPercentage(10));
+  }
+
+  @Test
+  void should_return_responses_while_stubs_are_registered_concurrently() throws Exception {
+    stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withRequest(request)
+        .willReturn(response));
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<List<SimpleResponse>> responses = executor.submit(() -> IntStream.range(0, 200)
+          .mapToObj(i -> serviceStub.unaryRpc(request))
+          .collect(Collectors.toList()));
+
+      for (int i = 0; i < 500; i++) {
+        stubFor(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+            .withRequest(SimpleRequest.newBuilder().setRequestMessage("concurrent-request-" + i).build())
+            .willReturn(response2));
+      }
+
+      assertThat(responses.get(10, TimeUnit.SECONDS)).hasSize(200).containsOnly(response);
+      assertThat(serviceStub.unaryRpc(SimpleRequest.newBuilder().setRequestMessage("concurrent-request-499").build()))
+          .isEqualTo(response2);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+}
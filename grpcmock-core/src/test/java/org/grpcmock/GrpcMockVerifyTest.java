@@ -21,6 +21,8 @@ import static org.grpcmock.GrpcMock.verifyThat;
 import static org.grpcmock.definitions.verification.CountMatcher.once;
 import static org.grpcmock.definitions.verification.CountMatcher.twice;
 
+import io.grpc.MethodDescriptor;
+import io.grpc.MethodDescriptor.Marshaller;
 import io.grpc.Status;
 import io.grpc.Status.Code;
 import io.grpc.internal.testing.StreamRecorder;
@@ -30,9 +32,12 @@ import io.grpc.testing.protobuf.SimpleResponse;
 import io.grpc.testing.protobuf.SimpleServiceGrpc;
 import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceBlockingStub;
 import io.grpc.testing.protobuf.SimpleServiceGrpc.SimpleServiceStub;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import org.grpcmock.interceptors.CapturedRequest;
 import org.junit.jupiter.api.Test;
 
@@ -423,6 +428,39 @@ class GrpcMockVerifyTest extends TestBase {
         .withRequest(request));
   }
 
+  @Test
+  void should_parse_non_mocked_method_requests_once_for_repeated_verifications() {
+    AtomicInteger parseCount = new AtomicInteger();
+    MethodDescriptor<SimpleRequest, SimpleResponse> countingMethod = countingUnaryMethod(parseCount);
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+
+    assertThatThrownBy(() -> serviceStub.unaryRpc(request))
+        .hasMessageStartingWith("UNIMPLEMENTED: Method not found:");
+    IntStream.range(0, 3).forEach(i -> verifyThat(calledMethod(countingMethod).withRequest(request)));
+
+    assertThat(capturedRequestsFor(calledMethod(countingMethod))).hasSize(1);
+    assertThat(parseCount).hasValue(1);
+  }
+
+  @Test
+  void should_parse_non_mocked_method_requests_once_per_marshaller_for_alternating_verifications() {
+    AtomicInteger parseCount1 = new AtomicInteger();
+    AtomicInteger parseCount2 = new AtomicInteger();
+    MethodDescriptor<SimpleRequest, SimpleResponse> countingMethod1 = countingUnaryMethod(parseCount1);
+    MethodDescriptor<SimpleRequest, SimpleResponse> countingMethod2 = countingUnaryMethod(parseCount2);
+    SimpleServiceBlockingStub serviceStub = SimpleServiceGrpc.newBlockingStub(serverChannel);
+
+    assertThatThrownBy(() -> serviceStub.unaryRpc(request))
+        .hasMessageStartingWith("UNIMPLEMENTED: Method not found:");
+    IntStream.range(0, 3).forEach(i -> {
+      verifyThat(calledMethod(countingMethod1).withRequest(request));
+      verifyThat(calledMethod(countingMethod2).withRequest(request));
+    });
+
+    assertThat(parseCount1).hasValue(1);
+    assertThat(parseCount2).hasValue(1);
+  }
+
   @Test
   void should_correctly_verify_non_mocked_server_streaming_method_call() throws Exception {
     SimpleServiceStub serviceStub = stubWithHeaders(
@@ -574,4 +612,22 @@ class GrpcMockVerifyTest extends TestBase {
     asyncClientStreamingCall(serviceStub2::clientStreamingRpc, request2);
     asyncClientStreamingCall(serviceStub1::clientStreamingRpc, request, request2);
   }
+
+  private MethodDescriptor<SimpleRequest, SimpleResponse> countingUnaryMethod(AtomicInteger parseCount) {
+    Marshaller<SimpleRequest> requestMarshaller = getUnaryRpcMethod().getRequestMarshaller();
+    return getUnaryRpcMethod()
+        .toBuilder(new Marshaller<SimpleRequest>() {
+          @Override
+          public InputStream stream(SimpleRequest value) {
+            return requestMarshaller.stream(value);
+          }
+
+          @Override
+          public SimpleRequest parse(InputStream stream) {
+            parseCount.incrementAndGet();
+            return requestMarshaller.parse(stream);
+          }
+        }, getUnaryRpcMethod().getResponseMarshaller())
+        .build();
+  }
 }
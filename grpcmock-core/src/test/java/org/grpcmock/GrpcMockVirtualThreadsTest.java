@@ -0,0 +1,63 @@
+package org.grpcmock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.grpcmock.GrpcMock.grpcMock;
+import static org.grpcmock.GrpcMock.unaryMethod;
+
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+/**
+ * @author Fadelis
+ */
+class GrpcMockVirtualThreadsTest extends TestBase {
+
+  @Test
+  @EnabledForJreRange(max = JRE.JAVA_20)
+  void should_fall_back_to_default_executor_when_virtual_threads_are_not_supported() {
+    GrpcMock grpcMock;
+    try (CapturedLogOutput logOutput = CapturedLogOutput.capture()) {
+      grpcMock = grpcMock().useVirtualThreads().build();
+
+      assertThat(logOutput.output()).contains("Virtual threads are not supported by the current JVM");
+    }
+
+    assertThat(handlerThread(grpcMock)).isNotNull();
+  }
+
+  @Test
+  @EnabledForJreRange(min = JRE.JAVA_21)
+  void should_serve_calls_on_virtual_threads() throws Exception {
+    GrpcMock grpcMock = grpcMock().useVirtualThreads().build();
+
+    Thread handlerThread = handlerThread(grpcMock);
+
+    assertThat(Thread.class.getMethod("isVirtual").invoke(handlerThread)).isEqualTo(true);
+  }
+
+  private Thread handlerThread(GrpcMock grpcMock) {
+    AtomicReference<Thread> handlerThread = new AtomicReference<>();
+    grpcMock.register(unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .willProxyTo((request, responseObserver) -> {
+          handlerThread.set(Thread.currentThread());
+          responseObserver.onNext(response);
+          responseObserver.onCompleted();
+        }));
+    grpcMock.start();
+    try {
+      serverChannel.shutdownNow();
+      serverChannel = ManagedChannelBuilder.forAddress("localhost", grpcMock.getPort())
+          .usePlaintext()
+          .build();
+
+      assertThat(SimpleServiceGrpc.newBlockingStub(serverChannel).unaryRpc(request)).isEqualTo(response);
+      return handlerThread.get();
+    } finally {
+      grpcMock.stop();
+    }
+  }
+}
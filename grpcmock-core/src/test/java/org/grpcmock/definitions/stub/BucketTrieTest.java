@@ -0,0 +1,47 @@
+package org.grpcmock.definitions.stub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Fadelis
+ */
+class BucketTrieTest {
+
+  @Test
+  void should_keep_buckets_of_keys_with_colliding_hashes_separately() {
+    assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+    BucketTrie<String> trie = BucketTrie.<String>empty()
+        .with("Aa", "bucket-1")
+        .with("BB", "bucket-2");
+
+    assertThat(trie.get("Aa")).isEqualTo("bucket-1");
+    assertThat(trie.get("BB")).isEqualTo("bucket-2");
+    assertThat(trie.get("C#")).isNull();
+  }
+
+  @Test
+  void should_not_modify_previous_trie_when_adding_buckets() {
+    BucketTrie<String> trie = BucketTrie.<String>empty();
+    List<BucketTrie<String>> versions = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      trie = trie.with("key-" + i, "bucket-" + i);
+      versions.add(trie);
+    }
+    BucketTrie<String> replaced = trie.with("key-1", "replaced");
+
+    assertThat(trie.get("key-1")).isEqualTo("bucket-1");
+    assertThat(replaced.get("key-1")).isEqualTo("replaced");
+    assertThat(versions.get(99).get("key-99")).isEqualTo("bucket-99");
+    assertThat(versions.get(99).get("key-100")).isNull();
+    List<String> buckets = new ArrayList<>();
+    replaced.forEach(buckets::add);
+    assertThat(buckets).hasSize(5000).contains("replaced").doesNotContain("bucket-1");
+    assertThat(BucketTrie.empty().isEmpty()).isTrue();
+    assertThat(replaced.isEmpty()).isFalse();
+  }
+}
@@ -0,0 +1,88 @@
+package org.grpcmock.definitions.stub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.grpcmock.GrpcMock.unaryMethod;
+
+import io.grpc.Metadata;
+import io.grpc.testing.protobuf.SimpleRequest;
+import io.grpc.testing.protobuf.SimpleResponse;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import org.grpcmock.interceptors.CapturedRequest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Fadelis
+ */
+class MethodStubScenarioIndexTest {
+
+  private static final int STUBS_COUNT = 5000;
+
+  @Test
+  void should_find_thousands_of_exact_request_stubs_registered_one_by_one() {
+    List<MethodStub<SimpleRequest, SimpleResponse>> registeredStubs = new ArrayList<>();
+    MethodStub<SimpleRequest, SimpleResponse> methodStub = exactRequestStub(0);
+    registeredStubs.add(methodStub);
+    for (int i = 1; i < STUBS_COUNT; i++) {
+      MethodStub<SimpleRequest, SimpleResponse> registeredStub = exactRequestStub(i);
+      registeredStubs.add(registeredStub);
+      methodStub = methodStub.withScenarios(registeredStub);
+    }
+
+    for (int i : new int[]{0, STUBS_COUNT / 2, STUBS_COUNT - 1}) {
+      assertThat(methodStub.findStub(capturedRequest(i)))
+          .isPresent()
+          .isEqualTo(registeredStubs.get(i).findStub(capturedRequest(i)));
+    }
+    assertThat(methodStub.findStub(capturedRequest(STUBS_COUNT))).isEmpty();
+  }
+
+  @Test
+  void should_find_last_registered_matching_stub_after_appending_scenarios() {
+    MethodStub<SimpleRequest, SimpleResponse> exactStub = exactRequestStub(1);
+    MethodStub<SimpleRequest, SimpleResponse> predicateStub = unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withRequest(request -> request.getRequestMessage().startsWith("request-"))
+        .willReturn(response(1))
+        .build();
+    MethodStub<SimpleRequest, SimpleResponse> laterExactStub = exactRequestStub(1);
+
+    MethodStub<SimpleRequest, SimpleResponse> withPredicate = exactStub.withScenarios(predicateStub);
+    MethodStub<SimpleRequest, SimpleResponse> withLaterExact = withPredicate.withScenarios(laterExactStub);
+
+    assertThat(withPredicate.findStub(capturedRequest(1)))
+        .isEqualTo(predicateStub.findStub(capturedRequest(1)));
+    assertThat(withLaterExact.findStub(capturedRequest(1)))
+        .isEqualTo(laterExactStub.findStub(capturedRequest(1)));
+    assertThat(withLaterExact.findStub(capturedRequest(2)))
+        .isEqualTo(predicateStub.findStub(capturedRequest(2)));
+    // method stubs are immutable, so appending scenarios does not affect the index of the previous one
+    assertThat(exactStub.findStub(capturedRequest(2))).isEmpty();
+    assertThat(Stream.of(exactStub, withPredicate).map(stub -> stub.findStub(capturedRequest(1)).orElse(null)))
+        .doesNotContain(laterExactStub.findStub(capturedRequest(1)).orElse(null));
+  }
+
+  private static MethodStub<SimpleRequest, SimpleResponse> exactRequestStub(int index) {
+    return unaryMethod(SimpleServiceGrpc.getUnaryRpcMethod())
+        .withRequest(request(index))
+        .willReturn(response(index))
+        .build();
+  }
+
+  private static CapturedRequest<SimpleRequest> capturedRequest(int index) {
+    return new CapturedRequest<>(
+        SimpleServiceGrpc.getUnaryRpcMethod(),
+        new Metadata(),
+        Collections.singletonList(request(index)));
+  }
+
+  private static SimpleRequest request(int index) {
+    return SimpleRequest.newBuilder().setRequestMessage("request-" + index).build();
+  }
+
+  private static SimpleResponse response(int index) {
+    return SimpleResponse.newBuilder().setResponseMessage("response-" + index).build();
+  }
+}
@@ -0,0 +1,89 @@
+package org.grpcmock.definitions.stub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.grpcmock.GrpcMock.calledMethod;
+import static org.grpcmock.GrpcMock.grpcMock;
+import static org.grpcmock.GrpcMock.response;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.protobuf.SimpleRequest;
+import io.grpc.testing.protobuf.SimpleResponse;
+import io.grpc.testing.protobuf.SimpleServiceGrpc;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.grpcmock.GrpcMock;
+import org.grpcmock.definitions.response.ResponseImpl;
+import org.grpcmock.definitions.verification.RequestPattern;
+import org.grpcmock.interceptors.CapturePolicy;
+import org.grpcmock.interceptors.CapturedRequest;
+import org.grpcmock.util.FunctionalResponseObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Fadelis
+ */
+class MethodStubStreamRequestsTest {
+
+  private final SimpleResponse response = SimpleResponse.newBuilder().setResponseMessage("message-1").build();
+  private final List<SimpleRequest> requests = IntStream.range(0, 3)
+      .mapToObj(i -> SimpleRequest.newBuilder().setRequestMessage("request-" + i).build())
+      .collect(Collectors.toList());
+  private GrpcMock grpcMock;
+  private ManagedChannel serverChannel;
+
+  @BeforeEach
+  void startServer() {
+    grpcMock = grpcMock().capturePolicy(CapturePolicy.unbounded().withStreamRequestsLimit(1, 0)).build().start();
+    serverChannel = ManagedChannelBuilder.forAddress("localhost", grpcMock.getPort())
+        .usePlaintext()
+        .build();
+  }
+
+  @AfterEach
+  void stopServer() {
+    serverChannel.shutdownNow();
+    grpcMock.stop();
+  }
+
+  @Test
+  void should_match_stub_against_stream_requests_not_retained_by_capture_policy() throws Exception {
+    RequestPattern<SimpleRequest> requestPattern = calledMethod(SimpleServiceGrpc.getClientStreamingRpcMethod())
+        .withNumberOfRequests(2)
+        .withRequestAtIndex(1, requests.get(1))
+        .build();
+    grpcMock.register(() -> new MethodStub<>(
+        SimpleServiceGrpc.getClientStreamingRpcMethod(),
+        Collections.singletonList(new StubScenario<>(
+            requestPattern,
+            Collections.singletonList(new ResponseImpl<>(response(response).build()))))));
+
+    assertThat(clientStreamingCall(requests.subList(0, 2))).isEqualTo(response);
+
+    List<CapturedRequest<SimpleRequest>> capturedRequests = grpcMock.capturedRequestsFor(
+        calledMethod(SimpleServiceGrpc.getClientStreamingRpcMethod()).build());
+    assertThat(capturedRequests).hasSize(1);
+    assertThat(capturedRequests.get(0).requests()).containsExactly(requests.get(0));
+    assertThat(capturedRequests.get(0).requestsCount()).isEqualTo(2);
+  }
+
+  private SimpleResponse clientStreamingCall(List<SimpleRequest> streamRequests) throws Exception {
+    CompletableFuture<SimpleResponse> result = new CompletableFuture<>();
+    StreamObserver<SimpleRequest> requestObserver = SimpleServiceGrpc.newStub(serverChannel)
+        .clientStreamingRpc(FunctionalResponseObserver.<SimpleResponse>builder()
+            .onNext(result::complete)
+            .onError(result::completeExceptionally)
+            .build());
+    streamRequests.forEach(requestObserver::onNext);
+    requestObserver.onCompleted();
+
+    return result.get(10, TimeUnit.SECONDS);
+  }
+}
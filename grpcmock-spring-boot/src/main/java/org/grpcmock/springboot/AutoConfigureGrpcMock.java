@@ -11,6 +11,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import org.grpcmock.springboot.GrpcMockProperties.ExecutorType;
 import org.springframework.boot.test.context.PropertyMapping;
 import org.springframework.context.annotation.Import;
 
@@ -63,6 +64,13 @@ public @interface AutoConfigureGrpcMock {
    */
   int executorThreadCount() default -1;
 
+  /**
+   * <p>Defines the type of executor to be created for the server. {@link ExecutorType#VIRTUAL} will execute each call on a
+   * new virtual thread, when it's supported by the JVM.
+   * <p>If {@link #executorBeanName()} is defined it will take priority over this.
+   */
+  ExecutorType executorType() default ExecutorType.FIXED;
+
   /**
    * <p>Defines executor bean to be used for the gRPC server.
    * <p>This will take priority over {@link #executorThreadCount()}. If none of these
@@ -12,13 +12,17 @@ import java.util.stream.Stream;
 import org.grpcmock.GrpcMock;
 import org.grpcmock.GrpcMockBuilder;
 import org.grpcmock.exception.GrpcMockException;
+import org.grpcmock.metrics.GrpcMockMetrics;
+import org.grpcmock.springboot.GrpcMockProperties.ExecutorType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.StringUtils;
 
@@ -69,11 +73,17 @@ public class GrpcMockConfiguration implements InitializingBean, DisposableBean {
     Executor executor = ofNullable(properties.getServer().getExecutorBeanName())
         .filter(StringUtils::hasText)
         .map(name -> beanFactory.getBean(name, Executor.class))
-        .orElseGet(() -> of(properties.getServer().getExecutorThreadCount())
-            .filter(threads -> threads > 0)
-            .map(Executors::newFixedThreadPool)
-            .orElse(null));
-    ofNullable(executor).ifPresent(serverBuilder::executor);
+        .orElse(null);
+    if (executor != null) {
+      serverBuilder.executor(executor);
+    } else if (properties.getServer().getExecutorType() == ExecutorType.VIRTUAL) {
+      serverBuilder.useVirtualThreads();
+    } else {
+      of(properties.getServer().getExecutorThreadCount())
+          .filter(threads -> threads > 0)
+          .map(Executors::newFixedThreadPool)
+          .ifPresent(serverBuilder::executor);
+    }
     // Register transport security certChain and privateKey if present
     String certChain = properties.getServer().getCertChainFile();
     String privateKey = properties.getServer().getPrivateKeyFile();
@@ -107,6 +117,13 @@ public class GrpcMockConfiguration implements InitializingBean, DisposableBean {
     return this.running;
   }
 
+  GrpcMockMetrics metrics() {
+    if (this.server == null) {
+      throw new GrpcMockException("gRPC Mock server is not running");
+    }
+    return this.server.getMetrics();
+  }
+
   public void resetAll() {
     if (this.server != null) {
       this.server.resetAll();
@@ -139,4 +156,17 @@ public class GrpcMockConfiguration implements InitializingBean, DisposableBean {
           "or missing no-args constructor for interceptor: " + clazz, e);
     }
   }
+
+  /**
+   * Registers a Micrometer binder of gRPC Mock call metrics when Micrometer is on the classpath.
+   */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+  static class GrpcMockMetricsConfiguration {
+
+    @Bean
+    GrpcMockMeterBinder grpcMockMeterBinder(GrpcMockConfiguration grpcMockConfiguration) {
+      return new GrpcMockMeterBinder(grpcMockConfiguration.metrics());
+    }
+  }
 }
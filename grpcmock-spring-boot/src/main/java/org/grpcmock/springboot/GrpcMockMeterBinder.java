@@ -0,0 +1,151 @@
+package org.grpcmock.springboot;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.grpcmock.metrics.CallMetricsListener;
+import org.grpcmock.metrics.CompletedCall;
+import org.grpcmock.metrics.GrpcMockMetrics;
+
+/**
+ * <p>Micrometer binder of gRPC Mock server call metrics:
+ * <ul>
+ *   <li><code>grpcmock.server.calls</code> - timer of server-side call handling latency, tagged by method, stub scenario and
+ *   status code</li>
+ *   <li><code>grpcmock.server.calls.active</code> - gauge of in-flight calls, tagged by method</li>
+ *   <li><code>grpcmock.server.received.bytes</code> and <code>grpcmock.server.sent.bytes</code> - distribution summaries of
+ *   transferred bytes per call, tagged by method</li>
+ * </ul>
+ * <p>Meters are registered once and cached per tag values, so recording a call does not look up the registry.
+ * <p>Spring Boot binds all {@link MeterBinder} beans to the application's registry when Micrometer metrics are
+ * auto-configured, otherwise the binder can be bound to a registry manually.
+ *
+ * @author Fadelis
+ */
+public class GrpcMockMeterBinder implements MeterBinder {
+
+  static final String NO_SCENARIO = "none";
+
+  private final GrpcMockMetrics metrics;
+
+  public GrpcMockMeterBinder(GrpcMockMetrics metrics) {
+    this.metrics = Objects.requireNonNull(metrics);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Objects.requireNonNull(registry);
+    metrics.addListener(new MeterRegistryListener(registry));
+  }
+
+  private final class MeterRegistryListener implements CallMetricsListener {
+
+    private final MeterRegistry registry;
+    private final Set<String> gaugedMethods = ConcurrentHashMap.newKeySet();
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, MethodSummaries> methodSummaries = new ConcurrentHashMap<>();
+
+    private MeterRegistryListener(MeterRegistry registry) {
+      this.registry = registry;
+    }
+
+    @Override
+    public void onCallStarted(String fullMethodName) {
+      if (gaugedMethods.add(fullMethodName)) {
+        Gauge.builder("grpcmock.server.calls.active", metrics, m -> m.methodMetrics(fullMethodName).inFlightCalls())
+            .description("Number of calls currently handled by the gRPC Mock server")
+            .tag("method", fullMethodName)
+            .register(registry);
+      }
+    }
+
+    @Override
+    public void onCallCompleted(CompletedCall call) {
+      TimerKey timerKey = new TimerKey(
+          call.fullMethodName(),
+          Optional.ofNullable(call.scenarioName()).orElse(NO_SCENARIO),
+          call.statusCode().name());
+      timers.computeIfAbsent(timerKey, this::registerTimer)
+          .record(call.latencyNanos(), TimeUnit.NANOSECONDS);
+      MethodSummaries summaries = methodSummaries.computeIfAbsent(call.fullMethodName(), MethodSummaries::new);
+      summaries.receivedBytes.record(call.bytesReceived());
+      summaries.sentBytes.record(call.bytesSent());
+    }
+
+    private Timer registerTimer(TimerKey key) {
+      return Timer.builder("grpcmock.server.calls")
+          .description("Server-side handling latency of calls to the gRPC Mock server")
+          .tag("method", key.fullMethodName)
+          .tag("scenario", key.scenarioName)
+          .tag("status", key.statusName)
+          .register(registry);
+    }
+
+    /**
+     * Distribution summaries of transferred bytes of a single method.
+     */
+    private final class MethodSummaries {
+
+      private final DistributionSummary receivedBytes;
+      private final DistributionSummary sentBytes;
+
+      private MethodSummaries(String fullMethodName) {
+        Tags methodTags = Tags.of("method", fullMethodName);
+        this.receivedBytes = DistributionSummary.builder("grpcmock.server.received.bytes")
+            .description("Request bytes received by the gRPC Mock server per call")
+            .baseUnit("bytes")
+            .tags(methodTags)
+            .register(registry);
+        this.sentBytes = DistributionSummary.builder("grpcmock.server.sent.bytes")
+            .description("Response bytes sent by the gRPC Mock server per call")
+            .baseUnit("bytes")
+            .tags(methodTags)
+            .register(registry);
+      }
+    }
+  }
+
+  /**
+   * Tag values of a call latency timer.
+   */
+  private static final class TimerKey {
+
+    private final String fullMethodName;
+    private final String scenarioName;
+    private final String statusName;
+
+    private TimerKey(String fullMethodName, String scenarioName, String statusName) {
+      this.fullMethodName = fullMethodName;
+      this.scenarioName = scenarioName;
+      this.statusName = statusName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      TimerKey timerKey = (TimerKey) o;
+      return fullMethodName.equals(timerKey.fullMethodName)
+          && scenarioName.equals(timerKey.scenarioName)
+          && statusName.equals(timerKey.statusName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(fullMethodName, scenarioName, statusName);
+    }
+  }
+}
@@ -25,6 +25,7 @@ public class GrpcMockProperties {
     private int port = 0;
     private Class<? extends ServerInterceptor>[] interceptors = new Class[0];
     private int executorThreadCount = 1;
+    private ExecutorType executorType = ExecutorType.FIXED;
     private String executorBeanName;
     private String certChainFile;
     private String privateKeyFile;
@@ -56,6 +57,14 @@ public class GrpcMockProperties {
       this.executorThreadCount = executorThreadCount;
     }
 
+    public ExecutorType getExecutorType() {
+      return executorType;
+    }
+
+    public void setExecutorType(ExecutorType executorType) {
+      this.executorType = executorType;
+    }
+
     public String getExecutorBeanName() {
       return executorBeanName;
     }
@@ -104,4 +113,18 @@ public class GrpcMockProperties {
       this.useInProcessServer = useInProcessServer;
     }
   }
+
+  /**
+   * Type of the executor created for the gRPC Mock server, when no executor bean is configured.
+   */
+  public enum ExecutorType {
+    /**
+     * Fixed thread pool with {@link Server#getExecutorThreadCount()} platform threads.
+     */
+    FIXED,
+    /**
+     * New virtual thread for each call. Falls back to the default executor if the JVM does not support virtual threads.
+     */
+    VIRTUAL
+  }
 }
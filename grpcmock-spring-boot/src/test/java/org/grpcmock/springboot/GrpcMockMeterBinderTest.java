@@ -0,0 +1,67 @@
+package org.grpcmock.springboot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.grpc.health.v1.HealthGrpc;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+
+/**
+ * @author Fadelis
+ */
+@SpringBootTest(classes = TestApplication.class, webEnvironment = WebEnvironment.NONE)
+@AutoConfigureGrpcMock
+class GrpcMockMeterBinderTest extends TestBase {
+
+  @Autowired
+  private GrpcMockMeterBinder grpcMockMeterBinder;
+
+  @Test
+  void should_bind_call_metrics_to_meter_registry() throws InterruptedException {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    grpcMockMeterBinder.bindTo(registry);
+    String methodName = HealthGrpc.getCheckMethod().getFullMethodName();
+
+    simpleHealthCheckRequest();
+
+    Timer timer = null;
+    for (int i = 0; i < 100 && timer == null; i++) {
+      timer = registry.find("grpcmock.server.calls").tag("method", methodName).timer();
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+    assertThat(timer).isNotNull();
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.getId().getTag("status")).isEqualTo("OK");
+    assertThat(timer.getId().getTag("scenario")).isEqualTo(GrpcMockMeterBinder.NO_SCENARIO);
+    assertThat(registry.get("grpcmock.server.calls.active").tag("method", methodName).gauge().value()).isZero();
+    assertThat(registry.get("grpcmock.server.sent.bytes").tag("method", methodName).summary().totalAmount())
+        .isPositive();
+  }
+
+  @Test
+  void should_record_repeated_calls_to_the_same_meters() throws InterruptedException {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    grpcMockMeterBinder.bindTo(registry);
+    String methodName = HealthGrpc.getCheckMethod().getFullMethodName();
+
+    simpleHealthCheckRequest();
+    simpleHealthCheckRequest();
+
+    Timer timer = registry.find("grpcmock.server.calls").tag("method", methodName).timer();
+    for (int i = 0; i < 100 && (timer == null || timer.count() < 2); i++) {
+      TimeUnit.MILLISECONDS.sleep(10);
+      timer = registry.find("grpcmock.server.calls").tag("method", methodName).timer();
+    }
+    assertThat(timer).isNotNull();
+    assertThat(timer.count()).isEqualTo(2);
+    assertThat(registry.find("grpcmock.server.calls").tag("method", methodName).timers()).hasSize(1);
+    assertThat(registry.find("grpcmock.server.calls.active").tag("method", methodName).gauges()).hasSize(1);
+    assertThat(registry.get("grpcmock.server.received.bytes").tag("method", methodName).summary().count())
+        .isEqualTo(2);
+  }
+}
@@ -0,0 +1,27 @@
+package org.grpcmock.springboot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.grpcmock.springboot.GrpcMockProperties.ExecutorType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+
+/**
+ * @author Fadelis
+ */
+@SpringBootTest(classes = TestApplication.class, webEnvironment = WebEnvironment.NONE)
+@AutoConfigureGrpcMock(executorType = ExecutorType.VIRTUAL)
+class GrpcMockTestVirtualExecutorTest extends TestBase {
+
+  @Autowired
+  private GrpcMockProperties properties;
+
+  @Test
+  void should_serve_requests_with_virtual_executor_type() {
+    assertThat(properties.getServer().getExecutorType()).isEqualTo(ExecutorType.VIRTUAL);
+
+    simpleHealthCheckRequest();
+  }
+}